@@ -0,0 +1,123 @@
+#!/bin/bash
+
+# 📦 Post body compression: table size and read latency, before and after
+# Runs against a seeded MariaDB (database-seed.sql) and a running server (mvn spring-boot:run).
+#
+# 1. Inserts ROWS long thread bodies stored plain, the way rows converted from TEXT look
+# 2. Measures thread_bodies size and GET /api/threads/{id} latency
+# 3. Runs the compress-content job (POST /api/admin/maintenance/compress-content)
+# 4. Measures again and removes the benchmark threads (KEEP=1 keeps them)
+#
+# Every id is read once, and the two runs read different ids, so the second-level cache
+# never answers a request and each read loads (and inflates) the body from the database.
+
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+DB_HOST="${DB_HOST:-localhost}"
+DB_USER="${DB_USER:-root}"
+DB_PASS="${DB_PASS:-123123}"
+DB_NAME="${DB_NAME:-forum_db}"
+ROWS="${ROWS:-2000}"
+READS="${READS:-200}"
+TITLE_PREFIX="bench-compression-"
+
+# Synthetic bodies (~3 KB); they compress better than real posts. Override with an SQL
+# expression over the row number `seq`, e.g. BODY_EXPR="(SELECT content FROM ...)"
+BODY_EXPR="${BODY_EXPR:-CONCAT('## Benchmark thread ', seq, '\n\n', REPEAT(CONCAT('Students often ask how to structure a Spring Boot project. ', 'Keep controllers thin, put rules in services and let the DAOs talk to the database. ', MD5(seq), '\n'), 12), '\`\`\`java\n', REPEAT(CONCAT('// ', SHA1(seq), '\n'), 8), '\`\`\`\n')}"
+
+# Color codes
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+RED='\033[0;31m'
+NC='\033[0m' # No Color
+
+sql() {
+    mysql -h "$DB_HOST" -u "$DB_USER" -p"$DB_PASS" -N -B "$DB_NAME" -e "$1"
+}
+
+# Prints "avg p50 p95" in ms for GET /api/threads/{id} over the given ids
+measure_reads() {
+    for id in "$@"; do
+        curl -s -o /dev/null -w "%{time_total}\n" "$BASE_URL/api/threads/$id"
+    done | sort -n | awk '{ t[NR] = $1 * 1000; sum += t[NR] }
+        END { printf "%.2f %.2f %.2f\n", sum / NR, t[int(NR * 0.50) + 1], t[int(NR * 0.95) + 1] }'
+}
+
+# Prints "rows logical_bytes data_length_bytes" for thread_bodies
+measure_size() {
+    sql "ANALYZE TABLE thread_bodies" > /dev/null
+    local logical
+    logical=$(sql "SELECT COUNT(*), COALESCE(SUM(OCTET_LENGTH(content) + COALESCE(OCTET_LENGTH(content_html), 0)), 0)
+                   FROM thread_bodies")
+    local physical
+    physical=$(sql "SELECT data_length FROM information_schema.TABLES
+                    WHERE table_schema = '$DB_NAME' AND table_name = 'thread_bodies'")
+    echo "$logical $physical"
+}
+
+cleanup() {
+    sql "DELETE b FROM thread_bodies b JOIN threads t ON t.id = b.thread_id WHERE t.title LIKE '$TITLE_PREFIX%';
+         DELETE FROM threads WHERE title LIKE '$TITLE_PREFIX%';"
+}
+
+echo "=============================================="
+echo "📦 Post body compression benchmark ($ROWS bodies, $READS reads per run)"
+echo "=============================================="
+
+if [ $((READS * 2)) -gt "$ROWS" ]; then
+    echo -e "${RED}READS must be at most ROWS / 2${NC}"
+    exit 1
+fi
+
+# Seed: plain bodies by the admin (id 1) in the first category, from MariaDB's sequence engine
+cleanup
+sql "INSERT INTO threads (title, author_id, category_id, is_anonymous, is_pinned, is_locked, views, created_at, updated_at, last_reply_at)
+     SELECT CONCAT('$TITLE_PREFIX', seq), 1, (SELECT MIN(id) FROM categories), 0, 0, 0, 0, NOW(), NOW(), NOW()
+     FROM seq_1_to_$ROWS;
+     INSERT INTO thread_bodies (thread_id, content, updated_at)
+     SELECT t.id, CAST($BODY_EXPR AS BINARY), NOW()
+     FROM threads t JOIN seq_1_to_$ROWS s ON t.title = CONCAT('$TITLE_PREFIX', s.seq);" || exit 1
+
+IDS=($(sql "SELECT id FROM threads WHERE title LIKE '$TITLE_PREFIX%' ORDER BY RAND() LIMIT $((READS * 2))"))
+BEFORE_IDS=("${IDS[@]:0:$READS}")
+AFTER_IDS=("${IDS[@]:$READS:$READS}")
+
+# Warm up the JVM and connection pool on ids that are not measured
+for i in $(seq 1 20); do curl -s -o /dev/null "$BASE_URL/api/threads/${IDS[0]}"; done
+
+read -r rows_before logical_before physical_before <<< "$(measure_size)"
+read -r avg_before p50_before p95_before <<< "$(measure_reads "${BEFORE_IDS[@]}")"
+echo -e "${YELLOW}Before:${NC} $rows_before rows, $logical_before body bytes, data_length $physical_before; reads avg ${avg_before} ms, p50 ${p50_before} ms, p95 ${p95_before} ms"
+
+# Compress
+ADMIN_TOKEN=$(curl -s -X POST "$BASE_URL/api/auth/login" \
+    -H "Content-Type: application/json" \
+    -d '{"email":"admin@school.edu","password":"password123"}' | jq -r '.token // empty')
+if [ -z "$ADMIN_TOKEN" ]; then
+    echo -e "${RED}Admin login failed${NC}"
+    exit 1
+fi
+JOB_ID=$(curl -s -X POST "$BASE_URL/api/admin/maintenance/compress-content" \
+    -H "Authorization: Bearer $ADMIN_TOKEN" | jq -r '.id')
+echo -n "Compression job $JOB_ID "
+while true; do
+    job=$(curl -s "$BASE_URL/api/admin/jobs/$JOB_ID" -H "Authorization: Bearer $ADMIN_TOKEN")
+    status=$(echo "$job" | jq -r '.status')
+    case "$status" in
+        COMPLETED) echo -e "${GREEN}COMPLETED${NC}"; echo "$job" | jq -c '.progress'; break ;;
+        FAILED|CANCELLED) echo -e "${RED}$status${NC}"; echo "$job" | jq -r '.lastError'; exit 1 ;;
+        *) echo -n "."; sleep 1 ;;
+    esac
+done
+
+read -r rows_after logical_after physical_after <<< "$(measure_size)"
+read -r avg_after p50_after p95_after <<< "$(measure_reads "${AFTER_IDS[@]}")"
+echo -e "${YELLOW}After:${NC}  $rows_after rows, $logical_after body bytes, data_length $physical_after; reads avg ${avg_after} ms, p50 ${p50_after} ms, p95 ${p95_after} ms"
+
+echo ""
+echo "Body bytes:  $logical_before -> $logical_after ($(awk "BEGIN { printf \"%.1f\", 100 * $logical_after / $logical_before }")%)"
+echo "data_length: $physical_before -> $physical_after"
+echo "Read p50:    $p50_before ms -> $p50_after ms, p95: $p95_before ms -> $p95_after ms"
+
+if [ "$KEEP" != "1" ]; then
+    cleanup
+fi
@@ -13,6 +13,7 @@ TRUNCATE TABLE thread_tags;
 TRUNCATE TABLE thread_subscriptions;
 TRUNCATE TABLE notifications;
 TRUNCATE TABLE replies;
+TRUNCATE TABLE thread_bodies;
 TRUNCATE TABLE threads;
 TRUNCATE TABLE tags;
 TRUNCATE TABLE categories;
@@ -87,18 +88,22 @@ INSERT INTO tags (name, slug, created_at, updated_at) VALUES
 -- ============================================
 
 -- Thread 1: Programming question
-INSERT INTO threads (title, content, author_id, category_id, is_anonymous, is_pinned, is_locked, views, created_at, updated_at, last_reply_at) VALUES
-('How to implement JWT authentication in Spring Boot?', 
+INSERT INTO threads (title, author_id, category_id, is_anonymous, is_pinned, is_locked, views, created_at, updated_at, last_reply_at) VALUES
+('How to implement JWT authentication in Spring Boot?', 4, 3, 0, 1, 0, 156, NOW(), NOW(), NOW());
+INSERT INTO thread_bodies (thread_id, content, updated_at) VALUES
+(LAST_INSERT_ID(), 
 'Hi everyone! I\'m working on a school project and need to implement JWT authentication in Spring Boot. I\'ve set up the basic structure but I\'m getting errors when trying to validate tokens. Has anyone done this before? Any good tutorials or code examples would be really helpful!
 
 Current error: `java.lang.IllegalArgumentException: JWT String argument cannot be null or empty.`
 
 My JwtUtil class seems fine but something is wrong with the filter. Thanks in advance!', 
-4, 3, 0, 1, 156, NOW(), NOW(), NOW());
+NOW());
 
 -- Thread 2: Math help
-INSERT INTO threads (title, content, author_id, category_id, is_anonymous, is_pinned, is_locked, views, created_at, updated_at, last_reply_at) VALUES
-('Need help with calculus integration problem', 
+INSERT INTO threads (title, author_id, category_id, is_anonymous, is_pinned, is_locked, views, created_at, updated_at, last_reply_at) VALUES
+('Need help with calculus integration problem', 5, 4, 0, 0, 0, 89, NOW() - INTERVAL 2 HOUR, NOW() - INTERVAL 2 HOUR, NOW() - INTERVAL 1 HOUR);
+INSERT INTO thread_bodies (thread_id, content, updated_at) VALUES
+(LAST_INSERT_ID(), 
 'Can someone explain how to solve this integration problem?
 
 ∫(x² + 3x - 2)/(x + 1) dx
@@ -106,11 +111,13 @@ INSERT INTO threads (title, content, author_id, category_id, is_anonymous, is_pi
 I tried using substitution but I\'m stuck. The answer should involve ln|x+1| but I can\'t figure out the steps. 
 
 Thanks!', 
-5, 4, 0, 0, 0, 89, NOW() - INTERVAL 2 HOUR, NOW() - INTERVAL 2 HOUR, NOW() - INTERVAL 1 HOUR);
+NOW() - INTERVAL 2 HOUR);
 
 -- Thread 3: Pinned announcement
-INSERT INTO threads (title, content, author_id, category_id, is_anonymous, is_pinned, is_locked, views, created_at, updated_at, last_reply_at) VALUES
-('📌 Welcome to the School Forum! Read This First', 
+INSERT INTO threads (title, author_id, category_id, is_anonymous, is_pinned, is_locked, views, created_at, updated_at, last_reply_at) VALUES
+('📌 Welcome to the School Forum! Read This First', 1, 1, 0, 1, 0, 234, NOW() - INTERVAL 7 DAY, NOW() - INTERVAL 7 DAY, NOW() - INTERVAL 6 DAY);
+INSERT INTO thread_bodies (thread_id, content, updated_at) VALUES
+(LAST_INSERT_ID(), 
 'Welcome to our school forum! 🎉
 
 **Forum Rules:**
@@ -130,11 +137,13 @@ INSERT INTO threads (title, content, author_id, category_id, is_anonymous, is_pi
 If you need help, contact @mod_john or @mod_sarah.
 
 Happy posting! 😊', 
-1, 1, 0, 1, 0, 234, NOW() - INTERVAL 7 DAY, NOW() - INTERVAL 7 DAY, NOW() - INTERVAL 6 DAY);
+NOW() - INTERVAL 7 DAY);
 
 -- Thread 4: Study group
-INSERT INTO threads (title, content, author_id, category_id, is_anonymous, is_pinned, is_locked, views, created_at, updated_at, last_reply_at) VALUES
-('Looking for study partners for Physics midterm', 
+INSERT INTO threads (title, author_id, category_id, is_anonymous, is_pinned, is_locked, views, created_at, updated_at, last_reply_at) VALUES
+('Looking for study partners for Physics midterm', 6, 6, 0, 0, 0, 45, NOW() - INTERVAL 3 HOUR, NOW() - INTERVAL 3 HOUR, NOW() - INTERVAL 2 HOUR);
+INSERT INTO thread_bodies (thread_id, content, updated_at) VALUES
+(LAST_INSERT_ID(), 
 'Hey everyone! The physics midterm is coming up next week and I\'m looking for study partners. 
 
 **Topics to cover:**
@@ -144,11 +153,13 @@ INSERT INTO threads (title, content, author_id, category_id, is_anonymous, is_pi
 - Rotational Motion
 
 Planning to meet at the library this Saturday 2-5 PM. Reply if interested!', 
-6, 6, 0, 0, 0, 45, NOW() - INTERVAL 3 HOUR, NOW() - INTERVAL 3 HOUR, NOW() - INTERVAL 2 HOUR);
+NOW() - INTERVAL 3 HOUR);
 
 -- Thread 5: Event announcement
-INSERT INTO threads (title, content, author_id, category_id, is_anonymous, is_pinned, is_locked, views, created_at, updated_at, last_reply_at) VALUES
-('Coding Competition Next Month - Sign Up Now! 🏆', 
+INSERT INTO threads (title, author_id, category_id, is_anonymous, is_pinned, is_locked, views, created_at, updated_at, last_reply_at) VALUES
+('Coding Competition Next Month - Sign Up Now! 🏆', 8, 5, 0, 0, 0, 178, NOW() - INTERVAL 1 DAY, NOW() - INTERVAL 1 DAY, NOW() - INTERVAL 20 HOUR);
+INSERT INTO thread_bodies (thread_id, content, updated_at) VALUES
+(LAST_INSERT_ID(), 
 'The annual school coding competition is happening next month!
 
 **Details:**
@@ -165,11 +176,13 @@ INSERT INTO threads (title, content, author_id, category_id, is_anonymous, is_pi
 To sign up, email cs.club@school.edu by December 31st.
 
 Good luck! 💪', 
-8, 5, 0, 0, 0, 178, NOW() - INTERVAL 1 DAY, NOW() - INTERVAL 1 DAY, NOW() - INTERVAL 20 HOUR);
+NOW() - INTERVAL 1 DAY);
 
 -- Thread 6: React question
-INSERT INTO threads (title, content, author_id, category_id, is_anonymous, is_pinned, is_locked, views, created_at, updated_at, last_reply_at) VALUES
-('React useState not updating immediately?', 
+INSERT INTO threads (title, author_id, category_id, is_anonymous, is_pinned, is_locked, views, created_at, updated_at, last_reply_at) VALUES
+('React useState not updating immediately?', 7, 3, 0, 0, 0, 67, NOW() - INTERVAL 5 HOUR, NOW() - INTERVAL 5 HOUR, NOW() - INTERVAL 4 HOUR);
+INSERT INTO thread_bodies (thread_id, content, updated_at) VALUES
+(LAST_INSERT_ID(), 
 'I have a weird issue with React useState. When I call setCount(count + 1), it doesn\'t update immediately. I have to click the button twice to see the change.
 
 ```javascript
@@ -182,21 +195,25 @@ const handleClick = () => {
 ```
 
 Is this normal behavior? How do I fix it?', 
-7, 3, 0, 0, 0, 67, NOW() - INTERVAL 5 HOUR, NOW() - INTERVAL 5 HOUR, NOW() - INTERVAL 4 HOUR);
+NOW() - INTERVAL 5 HOUR);
 
 -- Thread 7: Anonymous homework question
-INSERT INTO threads (title, content, author_id, category_id, is_anonymous, is_pinned, is_locked, views, created_at, updated_at, last_reply_at) VALUES
-('How to approach this chemistry problem?', 
+INSERT INTO threads (title, author_id, category_id, is_anonymous, is_pinned, is_locked, views, created_at, updated_at, last_reply_at) VALUES
+('How to approach this chemistry problem?', 8, 2, 1, 0, 0, 34, NOW() - INTERVAL 6 HOUR, NOW() - INTERVAL 6 HOUR, NOW() - INTERVAL 5 HOUR);
+INSERT INTO thread_bodies (thread_id, content, updated_at) VALUES
+(LAST_INSERT_ID(), 
 'I\'m stuck on this chemistry homework problem and the deadline is tomorrow. Don\'t want to put my name because I feel stupid asking this... 😅
 
 Question: Calculate the pH of a 0.1M solution of acetic acid (Ka = 1.8 × 10⁻⁵)
 
 I know the formula pH = -log[H+] but how do I find [H+] from Ka? Thanks!', 
-8, 2, 1, 0, 0, 34, NOW() - INTERVAL 6 HOUR, NOW() - INTERVAL 6 HOUR, NOW() - INTERVAL 5 HOUR);
+NOW() - INTERVAL 6 HOUR);
 
 -- Thread 8: Discussion
-INSERT INTO threads (title, content, author_id, category_id, is_anonymous, is_pinned, is_locked, views, created_at, updated_at, last_reply_at) VALUES
-('Best laptop for CS students in 2025?', 
+INSERT INTO threads (title, author_id, category_id, is_anonymous, is_pinned, is_locked, views, created_at, updated_at, last_reply_at) VALUES
+('Best laptop for CS students in 2025?', 9, 7, 0, 0, 0, 102, NOW() - INTERVAL 8 HOUR, NOW() - INTERVAL 8 HOUR, NOW() - INTERVAL 7 HOUR);
+INSERT INTO thread_bodies (thread_id, content, updated_at) VALUES
+(LAST_INSERT_ID(), 
 'I need to buy a new laptop for programming and I\'m not sure what to get. My budget is around $1000-1500.
 
 Requirements:
@@ -211,7 +228,7 @@ Currently looking at:
 3. ThinkPad X1 Carbon
 
 What do you guys use and recommend?', 
-9, 7, 0, 0, 0, 102, NOW() - INTERVAL 8 HOUR, NOW() - INTERVAL 8 HOUR, NOW() - INTERVAL 7 HOUR);
+NOW() - INTERVAL 8 HOUR);
 
 -- ============================================
 -- 6. CREATE SAMPLE REPLIES
@@ -392,6 +409,16 @@ INSERT INTO notifications (user_id, type, title, message, link, is_read, created
 -- Welcome notifications for new users
 (7, 'SYSTEM', 'Welcome to the Forum!', 'Thanks for joining! Check out the pinned post for forum rules.', '/thread/3', 1, NOW() - INTERVAL 2 DAY);
 
+-- ============================================
+-- 10. RESYNC ID SEQUENCES
+-- Replies and tags get their ids from sequences in blocks of 50
+-- (see db/migrations/001_reply_tag_sequences.sql); move them past the seeded rows
+-- ============================================
+SET @next_reply_block = (SELECT COALESCE(MAX(id), 0) + 50 FROM replies);
+EXECUTE IMMEDIATE CONCAT('SELECT SETVAL(replies_seq, ', @next_reply_block, ')');
+SET @next_tag_block = (SELECT COALESCE(MAX(id), 0) + 50 FROM tags);
+EXECUTE IMMEDIATE CONCAT('SELECT SETVAL(tags_seq, ', @next_tag_block, ')');
+
 -- ============================================
 -- ✅ SEED DATA COMPLETE!
 -- ============================================
@@ -0,0 +1,21 @@
+-- ============================================
+-- MIGRATION 001: Sequence IDs for replies and tags
+-- Run once BEFORE deploying the build that maps Reply/Tag ids to sequences (MariaDB 10.3+)
+--
+-- Hibernate's pooled optimizer reserves ids in blocks of 50 and treats each
+-- sequence value as the top of a block, so every sequence starts 50 past the
+-- current MAX(id). The AUTO_INCREMENT on the id columns is left in place so
+-- hand-written INSERTs (database-seed.sql) keep working.
+-- ============================================
+
+USE forum_db;
+
+SET @next_reply_block = (SELECT COALESCE(MAX(id), 0) + 50 FROM replies);
+EXECUTE IMMEDIATE CONCAT(
+    'CREATE SEQUENCE IF NOT EXISTS replies_seq START WITH ', @next_reply_block,
+    ' INCREMENT BY 50 NOCACHE');
+
+SET @next_tag_block = (SELECT COALESCE(MAX(id), 0) + 50 FROM tags);
+EXECUTE IMMEDIATE CONCAT(
+    'CREATE SEQUENCE IF NOT EXISTS tags_seq START WITH ', @next_tag_block,
+    ' INCREMENT BY 50 NOCACHE');
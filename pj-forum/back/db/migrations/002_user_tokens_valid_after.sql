@@ -0,0 +1,10 @@
+-- ============================================
+-- MIGRATION 002: Per-user token cut-off
+-- Tokens issued at or before users.tokens_valid_after are rejected.
+-- Set by bans and role changes; polled by every instance, hence the index.
+-- ============================================
+
+USE forum_db;
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS tokens_valid_after DATETIME(6) NULL;
+CREATE INDEX IF NOT EXISTS idx_users_tokens_valid_after ON users (tokens_valid_after);
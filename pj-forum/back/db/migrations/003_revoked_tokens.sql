@@ -0,0 +1,16 @@
+-- ============================================
+-- MIGRATION 003: Revoked token denylist
+-- One row per logged-out JWT (jti claim), deleted once the token has expired.
+-- Loaded into memory at startup and polled by revokedAt afterwards.
+-- ============================================
+
+USE forum_db;
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti         VARCHAR(36) NOT NULL PRIMARY KEY,
+    user_id     BIGINT      NOT NULL,
+    revoked_at  DATETIME(6) NOT NULL,
+    expires_at  DATETIME(6) NOT NULL,
+    INDEX idx_revoked_tokens_revoked_at (revoked_at),
+    INDEX idx_revoked_tokens_expires_at (expires_at)
+);
@@ -0,0 +1,15 @@
+-- ============================================
+-- MIGRATION 004: Runtime forum settings
+-- Key/value overrides of application.properties defaults, edited through
+-- /api/admin/settings. The version column is bumped on every update; nodes
+-- poll SUM(version) + COUNT(*) and reload when it changes.
+-- ============================================
+
+USE forum_db;
+
+CREATE TABLE IF NOT EXISTS forum_settings (
+    setting_key    VARCHAR(100)  NOT NULL PRIMARY KEY,
+    setting_value  VARCHAR(1000) NOT NULL,
+    version        BIGINT,
+    updated_at     DATETIME(6)   NOT NULL
+);
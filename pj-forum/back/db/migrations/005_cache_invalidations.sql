@@ -0,0 +1,17 @@
+-- ============================================
+-- MIGRATION 005: Cache invalidation change log
+-- Written by the JDBC invalidation bus in the writer's transaction and
+-- polled by every node (id cursor + short created_at lookback).
+-- Rows are deleted after forum.cache.invalidation.retention-minutes.
+-- ============================================
+
+USE forum_db;
+
+CREATE TABLE IF NOT EXISTS cache_invalidations (
+    id          BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    region      VARCHAR(100) NOT NULL,
+    cache_key   VARCHAR(100),
+    node_id     VARCHAR(64)  NOT NULL,
+    created_at  DATETIME(6)  NOT NULL,
+    INDEX idx_cache_invalidations_created_at (created_at)
+);
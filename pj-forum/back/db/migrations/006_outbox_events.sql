@@ -0,0 +1,23 @@
+-- ============================================
+-- MIGRATION 006: Domain event outbox
+-- Written in the same transaction as the thread/reply change, read in id
+-- order by the outbox relay. DELIVERED rows are deleted after
+-- forum.outbox.retention-hours; DEAD rows stay for inspection.
+-- ============================================
+
+USE forum_db;
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id              BIGINT        NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    event_type      VARCHAR(50)   NOT NULL,
+    thread_id       BIGINT        NOT NULL,
+    payload         TEXT          NOT NULL,
+    status          VARCHAR(20)   NOT NULL DEFAULT 'PENDING',
+    attempts        INT           NOT NULL DEFAULT 0,
+    created_at      DATETIME(6)   NOT NULL,
+    next_attempt_at DATETIME(6)   NOT NULL,
+    delivered_at    DATETIME(6),
+    last_error      VARCHAR(1000),
+    INDEX idx_outbox_events_status_id (status, id),
+    INDEX idx_outbox_events_delivered_at (delivered_at)
+);
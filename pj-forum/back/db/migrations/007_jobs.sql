@@ -0,0 +1,29 @@
+-- ============================================
+-- MIGRATION 007: Background job queue
+-- Workers claim rows with SELECT ... FOR UPDATE SKIP LOCKED (MariaDB 10.6+).
+-- A RUNNING job whose locked_until has passed is claimed again by another node.
+-- Finished rows are deleted after forum.jobs.retention-hours.
+-- ============================================
+
+USE forum_db;
+
+CREATE TABLE IF NOT EXISTS jobs (
+    id            BIGINT        NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    queue         VARCHAR(50)   NOT NULL,
+    payload       TEXT          NOT NULL,
+    dedup_key     VARCHAR(100),
+    status        VARCHAR(20)   NOT NULL DEFAULT 'QUEUED',
+    attempts      INT           NOT NULL DEFAULT 0,
+    max_attempts  INT           NOT NULL,
+    run_at        DATETIME(6)   NOT NULL,
+    locked_by     VARCHAR(64),
+    locked_until  DATETIME(6),
+    progress      TEXT,
+    last_error    VARCHAR(1000),
+    created_at    DATETIME(6)   NOT NULL,
+    started_at    DATETIME(6),
+    finished_at   DATETIME(6),
+    INDEX idx_jobs_queue_status_run_at (queue, status, run_at),
+    INDEX idx_jobs_status_finished_at (status, finished_at),
+    INDEX idx_jobs_dedup_key (dedup_key)
+);
@@ -0,0 +1,18 @@
+-- ============================================
+-- MIGRATION 008: Cluster locks + thread auto-delete
+-- One row per @ClusterLock name. A node holds the lock while
+-- locked_until is in the future; fencing_token grows on every acquisition.
+-- threads.created_at is indexed for the auto-delete job.
+-- ============================================
+
+USE forum_db;
+
+CREATE TABLE IF NOT EXISTS cluster_locks (
+    name           VARCHAR(100) NOT NULL PRIMARY KEY,
+    locked_by      VARCHAR(64),
+    locked_at      DATETIME(6),
+    locked_until   DATETIME(6)  NOT NULL,
+    fencing_token  BIGINT       NOT NULL DEFAULT 0
+);
+
+CREATE INDEX IF NOT EXISTS idx_threads_created_at ON threads (created_at);
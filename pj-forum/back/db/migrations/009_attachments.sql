@@ -0,0 +1,39 @@
+-- ============================================
+-- MIGRATION 009: Thread attachments
+-- Files are stored once per SHA-256 (file_blobs); ref_count counts the
+-- attachments using a blob and orphaned_at marks when it last became unused.
+-- user_storage_usage is kept up to date by the upload/delete statements.
+-- ============================================
+
+USE forum_db;
+
+CREATE TABLE IF NOT EXISTS file_blobs (
+    hash          CHAR(64)      NOT NULL PRIMARY KEY,
+    size          BIGINT        NOT NULL,
+    content_type  VARCHAR(100)  NOT NULL,
+    ref_count     INT           NOT NULL DEFAULT 0,
+    created_at    DATETIME(6)   NOT NULL,
+    orphaned_at   DATETIME(6),
+    INDEX idx_file_blobs_orphaned_at (orphaned_at)
+);
+
+CREATE TABLE IF NOT EXISTS attachments (
+    id            BIGINT        NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    thread_id     BIGINT        NOT NULL,
+    uploader_id   BIGINT        NOT NULL,
+    blob_hash     CHAR(64)      NOT NULL,
+    file_name     VARCHAR(255)  NOT NULL,
+    content_type  VARCHAR(100)  NOT NULL,
+    size          BIGINT        NOT NULL,
+    created_at    DATETIME(6)   NOT NULL,
+    INDEX idx_attachments_thread_id (thread_id),
+    INDEX idx_attachments_blob_hash (blob_hash),
+    CONSTRAINT fk_attachments_thread FOREIGN KEY (thread_id) REFERENCES threads (id),
+    CONSTRAINT fk_attachments_uploader FOREIGN KEY (uploader_id) REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS user_storage_usage (
+    user_id       BIGINT        NOT NULL PRIMARY KEY,
+    bytes_used    BIGINT        NOT NULL DEFAULT 0,
+    files         INT           NOT NULL DEFAULT 0
+);
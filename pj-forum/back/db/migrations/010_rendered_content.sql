@@ -0,0 +1,16 @@
+-- ============================================
+-- MIGRATION 010: Rendered Markdown
+-- content_html holds the sanitized HTML rendered from content;
+-- render_version is the renderer version that produced it (NULL = never rendered).
+-- Rows with NULL or an older version are re-rendered by the content-render job.
+-- ============================================
+
+USE forum_db;
+
+ALTER TABLE threads
+    ADD COLUMN IF NOT EXISTS content_html   MEDIUMTEXT,
+    ADD COLUMN IF NOT EXISTS render_version INT;
+
+ALTER TABLE replies
+    ADD COLUMN IF NOT EXISTS content_html   MEDIUMTEXT,
+    ADD COLUMN IF NOT EXISTS render_version INT;
@@ -0,0 +1,18 @@
+-- ============================================
+-- MIGRATION 011: Compressed post bodies
+-- content / content_html become binary: plain UTF-8 for short bodies,
+-- 0xFF + format byte + deflate stream for long ones (CompressedTextConverter).
+-- Converting TEXT to BLOB keeps the bytes, so existing rows read back unchanged;
+-- compress them afterwards with POST /api/admin/maintenance/compress-content.
+-- The ALTERs rebuild both tables: run them in a maintenance window.
+-- ============================================
+
+USE forum_db;
+
+ALTER TABLE threads
+    MODIFY COLUMN content      MEDIUMBLOB NOT NULL,
+    MODIFY COLUMN content_html MEDIUMBLOB;
+
+ALTER TABLE replies
+    MODIFY COLUMN content      MEDIUMBLOB NOT NULL,
+    MODIFY COLUMN content_html MEDIUMBLOB;
@@ -0,0 +1,29 @@
+-- ============================================
+-- MIGRATION 012: Thread bodies in their own table
+-- threads keeps only the narrow columns used by list/sort queries;
+-- the text moves to thread_bodies (primary key = thread id).
+-- Run with the application stopped: the copy and the column drop must not
+-- interleave with writes.
+-- ============================================
+
+USE forum_db;
+
+CREATE TABLE IF NOT EXISTS thread_bodies (
+    thread_id       BIGINT       NOT NULL PRIMARY KEY,
+    content         MEDIUMBLOB   NOT NULL,
+    content_html    MEDIUMBLOB,
+    render_version  INT,
+    updated_at      DATETIME(6)  NOT NULL,
+    CONSTRAINT fk_thread_bodies_thread FOREIGN KEY (thread_id) REFERENCES threads (id)
+);
+
+INSERT IGNORE INTO thread_bodies (thread_id, content, content_html, render_version, updated_at)
+SELECT id, content, content_html, render_version, updated_at FROM threads;
+
+ALTER TABLE threads
+    DROP COLUMN IF EXISTS content,
+    DROP COLUMN IF EXISTS content_html,
+    DROP COLUMN IF EXISTS render_version;
+
+-- Narrow rows are only half the win: list pages also sort by these
+CREATE INDEX IF NOT EXISTS idx_threads_category_created_at ON threads (category_id, created_at);
@@ -0,0 +1,10 @@
+-- ============================================
+-- MIGRATION 013: User activity timeline
+-- GET /api/users/{id}/activity walks both indexes backwards from the cursor
+-- (the primary key id is the implicit last column, used as the tie-breaker).
+-- ============================================
+
+USE forum_db;
+
+CREATE INDEX IF NOT EXISTS idx_threads_author_created_at ON threads (author_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_replies_author_created_at ON replies (author_id, created_at);
@@ -0,0 +1,29 @@
+-- ============================================
+-- MIGRATION 014: Per-user statistics
+-- Counters maintained by the thread/reply write paths (UserStatsService) and
+-- read through a secondary-table join on users. reputation = replies the
+-- user's threads received from other users. The backfill below gives the
+-- starting values; the nightly reconciliation repairs any later drift.
+-- ============================================
+
+USE forum_db;
+
+CREATE TABLE IF NOT EXISTS user_stats (
+    user_id       BIGINT  NOT NULL PRIMARY KEY,
+    thread_count  INT     NOT NULL DEFAULT 0,
+    reply_count   INT     NOT NULL DEFAULT 0,
+    reputation    INT     NOT NULL DEFAULT 0,
+    CONSTRAINT fk_user_stats_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+INSERT INTO user_stats (user_id, thread_count, reply_count, reputation)
+SELECT u.id,
+       (SELECT COUNT(*) FROM threads t WHERE t.author_id = u.id),
+       (SELECT COUNT(*) FROM replies r WHERE r.author_id = u.id),
+       (SELECT COUNT(*) FROM replies r JOIN threads t ON t.id = r.thread_id
+         WHERE t.author_id = u.id AND r.author_id <> u.id)
+FROM users u
+ON DUPLICATE KEY UPDATE
+    thread_count = VALUES(thread_count),
+    reply_count  = VALUES(reply_count),
+    reputation   = VALUES(reputation);
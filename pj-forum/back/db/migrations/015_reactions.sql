@@ -0,0 +1,29 @@
+-- ============================================
+-- MIGRATION 015: Reactions on threads and replies
+-- reactions holds one row per (user, target, type); the unique key makes
+-- reacting idempotent. reaction_counts is the aggregate read by the thread
+-- and reply pages, written in batches by ReactionService (write-behind) and
+-- repaired by its nightly reconciliation.
+-- ============================================
+
+USE forum_db;
+
+CREATE TABLE IF NOT EXISTS reactions (
+    id           BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    user_id      BIGINT       NOT NULL,
+    target_type  VARCHAR(10)  NOT NULL,
+    target_id    BIGINT       NOT NULL,
+    type         VARCHAR(20)  NOT NULL,
+    created_at   DATETIME(6)  NOT NULL,
+    CONSTRAINT uk_reactions_user_target_type UNIQUE (user_id, target_type, target_id, type),
+    INDEX idx_reactions_target (target_type, target_id),
+    CONSTRAINT fk_reactions_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS reaction_counts (
+    target_type  VARCHAR(10)  NOT NULL,
+    target_id    BIGINT       NOT NULL,
+    type         VARCHAR(20)  NOT NULL,
+    total        BIGINT       NOT NULL DEFAULT 0,
+    PRIMARY KEY (target_type, target_id, type)
+);
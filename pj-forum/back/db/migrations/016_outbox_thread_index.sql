@@ -0,0 +1,9 @@
+-- ============================================
+-- MIGRATION 016: Outbox per-thread lookup
+-- The relay only reads events whose thread has no earlier pending event
+-- still waiting for its retry; that check probes this index.
+-- ============================================
+
+USE forum_db;
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_thread_status ON outbox_events (thread_id, status, id);
@@ -0,0 +1,31 @@
+-- ============================================
+-- MIGRATION 017: One active job per queue and dedup key
+-- active_dedup_key is dedup_key while the job is QUEUED/RUNNING and NULL
+-- otherwise, so the unique key only covers active jobs (NULLs never clash).
+-- Enqueue inserts with INSERT IGNORE against it.
+-- Run with the application stopped: duplicates left by concurrent enqueues
+-- are cancelled first (the oldest active job of each key is kept).
+-- ============================================
+
+USE forum_db;
+
+UPDATE jobs j
+JOIN (
+    SELECT queue, dedup_key, MIN(id) AS keep_id
+    FROM jobs
+    WHERE status IN ('QUEUED', 'RUNNING') AND dedup_key IS NOT NULL
+    GROUP BY queue, dedup_key
+    HAVING COUNT(*) > 1
+) d ON d.queue = j.queue AND d.dedup_key = j.dedup_key
+SET j.status = 'CANCELLED',
+    j.finished_at = NOW(6),
+    j.locked_by = NULL,
+    j.locked_until = NULL,
+    j.last_error = CONCAT('Duplicate of job ', d.keep_id)
+WHERE j.status IN ('QUEUED', 'RUNNING') AND j.id <> d.keep_id;
+
+ALTER TABLE jobs
+    ADD COLUMN IF NOT EXISTS active_dedup_key VARCHAR(100)
+        GENERATED ALWAYS AS (CASE WHEN status IN ('QUEUED', 'RUNNING') THEN dedup_key END) VIRTUAL;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_jobs_queue_active_dedup_key ON jobs (queue, active_dedup_key);
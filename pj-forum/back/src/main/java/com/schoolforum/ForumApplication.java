@@ -1,8 +1,10 @@
 package com.schoolforum;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
@@ -16,6 +18,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
  * - SERVICE Layer: Business logic
  * - CONTROLLER Layer: REST API endpoints
  */
+@Slf4j
 @SpringBootApplication
 @EnableJpaAuditing
 @EnableScheduling
@@ -23,11 +26,8 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 public class ForumApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(ForumApplication.class, args);
-        System.out.println("==============================================");
-        System.out.println("🚀 School Forum Backend is running!");
-        System.out.println("📍 Server: http://localhost:8080");
-        System.out.println("📊 API Documentation: http://localhost:8080/api");
-        System.out.println("==============================================");
+        ConfigurableApplicationContext context = SpringApplication.run(ForumApplication.class, args);
+        String port = context.getEnvironment().getProperty("local.server.port", "8080");
+        log.info("School Forum Backend is running on http://localhost:{} (API base: /api)", port);
     }
 }
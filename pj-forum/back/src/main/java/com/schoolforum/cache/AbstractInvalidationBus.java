@@ -0,0 +1,79 @@
+package com.schoolforum.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Batching and transaction handling shared by the bus implementations:
+ * invalidations published in a transaction are de-duplicated, handed to share() once right
+ * before commit (same transaction) and delivered to local listeners after commit.
+ */
+@Slf4j
+public abstract class AbstractInvalidationBus implements InvalidationBus {
+
+    private final List<InvalidationListener> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(String region, Object key) {
+        Invalidation invalidation = new Invalidation(region, key == null ? null : key.toString());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<Invalidation> batch = List.of(invalidation);
+            share(batch);
+            deliver(batch);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        LinkedHashSet<Invalidation> pending = (LinkedHashSet<Invalidation>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            LinkedHashSet<Invalidation> batch = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    share(new ArrayList<>(batch));
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AbstractInvalidationBus.this);
+                    if (status == STATUS_COMMITTED) {
+                        deliver(new ArrayList<>(batch));
+                    }
+                }
+            });
+            pending = batch;
+        }
+        pending.add(invalidation);
+    }
+
+    @Override
+    public void subscribe(InvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Make a committed batch visible to the other nodes
+     */
+    protected abstract void share(List<Invalidation> batch);
+
+    protected void deliver(List<Invalidation> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        for (InvalidationListener listener : listeners) {
+            try {
+                listener.onInvalidations(batch);
+            } catch (RuntimeException e) {
+                log.warn("Cache invalidation listener failed for {} entries", batch.size(), e);
+            }
+        }
+    }
+}
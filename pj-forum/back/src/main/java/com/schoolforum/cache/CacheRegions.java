@@ -0,0 +1,18 @@
+package com.schoolforum.cache;
+
+import com.schoolforum.dao.CategoryDAO;
+
+/**
+ * Names of the invalidation regions (match the Hibernate cache regions in ehcache.xml)
+ */
+public final class CacheRegions {
+
+    public static final String USER = "user";
+    public static final String CATEGORY = "category";
+    public static final String CATEGORY_LIST = CategoryDAO.CATEGORY_LIST_REGION;
+    public static final String TAG = "tag";
+    public static final String THREAD_TAGS = "thread.tags";
+
+    private CacheRegions() {
+    }
+}
@@ -0,0 +1,69 @@
+package com.schoolforum.cache;
+
+import com.schoolforum.model.Category;
+import com.schoolforum.model.Tag;
+import com.schoolforum.model.Thread;
+import com.schoolforum.model.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Evicts invalidated entries from the Hibernate second-level and query caches
+ */
+@Slf4j
+@Component
+public class HibernateCacheInvalidationListener implements InvalidationListener {
+
+    private static final String THREAD_TAGS_ROLE = Thread.class.getName() + ".tags";
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void register() {
+        invalidationBus.subscribe(this);
+    }
+
+    @Override
+    public void onInvalidations(List<Invalidation> invalidations) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        for (Invalidation invalidation : invalidations) {
+            String key = invalidation.key();
+            switch (invalidation.region()) {
+                case CacheRegions.USER -> evictEntity(cache, User.class, key);
+                case CacheRegions.TAG -> evictEntity(cache, Tag.class, key);
+                case CacheRegions.CATEGORY -> {
+                    evictEntity(cache, Category.class, key);
+                    cache.evictQueryRegion(CacheRegions.CATEGORY_LIST);
+                }
+                case CacheRegions.CATEGORY_LIST -> cache.evictQueryRegion(CacheRegions.CATEGORY_LIST);
+                case CacheRegions.THREAD_TAGS -> {
+                    if (key == null) {
+                        cache.evictCollectionData(THREAD_TAGS_ROLE);
+                    } else {
+                        cache.evictCollectionData(THREAD_TAGS_ROLE, Long.valueOf(key));
+                    }
+                }
+                default -> log.debug("No Hibernate cache for invalidation region {}", invalidation.region());
+            }
+        }
+    }
+
+    private void evictEntity(Cache cache, Class<?> entityClass, String key) {
+        if (key == null) {
+            cache.evictEntityData(entityClass);
+        } else {
+            cache.evictEntityData(entityClass, Long.valueOf(key));
+        }
+    }
+}
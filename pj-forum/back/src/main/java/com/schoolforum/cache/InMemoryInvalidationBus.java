@@ -0,0 +1,20 @@
+package com.schoolforum.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Invalidation bus for a single node (and tests): delivers locally, shares nothing
+ * Enabled with forum.cache.invalidation.bus=memory
+ */
+@Component
+@ConditionalOnProperty(name = "forum.cache.invalidation.bus", havingValue = "memory")
+public class InMemoryInvalidationBus extends AbstractInvalidationBus {
+
+    @Override
+    protected void share(List<Invalidation> batch) {
+        // Single node: nobody else to tell
+    }
+}
@@ -0,0 +1,7 @@
+package com.schoolforum.cache;
+
+/**
+ * One cache entry (or a whole region when key is null) that changed
+ */
+public record Invalidation(String region, String key) {
+}
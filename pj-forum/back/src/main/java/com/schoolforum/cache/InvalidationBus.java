@@ -0,0 +1,16 @@
+package com.schoolforum.cache;
+
+/**
+ * Cluster-wide cache invalidation
+ * Writers publish what changed; every node's listeners evict it from their in-process caches.
+ * Inside a transaction, invalidations are collected, shared and delivered only if it commits.
+ */
+public interface InvalidationBus {
+
+    /**
+     * Announce a changed entry; key null invalidates the whole region
+     */
+    void publish(String region, Object key);
+
+    void subscribe(InvalidationListener listener);
+}
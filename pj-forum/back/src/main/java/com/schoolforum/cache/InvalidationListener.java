@@ -0,0 +1,11 @@
+package com.schoolforum.cache;
+
+import java.util.List;
+
+/**
+ * Receives invalidations from this node (after commit) and from other nodes (after a poll)
+ */
+@FunctionalInterface
+public interface InvalidationListener {
+    void onInvalidations(List<Invalidation> invalidations);
+}
@@ -0,0 +1,120 @@
+package com.schoolforum.cache;
+
+import com.schoolforum.config.CacheInvalidationConfig;
+import com.schoolforum.dao.CacheInvalidationDAO;
+import com.schoolforum.lock.ClusterLock;
+import com.schoolforum.model.CacheInvalidation;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Invalidation bus backed by the cache_invalidations change-log table (no broker needed)
+ * - publish: rows are JDBC-batch inserted in the writer's transaction, just before commit
+ * - every node polls rows past its id cursor every poll-interval-ms and delivers the ones
+ *   written by other nodes; recent rows are re-read (lookback) because auto-increment ids can
+ *   commit out of order, and rows already applied are skipped
+ * - rows past the retention window are deleted
+ * Default bus (forum.cache.invalidation.bus=jdbc).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "forum.cache.invalidation.bus", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcInvalidationBus extends AbstractInvalidationBus {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO cache_invalidations (region, cache_key, node_id, created_at) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheInvalidationDAO cacheInvalidationDAO;
+
+    @Autowired
+    private CacheInvalidationConfig config;
+
+    private String nodeId;
+
+    private volatile long cursor = -1;
+
+    // Row id -> created at, for rows inside the lookback window that were already applied
+    private final Map<Long, LocalDateTime> applied = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        String configured = config.getNodeId();
+        nodeId = configured != null && !configured.isBlank()
+            ? configured
+            : UUID.randomUUID().toString();
+    }
+
+    @Override
+    protected void share(List<Invalidation> batch) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, config.getBatchSize(), (ps, invalidation) -> {
+            ps.setString(1, invalidation.region());
+            ps.setString(2, invalidation.key());
+            ps.setString(3, nodeId);
+            ps.setTimestamp(4, now);
+        });
+    }
+
+    /**
+     * Deliver rows written by other nodes since the last poll
+     */
+    @Scheduled(fixedDelayString = "${forum.cache.invalidation.poll-interval-ms:2000}")
+    public void poll() {
+        if (cursor < 0) {
+            // Nothing is cached yet at startup, so history does not need replaying
+            cursor = cacheInvalidationDAO.maxId();
+            return;
+        }
+
+        LocalDateTime lookbackSince = LocalDateTime.now().minusSeconds(config.getLookbackSeconds());
+        LinkedHashSet<Invalidation> batch = new LinkedHashSet<>();
+        long after = -1;
+        List<CacheInvalidation> page;
+        do {
+            page = cacheInvalidationDAO.findPage(after, cursor, lookbackSince, PageRequest.of(0, config.getBatchSize()));
+            for (CacheInvalidation row : page) {
+                after = row.getId();
+                if (applied.putIfAbsent(row.getId(), row.getCreatedAt()) != null) {
+                    continue;
+                }
+                cursor = Math.max(cursor, row.getId());
+                if (!nodeId.equals(row.getNodeId())) {
+                    batch.add(new Invalidation(row.getRegion(), row.getCacheKey()));
+                }
+            }
+        } while (page.size() == config.getBatchSize());
+
+        applied.values().removeIf(createdAt -> createdAt.isBefore(lookbackSince));
+        if (!batch.isEmpty()) {
+            log.debug("Applying {} cache invalidations from other nodes", batch.size());
+            deliver(new ArrayList<>(batch));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${forum.cache.invalidation.prune-interval-ms:600000}")
+    @ClusterLock(name = "cache-invalidation-prune", lockAtMostFor = "PT5M", lockAtLeastFor = "PT1M")
+    @Transactional
+    public void prune() {
+        cacheInvalidationDAO.deleteOlderThan(LocalDateTime.now().minusMinutes(config.getRetentionMinutes()));
+    }
+}
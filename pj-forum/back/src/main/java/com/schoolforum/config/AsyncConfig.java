@@ -0,0 +1,44 @@
+package com.schoolforum.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Async Configuration
+ * Bounded executors for background work
+ */
+@Configuration
+public class AsyncConfig {
+
+    public static final String JOB_EXECUTOR = "jobExecutor";
+    public static final String THUMBNAIL_EXECUTOR = "thumbnailExecutor";
+
+    /**
+     * Runs claimed jobs; JobWorker never claims more jobs than there are free threads
+     */
+    @Bean(name = JOB_EXECUTOR)
+    public ThreadPoolTaskExecutor jobExecutor(JobQueueConfig config) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(config.getWorkerThreads());
+        executor.setMaxPoolSize(config.getWorkerThreads());
+        executor.setQueueCapacity(config.getWorkerThreads());
+        executor.setThreadNamePrefix("job-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Renders avatar thumbnails; a full queue rejects (the original is served meanwhile)
+     */
+    @Bean(name = THUMBNAIL_EXECUTOR)
+    public ThreadPoolTaskExecutor thumbnailExecutor(AvatarConfig config) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(config.getThumbnailThreads());
+        executor.setMaxPoolSize(config.getThumbnailThreads());
+        executor.setQueueCapacity(config.getThumbnailQueueCapacity());
+        executor.setThreadNamePrefix("thumbnail-");
+        return executor;
+    }
+}
@@ -0,0 +1,28 @@
+package com.schoolforum.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration class for thread attachments
+ * Binds forum.attachments.* properties from application.properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "forum.attachments")
+public class AttachmentConfig {
+    // Per file; spring.servlet.multipart.max-file-size must be at least this
+    private long maxBytes = 10 * 1024 * 1024;
+
+    private int maxPerThread = 10;
+
+    // Bytes each user may have attached in total (counted per attachment, even when deduplicated)
+    private long userQuotaBytes = 100L * 1024 * 1024;
+
+    // Unreferenced blobs are deleted once they have been unreferenced this long
+    private long gcGraceMinutes = 60;
+
+    // Blobs examined per GC round
+    private int gcBatchSize = 200;
+}
@@ -0,0 +1,29 @@
+package com.schoolforum.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration class for avatar uploads
+ * Binds forum.avatars.* properties from application.properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "forum.avatars")
+public class AvatarConfig {
+    private long maxBytes = 2 * 1024 * 1024;
+
+    // Larger images are rejected before they are decoded
+    private int maxDimension = 4096;
+
+    // Square thumbnails generated after upload (?size=64)
+    private List<Integer> thumbnailSizes = new ArrayList<>(List.of(64, 256));
+
+    // Background thumbnail workers and their queue; when full, thumbnails are skipped
+    private int thumbnailThreads = 2;
+    private int thumbnailQueueCapacity = 100;
+}
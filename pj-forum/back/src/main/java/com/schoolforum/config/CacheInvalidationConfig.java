@@ -0,0 +1,32 @@
+package com.schoolforum.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration class for the cluster-wide cache invalidation bus
+ * Binds forum.cache.invalidation.* properties from application.properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "forum.cache.invalidation")
+public class CacheInvalidationConfig {
+    // jdbc (shared change-log table, multi-node) or memory (single node / tests)
+    private String bus = "jdbc";
+
+    // Upper bound for how long other nodes keep serving a stale entry
+    private long pollIntervalMs = 2000;
+
+    // Rows this recent are re-read on every poll, so ids committed out of order are not skipped
+    private long lookbackSeconds = 30;
+
+    // Rows per INSERT batch and per poll page
+    private int batchSize = 500;
+
+    // Change-log rows older than this are deleted
+    private long retentionMinutes = 60;
+
+    // Identifies this node's own rows (random when empty)
+    private String nodeId;
+}
@@ -0,0 +1,20 @@
+package com.schoolforum.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration class for cluster-wide locks on scheduled work (@ClusterLock)
+ * Binds forum.cluster-lock.* properties from application.properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "forum.cluster-lock")
+public class ClusterLockConfig {
+    // Identifies this node in cluster_locks.locked_by (random when empty)
+    private String nodeId;
+
+    // Held locks get their lease extended this often; keep well below the shortest lease
+    private long renewIntervalMs = 10_000;
+}
@@ -0,0 +1,17 @@
+package com.schoolforum.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration class for the post body compression backfill
+ * Binds forum.content-compression.* properties from application.properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "forum.content-compression")
+public class ContentCompressionConfig {
+    // Rows rewritten per transaction
+    private int batchSize = 200;
+}
@@ -1,12 +1,17 @@
 package com.schoolforum.config;
 
+import com.schoolforum.exception.LoginThrottledException;
 import com.schoolforum.exception.ResourceNotFoundException;
+import com.schoolforum.exception.SqlStatementBudgetExceededException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -16,6 +21,7 @@ import java.util.Map;
  * Global Exception Handler
  * Catches all exceptions and returns clean JSON responses
  */
+@Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -35,6 +41,56 @@ public class GlobalExceptionHandler {
             .body(error);
     }
 
+    /**
+     * Handle LoginThrottledException (429 errors)
+     */
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<Map<String, Object>> handleLoginThrottledException(LoginThrottledException ex) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("success", false);
+        error.put("message", ex.getMessage());
+        error.put("retryAfterSeconds", ex.getRetryAfterSeconds());
+        error.put("status", 429);
+        error.put("timestamp", LocalDateTime.now());
+        
+        return ResponseEntity
+            .status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(error);
+    }
+
+    /**
+     * Handle SqlStatementBudgetExceededException (test profile only)
+     */
+    @ExceptionHandler(SqlStatementBudgetExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleSqlStatementBudgetExceededException(SqlStatementBudgetExceededException ex) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("success", false);
+        error.put("message", ex.getMessage());
+        error.put("timestamp", LocalDateTime.now());
+        
+        log.error(ex.getMessage());
+        
+        return ResponseEntity
+            .status(HttpStatus.INTERNAL_SERVER_ERROR)
+            .body(error);
+    }
+
+    /**
+     * Handle MaxUploadSizeExceededException (413 errors)
+     */
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleMaxUploadSizeExceededException(MaxUploadSizeExceededException ex) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("success", false);
+        error.put("message", "Upload is too large");
+        error.put("timestamp", LocalDateTime.now());
+        
+        return ResponseEntity
+            .status(HttpStatus.PAYLOAD_TOO_LARGE)
+            .body(error);
+    }
+
     /**
      * Handle RuntimeException (custom business logic errors)
      */
@@ -105,8 +161,7 @@ public class GlobalExceptionHandler {
         error.put("message", "Required data is missing");
         error.put("timestamp", LocalDateTime.now());
         
-        System.err.println("❌ NullPointerException: " + ex.getMessage());
-        ex.printStackTrace();
+        log.error("NullPointerException while handling request", ex);
         
         return ResponseEntity
             .status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -123,9 +178,7 @@ public class GlobalExceptionHandler {
         error.put("message", "An unexpected error occurred");
         error.put("timestamp", LocalDateTime.now());
         
-        System.err.println("❌ Unexpected Exception: " + ex.getClass().getName());
-        System.err.println("   Message: " + ex.getMessage());
-        ex.printStackTrace();
+        log.error("Unexpected exception while handling request", ex);
         
         return ResponseEntity
             .status(HttpStatus.INTERNAL_SERVER_ERROR)
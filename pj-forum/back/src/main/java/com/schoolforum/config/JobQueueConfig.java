@@ -0,0 +1,84 @@
+package com.schoolforum.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration class for the database-backed job queue
+ * Binds forum.jobs.* properties from application.properties
+ * Per-queue overrides: forum.jobs.queues.<queue>.concurrency=2 etc.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "forum.jobs")
+public class JobQueueConfig {
+    // Claim and run jobs on this node (enqueueing works everywhere)
+    private boolean workerEnabled = true;
+
+    // Identifies this node in jobs.locked_by (random when empty)
+    private String nodeId;
+
+    // Delay between claim rounds
+    private long pollIntervalMs = 1000;
+
+    // Threads running jobs on this node, shared by all queues
+    private int workerThreads = 4;
+
+    // Running jobs extend their lease this often
+    private long heartbeatIntervalMs = 30_000;
+
+    // Retry backoff: base * 2^(attempt-1), capped
+    private long baseBackoffSeconds = 10;
+    private long maxBackoffSeconds = 3600;
+
+    // Finished jobs (completed, failed, cancelled) are deleted after this long
+    private long retentionHours = 72;
+
+    // Defaults for queues without their own settings
+    private int defaultConcurrency = 1;
+    private int defaultClusterConcurrency = 0;
+    private long defaultVisibilityTimeoutSeconds = 300;
+    private int defaultMaxAttempts = 5;
+
+    private Map<String, QueueSettings> queues = new HashMap<>();
+
+    @Data
+    public static class QueueSettings {
+        // Jobs of this queue running at once on one node
+        private Integer concurrency;
+
+        // Jobs of this queue running at once across all nodes (0 = no limit, best effort)
+        private Integer clusterConcurrency;
+
+        // A claimed job whose lease is not renewed within this time is handed to another worker
+        private Long visibilityTimeoutSeconds;
+
+        private Integer maxAttempts;
+    }
+
+    public int concurrencyOf(String queue) {
+        QueueSettings settings = queues.get(queue);
+        return settings != null && settings.getConcurrency() != null ? settings.getConcurrency() : defaultConcurrency;
+    }
+
+    public int clusterConcurrencyOf(String queue) {
+        QueueSettings settings = queues.get(queue);
+        return settings != null && settings.getClusterConcurrency() != null ? settings.getClusterConcurrency() : defaultClusterConcurrency;
+    }
+
+    public long visibilityTimeoutOf(String queue) {
+        QueueSettings settings = queues.get(queue);
+        return settings != null && settings.getVisibilityTimeoutSeconds() != null
+            ? settings.getVisibilityTimeoutSeconds()
+            : defaultVisibilityTimeoutSeconds;
+    }
+
+    public int maxAttemptsOf(String queue) {
+        QueueSettings settings = queues.get(queue);
+        return settings != null && settings.getMaxAttempts() != null ? settings.getMaxAttempts() : defaultMaxAttempts;
+    }
+}
@@ -0,0 +1,32 @@
+package com.schoolforum.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration class for login brute-force throttling
+ * Binds forum.security.login-throttle.* properties from application.properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "forum.security.login-throttle")
+public class LoginThrottleConfig {
+    // Failed attempts allowed per email before backoff kicks in
+    private int freeAttemptsPerEmail = 5;
+
+    // Failed attempts allowed per client IP before backoff kicks in
+    private int freeAttemptsPerIp = 20;
+
+    // First backoff window, doubled on every further failure
+    private long baseBackoffSeconds = 2;
+
+    // Upper bound for a single backoff window
+    private long maxBackoffSeconds = 900;
+
+    // Failure counters are forgotten after this much quiet time
+    private long resetAfterSeconds = 3600;
+
+    // Cap on tracked keys so a spray of random emails cannot exhaust the heap; at the cap, new keys are not tracked
+    private int maxTrackedKeys = 100_000;
+}
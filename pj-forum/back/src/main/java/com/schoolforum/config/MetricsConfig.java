@@ -0,0 +1,49 @@
+package com.schoolforum.config;
+
+import com.schoolforum.dao.CategoryDAO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Metrics Configuration
+ * Hibernate statistics (incl. hibernate.second.level.cache.requests per region) are bound by
+ * Actuator; this adds a ready-made hit ratio per second-level / query cache region.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public SmartInitializingSingleton cacheHitRatioMetrics(EntityManagerFactory entityManagerFactory,
+                                                           MeterRegistry registry) {
+        return () -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            // Query cache regions are only created on first use, so name them explicitly
+            Set<String> regions = new TreeSet<>(Set.of(statistics.getSecondLevelCacheRegionNames()));
+            regions.add(CategoryDAO.CATEGORY_LIST_REGION);
+            for (String region : regions) {
+                Gauge.builder("forum.cache.hit.ratio", statistics, stats -> hitRatio(stats.getCacheRegionStatistics(region)))
+                    .description("Second-level cache hit ratio since startup")
+                    .tag("region", region)
+                    .register(registry);
+            }
+        };
+    }
+
+    private static double hitRatio(CacheRegionStatistics region) {
+        if (region == null) {
+            return Double.NaN;
+        }
+        long requests = region.getHitCount() + region.getMissCount();
+        return requests == 0 ? Double.NaN : (double) region.getHitCount() / requests;
+    }
+}
@@ -0,0 +1,33 @@
+package com.schoolforum.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration class for the transactional outbox relay
+ * Binds forum.outbox.* properties from application.properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "forum.outbox")
+public class OutboxConfig {
+    // Take part in relaying on this node (events are still recorded everywhere)
+    private boolean relayEnabled = true;
+
+    // Delay between relay passes
+    private long pollIntervalMs = 1000;
+
+    // Events read per relay pass
+    private int batchSize = 200;
+
+    // Failed deliveries are retried this often before the event is marked DEAD
+    private int maxAttempts = 10;
+
+    // Retry backoff: base * 2^(attempt-1), capped
+    private long baseBackoffSeconds = 5;
+    private long maxBackoffSeconds = 3600;
+
+    // Delivered events are deleted after this long
+    private long retentionHours = 24;
+}
@@ -0,0 +1,44 @@
+package com.schoolforum.config;
+
+import com.schoolforum.datasource.ConnectionHoldTimeDataSource;
+import com.schoolforum.web.SqlStatementCounter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Persistence Configuration
+ * Hibernate settings that need objects rather than plain properties
+ */
+@Configuration
+public class PersistenceConfig {
+
+    /**
+     * Count SQL statements per request for the statement budget (see SqlStatementBudgetFilter)
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    /**
+     * Measure per-request connection hold time on the DataSource JPA uses (see ConnectionHoldTimeFilter)
+     */
+    @Bean
+    public static BeanPostProcessor connectionHoldTimePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof ConnectionHoldTimeDataSource)) {
+                    return new ConnectionHoldTimeDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package com.schoolforum.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration class for bulk content deletion (user purges)
+ * Binds forum.purge.* properties from application.properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "forum.purge")
+public class PurgeConfig {
+    // Rows deleted per transaction; keeps lock time and undo log small
+    private int chunkSize = 500;
+}
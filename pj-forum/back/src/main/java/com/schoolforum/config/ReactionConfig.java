@@ -0,0 +1,21 @@
+package com.schoolforum.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration class for reactions
+ * Binds forum.reactions.* properties from application.properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "forum.reactions")
+public class ReactionConfig {
+    // Independently locked delta maps; concurrent reactions on one post spread across them
+    private int counterStripes = 16;
+    // Count rows upserted per flush transaction
+    private int flushBatchSize = 500;
+    // Targets recounted per reconciliation transaction
+    private int reconcileBatchSize = 500;
+}
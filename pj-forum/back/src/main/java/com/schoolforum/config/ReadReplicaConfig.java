@@ -0,0 +1,41 @@
+package com.schoolforum.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration class for read replica routing
+ * Binds forum.datasource.routing.* properties from application.properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "forum.datasource.routing")
+public class ReadReplicaConfig {
+    private boolean enabled = false;
+
+    // After a user's write commits, their reads stay on the primary this long
+    private long stickinessWindowMs = 5000;
+
+    // How often replicas are pinged (and their lag checked)
+    private long healthCheckIntervalMs = 10000;
+
+    // Replicas further behind than this are taken out of rotation (0 = do not check lag)
+    private int maxReplicationLagSeconds = 0;
+
+    // replicas-local profile: copy the (H2) primary into the replicas this often (0 = off)
+    private long localSnapshotIntervalMs = 0;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
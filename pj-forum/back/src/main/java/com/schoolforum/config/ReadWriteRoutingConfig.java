@@ -0,0 +1,125 @@
+package com.schoolforum.config;
+
+import com.schoolforum.datasource.LocalReplicaSnapshot;
+import com.schoolforum.datasource.ReadWriteRoutingDataSource;
+import com.schoolforum.datasource.ReadYourWritesTracker;
+import com.schoolforum.datasource.ReplicaPool;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read/Write Routing Configuration
+ * Active when forum.datasource.routing.enabled=true. Replaces Boot's single DataSource with
+ * primary (spring.datasource.*) + replicas (forum.datasource.routing.replicas[*]).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "forum.datasource.routing", name = "enabled", havingValue = "true")
+public class ReadWriteRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaPool replicaPool(ReadReplicaConfig config, DataSourceProperties properties, MeterRegistry registry) {
+        List<HikariDataSource> dataSources = new ArrayList<>();
+        for (int i = 0; i < config.getReplicas().size(); i++) {
+            ReadReplicaConfig.Replica replica = config.getReplicas().get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername() != null ? replica.getUsername() : properties.getUsername());
+            dataSource.setPassword(replica.getPassword() != null ? replica.getPassword() : properties.getPassword());
+            dataSource.setDriverClassName(properties.getDriverClassName());
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setReadOnly(true);
+            // Start lazily so a replica that is down cannot block startup
+            dataSource.setInitializationFailTimeout(-1);
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            dataSources.add(dataSource);
+        }
+
+        // Local snapshot replicas are empty until LocalReplicaSnapshot has copied the schema
+        ReplicaPool pool = new ReplicaPool(dataSources, config.getMaxReplicationLagSeconds(),
+            config.getLocalSnapshotIntervalMs() <= 0);
+        for (ReplicaPool.Replica replica : pool.getReplicas()) {
+            Gauge.builder("forum.datasource.replica.healthy", replica, r -> r.isHealthy() ? 1 : 0)
+                .description("1 while the replica is in rotation")
+                .tag("replica", replica.getName())
+                .register(registry);
+        }
+        return pool;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReadReplicaConfig config) {
+        return new ReadYourWritesTracker(config.getStickinessWindowMs());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaPool replicaPool,
+                                 ReadYourWritesTracker readYourWritesTracker, MeterRegistry registry) {
+        return new LazyConnectionDataSourceProxy(
+            new ReadWriteRoutingDataSource(primaryDataSource, replicaPool, readYourWritesTracker, registry)
+        );
+    }
+
+    // Local profile only: H2 replicas filled from the primary instead of by replication
+    @Bean
+    @ConditionalOnExpression("${forum.datasource.routing.local-snapshot-interval-ms:0} > 0")
+    public LocalReplicaSnapshot localReplicaSnapshot(HikariDataSource primaryDataSource, ReadReplicaConfig config,
+                                                     DataSourceProperties properties) {
+        List<LocalReplicaSnapshot.Target> targets = config.getReplicas().stream()
+            .map(replica -> new LocalReplicaSnapshot.Target(replica.getUrl(),
+                replica.getUsername() != null ? replica.getUsername() : properties.getUsername(),
+                replica.getPassword() != null ? replica.getPassword() : properties.getPassword()))
+            .toList();
+        return new LocalReplicaSnapshot(primaryDataSource, targets);
+    }
+
+    @Bean
+    public ReplicaMaintenance replicaMaintenance(ReplicaPool replicaPool, ReadYourWritesTracker readYourWritesTracker) {
+        return new ReplicaMaintenance(replicaPool, readYourWritesTracker);
+    }
+
+    /**
+     * Periodic replica health checks and stickiness cleanup
+     */
+    public static class ReplicaMaintenance {
+        private final ReplicaPool replicaPool;
+        private final ReadYourWritesTracker readYourWritesTracker;
+
+        ReplicaMaintenance(ReplicaPool replicaPool, ReadYourWritesTracker readYourWritesTracker) {
+            this.replicaPool = replicaPool;
+            this.readYourWritesTracker = readYourWritesTracker;
+        }
+
+        @Scheduled(fixedDelayString = "${forum.datasource.routing.health-check-interval-ms:10000}")
+        public void checkReplicas() {
+            replicaPool.checkHealth();
+            readYourWritesTracker.evictExpired();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.schoolforum.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration class for Markdown re-rendering
+ * Binds forum.render.* properties from application.properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "forum.render")
+public class RenderConfig {
+    // Queue a re-render job at startup when stored HTML is from an older renderer
+    private boolean rerenderOnStartup = true;
+
+    // Posts re-rendered per transaction
+    private int batchSize = 200;
+}
@@ -44,6 +44,9 @@ public class SecurityConfig {
                 .requestMatchers("/api/categories/**").permitAll()
                 .requestMatchers("/api/threads/**").permitAll()
                 .requestMatchers("/api/users/**").permitAll()
+                // Health checks and Prometheus scrapes
+                .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 // All other endpoints require authentication
                 .anyRequest().authenticated()
             )
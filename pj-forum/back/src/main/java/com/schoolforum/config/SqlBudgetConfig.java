@@ -0,0 +1,37 @@
+package com.schoolforum.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration class for the per-request SQL statement budget
+ * Binds forum.sql-budget.* properties from application.properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "forum.sql-budget")
+public class SqlBudgetConfig {
+    private boolean enabled = true;
+
+    // Budget for endpoints without an explicit entry
+    private int defaultMaxStatements = 25;
+
+    // Throw instead of logging a warning (test profile)
+    private boolean failOnExceed = false;
+
+    // Add X-SQL-Statement-Count to responses (dev mode)
+    private boolean exposeHeader = false;
+
+    private List<EndpointBudget> endpoints = new ArrayList<>();
+
+    @Data
+    public static class EndpointBudget {
+        private String method; // null = any method
+        private String pattern; // Spring MVC mapping pattern, e.g. /api/threads/{id}
+        private int maxStatements;
+    }
+}
@@ -0,0 +1,17 @@
+package com.schoolforum.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration class for the local blob store (avatars, attachments)
+ * Binds forum.storage.* properties from application.properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "forum.storage")
+public class StorageConfig {
+    // Base directory; uploads are written to <root>/tmp first and moved into place
+    private String root = "./data/storage";
+}
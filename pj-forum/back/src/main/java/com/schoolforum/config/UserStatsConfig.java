@@ -0,0 +1,17 @@
+package com.schoolforum.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration class for per-user statistics
+ * Binds forum.user-stats.* properties from application.properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "forum.user-stats")
+public class UserStatsConfig {
+    // Users recounted per reconciliation transaction
+    private int reconcileBatchSize = 500;
+}
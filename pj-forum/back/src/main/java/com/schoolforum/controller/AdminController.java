@@ -1,14 +1,27 @@
 package com.schoolforum.controller;
 
-import org.springframework.beans.factory.annotation.Value;
+import com.schoolforum.dao.CategoryDAO;
+import com.schoolforum.dto.BulkThreadDeleteRequest;
+import com.schoolforum.dto.JobDTO;
+import com.schoolforum.jobs.JobQueueService;
+import com.schoolforum.lock.ClusterLockService;
+import com.schoolforum.model.Job;
+import com.schoolforum.security.LoginAttemptService;
+import com.schoolforum.service.ContentCompressionService;
+import com.schoolforum.service.ContentPurgeService;
+import com.schoolforum.service.ForumSettingsService;
+import com.schoolforum.util.JwtUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -22,8 +35,29 @@ import java.util.Map;
 @PreAuthorize("hasRole('ADMIN')")
 public class AdminController {
 
-    @Value("${forum.thread.auto-delete-days:90}")
-    private int autoDeleteDays;
+    @Autowired
+    private ForumSettingsService forumSettingsService;
+
+    @Autowired
+    private LoginAttemptService loginAttemptService;
+
+    @Autowired
+    private ContentPurgeService contentPurgeService;
+
+    @Autowired
+    private CategoryDAO categoryDAO;
+
+    @Autowired
+    private JobQueueService jobQueueService;
+
+    @Autowired
+    private ClusterLockService clusterLockService;
+
+    @Autowired
+    private ContentCompressionService contentCompressionService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
 
     /**
      * Get current forum settings
@@ -31,6 +65,7 @@ public class AdminController {
      */
     @GetMapping("/settings")
     public ResponseEntity<Map<String, Object>> getSettings() {
+        int autoDeleteDays = forumSettingsService.getAutoDeleteDays();
         Map<String, Object> settings = new HashMap<>();
         settings.put("autoDeleteDays", autoDeleteDays);
         settings.put("autoDeleteEnabled", autoDeleteDays > 0);
@@ -44,6 +79,7 @@ public class AdminController {
      * 
      * Request body: { "days": 90 }
      * Set to 0 to disable auto-delete
+     * Takes effect immediately on every node (no restart)
      */
     @PutMapping("/settings/auto-delete-days")
     public ResponseEntity<Map<String, Object>> updateAutoDeleteDays(@RequestBody Map<String, Integer> request) {
@@ -53,50 +89,158 @@ public class AdminController {
             throw new IllegalArgumentException("Days must be 0 or positive number");
         }
         
-        try {
-            updatePropertyFile("forum.thread.auto-delete-days", days.toString());
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", days == 0 ? 
-                "Auto-delete disabled" : 
-                "Auto-delete set to " + days + " days");
-            response.put("autoDeleteDays", days);
-            response.put("requiresRestart", true);
-            
-            return ResponseEntity.ok(response);
-            
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to update settings: " + e.getMessage());
-        }
+        forumSettingsService.update(ForumSettingsService.AUTO_DELETE_DAYS, days.toString());
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", days == 0 ? 
+            "Auto-delete disabled" : 
+            "Auto-delete set to " + days + " days");
+        response.put("autoDeleteDays", days);
+        response.put("requiresRestart", false);
+        
+        return ResponseEntity.ok(response);
     }
 
     /**
-     * Helper method to update application.properties
+     * List accounts and client IPs currently locked out by login throttling
+     * GET /api/admin/login-lockouts
      */
-    private void updatePropertyFile(String key, String value) throws IOException {
-        String propertiesPath = "src/main/resources/application.properties";
-        
-        // Read all lines
-        java.util.List<String> lines = Files.readAllLines(Paths.get(propertiesPath));
+    @GetMapping("/login-lockouts")
+    public ResponseEntity<List<LoginAttemptService.Lockout>> getLoginLockouts() {
+        return ResponseEntity.ok(loginAttemptService.getActiveLockouts());
+    }
+
+    /**
+     * Lift the login lockout of an account
+     * DELETE /api/admin/login-lockouts?email=user@school.edu
+     */
+    @DeleteMapping("/login-lockouts")
+    public ResponseEntity<Map<String, Object>> clearLoginLockout(@RequestParam String email) {
+        loginAttemptService.clear(email);
         
-        // Update or add the property
-        boolean found = false;
-        for (int i = 0; i < lines.size(); i++) {
-            String line = lines.get(i).trim();
-            if (line.startsWith(key + "=")) {
-                lines.set(i, key + "=" + value);
-                found = true;
-                break;
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Login lockout cleared for " + email);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Delete many threads (with their replies) in one call; other admins' threads are never deleted
+     * POST /api/admin/threads/bulk-delete
+     *
+     * Request body: { "threadIds": [1, 2, 3] } (rejected if one belongs to another admin)
+     * or { "categoryId": 4 } for every thread in a category except other admins' threads
+     */
+    @PostMapping("/threads/bulk-delete")
+    public ResponseEntity<Map<String, Object>> bulkDeleteThreads(
+            @RequestBody BulkThreadDeleteRequest request,
+            HttpServletRequest httpRequest) {
+        Long adminId = getCurrentUserId(httpRequest);
+        ContentPurgeService.PurgeResult result;
+        if (request.getThreadIds() != null && !request.getThreadIds().isEmpty()) {
+            if (request.getThreadIds().contains(null)) {
+                throw new IllegalArgumentException("threadIds must not contain null");
+            }
+            result = contentPurgeService.purgeThreadsAsAdmin(request.getThreadIds(), adminId);
+        } else if (request.getCategoryId() != null) {
+            if (!categoryDAO.existsById(request.getCategoryId())) {
+                throw new RuntimeException("Category not found");
             }
+            result = contentPurgeService.purgeCategoryThreadsAsAdmin(request.getCategoryId(), adminId);
+        } else {
+            throw new IllegalArgumentException("Provide threadIds or categoryId");
         }
-        
-        // If not found, add it
-        if (!found) {
-            lines.add(key + "=" + value);
+
+        return ResponseEntity.ok(purgeResponse(result));
+    }
+
+    /**
+     * Background jobs, newest first
+     * GET /api/admin/jobs?queue=user-deletion&status=FAILED&page=0&size=20
+     */
+    @GetMapping("/jobs")
+    public ResponseEntity<Page<JobDTO>> getJobs(
+            @RequestParam(required = false) String queue,
+            @RequestParam(required = false) Job.Status status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        PageRequest pageable = PageRequest.of(page, Math.min(size, 100), Sort.by(Sort.Direction.DESC, "id"));
+        return ResponseEntity.ok(jobQueueService.search(queue, status, pageable));
+    }
+
+    /**
+     * Job counts per queue and status
+     * GET /api/admin/jobs/stats
+     */
+    @GetMapping("/jobs/stats")
+    public ResponseEntity<Map<String, Map<String, Long>>> getJobStats() {
+        return ResponseEntity.ok(jobQueueService.getStats());
+    }
+
+    /**
+     * GET /api/admin/jobs/{id}
+     */
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<?> getJob(@PathVariable Long id) {
+        return jobQueueService.getJob(id)
+            .<ResponseEntity<?>>map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.status(404).body(Map.of("message", "Job not found")));
+    }
+
+    /**
+     * Run a FAILED or CANCELLED job again
+     * POST /api/admin/jobs/{id}/retry
+     */
+    @PostMapping("/jobs/{id}/retry")
+    public ResponseEntity<Map<String, Object>> retryJob(@PathVariable Long id) {
+        if (!jobQueueService.retry(id)) {
+            throw new IllegalArgumentException("Only failed or cancelled jobs can be retried");
         }
-        
-        // Write back
-        Files.write(Paths.get(propertiesPath), lines);
+        return ResponseEntity.ok(Map.of("success", true, "message", "Job " + id + " queued again"));
+    }
+
+    /**
+     * Cancel a job that has not started yet
+     * POST /api/admin/jobs/{id}/cancel
+     */
+    @PostMapping("/jobs/{id}/cancel")
+    public ResponseEntity<Map<String, Object>> cancelJob(@PathVariable Long id) {
+        if (!jobQueueService.cancel(id)) {
+            throw new IllegalArgumentException("Only queued jobs can be cancelled");
+        }
+        return ResponseEntity.ok(Map.of("success", true, "message", "Job " + id + " cancelled"));
+    }
+
+    /**
+     * Cluster locks and the node holding each (lockedBy is null when free)
+     * GET /api/admin/cluster-locks
+     */
+    @GetMapping("/cluster-locks")
+    public ResponseEntity<List<ClusterLockService.LockInfo>> getClusterLocks() {
+        return ResponseEntity.ok(clusterLockService.getLocks());
+    }
+
+    /**
+     * Compress thread/reply bodies stored before compression was enabled (background job)
+     * POST /api/admin/maintenance/compress-content -> 202 with the job; progress via /api/admin/jobs/{id}
+     */
+    @PostMapping("/maintenance/compress-content")
+    public ResponseEntity<JobDTO> compressContent() {
+        return ResponseEntity.accepted().body(contentCompressionService.submit());
+    }
+
+    private Map<String, Object> purgeResponse(ContentPurgeService.PurgeResult result) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("threadsDeleted", result.threads());
+        response.put("repliesDeleted", result.replies());
+        return response;
+    }
+
+    // Caller's id from the token JwtAuthenticationFilter accepted (every endpoint here requires ADMIN)
+    private Long getCurrentUserId(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        return jwtUtil.extractUserId(authHeader.substring(7));
     }
 }
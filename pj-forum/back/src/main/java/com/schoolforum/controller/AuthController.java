@@ -4,12 +4,15 @@ import com.schoolforum.dto.AuthResponse;
 import com.schoolforum.dto.LoginRequest;
 import com.schoolforum.dto.RegisterRequest;
 import com.schoolforum.dto.UserDTO;
+import com.schoolforum.security.TokenRevocationService;
 import com.schoolforum.service.AuthService;
 import com.schoolforum.util.JwtUtil;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -33,6 +36,9 @@ public class AuthController {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     /**
      * Register new user
      * POST /api/auth/register
@@ -53,8 +59,11 @@ public class AuthController {
      * POST /api/auth/login
      */
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        AuthResponse response = authService.login(request);
+    public ResponseEntity<AuthResponse> login(
+            @Valid @RequestBody LoginRequest request,
+            HttpServletRequest httpRequest) {
+        // Client address as resolved by server.forward-headers-strategy (X-Forwarded-For behind the load balancer)
+        AuthResponse response = authService.login(request, httpRequest.getRemoteAddr());
         
         if (response.isSuccess()) {
             return ResponseEntity.ok(response);
@@ -66,9 +75,10 @@ public class AuthController {
     /**
      * Get current authenticated user
      * GET /api/auth/me
-     * Requires: JWT token in Authorization header
+     * Requires: JWT token in Authorization header (rejected once revoked, see JwtAuthenticationFilter)
      */
     @GetMapping("/me")
+    @PreAuthorize("isAuthenticated()")
     public ResponseEntity<UserDTO> getCurrentUser(HttpServletRequest request) {
         // Extract token from Authorization header
         String authHeader = request.getHeader("Authorization");
@@ -84,10 +94,18 @@ public class AuthController {
     /**
      * Logout user
      * POST /api/auth/logout
-     * Note: With JWT, logout is handled on frontend by removing token
+     * Revokes the presented token server-side; the frontend still drops its copy
      */
     @PostMapping("/logout")
-    public ResponseEntity<AuthResponse> logout() {
+    public ResponseEntity<AuthResponse> logout(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            try {
+                tokenRevocationService.revokeToken(jwtUtil.parseClaims(authHeader.substring(7)));
+            } catch (JwtException e) {
+                // Invalid or expired token: nothing left to revoke
+            }
+        }
         return ResponseEntity.ok(
             new AuthResponse(true, "Logout successful")
         );
@@ -3,6 +3,8 @@ package com.schoolforum.controller;
 import com.schoolforum.dto.CategoryDTO;
 import com.schoolforum.model.Category;
 import com.schoolforum.dao.CategoryDAO;
+import com.schoolforum.service.ContentPurgeService;
+import com.schoolforum.service.EntityCacheService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -24,6 +26,12 @@ public class CategoryController {
     @Autowired
     private CategoryDAO categoryDAO;
 
+    @Autowired
+    private ContentPurgeService contentPurgeService;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
     /**
      * Get all categories
      * GET /api/categories
@@ -63,6 +71,7 @@ public class CategoryController {
         category.setDescription(dto.getDescription());
         
         Category saved = categoryDAO.save(category);
+        entityCacheService.evictCategory(saved.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(convertToDTO(saved));
     }
 
@@ -83,17 +92,21 @@ public class CategoryController {
         category.setDescription(dto.getDescription());
         
         Category updated = categoryDAO.save(category);
+        entityCacheService.evictCategory(id);
         return ResponseEntity.ok(convertToDTO(updated));
     }
 
     /**
-     * Delete category (ADMIN only)
+     * Delete category with all its threads and replies (ADMIN only)
      * DELETE /api/categories/{id}
      */
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deleteCategory(@PathVariable Long id) {
-        categoryDAO.deleteById(id);
+        if (!categoryDAO.existsById(id)) {
+            throw new RuntimeException("Category not found");
+        }
+        contentPurgeService.purgeCategory(id);
         return ResponseEntity.noContent().build();
     }
 
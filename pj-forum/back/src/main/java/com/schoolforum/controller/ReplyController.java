@@ -2,6 +2,8 @@ package com.schoolforum.controller;
 
 import com.schoolforum.dto.CreateReplyRequest;
 import com.schoolforum.dto.ReplyDTO;
+import com.schoolforum.model.Reaction;
+import com.schoolforum.service.ReactionService;
 import com.schoolforum.service.ReplyService;
 import com.schoolforum.util.JwtUtil;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,6 +12,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -26,16 +31,19 @@ public class ReplyController {
     @Autowired
     private ReplyService replyService;
 
+    @Autowired
+    private ReactionService reactionService;
+
     @Autowired
     private JwtUtil jwtUtil;
 
     /**
-     * Get all replies for a thread
+     * Get all replies for a thread (with the caller's own reactions when signed in)
      * GET /api/threads/{threadId}/replies
      */
     @GetMapping("/threads/{threadId}/replies")
-    public ResponseEntity<List<ReplyDTO>> getRepliesByThread(@PathVariable Long threadId) {
-        List<ReplyDTO> replies = replyService.getRepliesByThread(threadId);
+    public ResponseEntity<List<ReplyDTO>> getRepliesByThread(@PathVariable Long threadId, HttpServletRequest httpRequest) {
+        List<ReplyDTO> replies = replyService.getRepliesByThread(threadId, extractViewerId(httpRequest));
         return ResponseEntity.ok(replies);
     }
 
@@ -88,6 +96,34 @@ public class ReplyController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * React to a reply (idempotent)
+     * PUT /api/replies/{id}/reactions/{type}   type: like, love, laugh, insightful, sad
+     */
+    @PutMapping("/replies/{id}/reactions/{type}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Void> react(
+            @PathVariable Long id,
+            @PathVariable String type,
+            HttpServletRequest httpRequest) {
+        reactionService.react(extractUserId(httpRequest), Reaction.TargetType.REPLY, id, Reaction.Type.parse(type));
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Remove a reaction from a reply
+     * DELETE /api/replies/{id}/reactions/{type}
+     */
+    @DeleteMapping("/replies/{id}/reactions/{type}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Void> unreact(
+            @PathVariable Long id,
+            @PathVariable String type,
+            HttpServletRequest httpRequest) {
+        reactionService.unreact(extractUserId(httpRequest), Reaction.TargetType.REPLY, id, Reaction.Type.parse(type));
+        return ResponseEntity.noContent().build();
+    }
+
     // Helper methods to extract user info from JWT
     private Long extractUserId(HttpServletRequest request) {
         String token = request.getHeader("Authorization").substring(7);
@@ -98,4 +134,13 @@ public class ReplyController {
         String token = request.getHeader("Authorization").substring(7);
         return jwtUtil.extractRole(token);
     }
+
+    // Signed-in caller of a public endpoint (token valid and not revoked), null for guests
+    private Long extractViewerId(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return extractUserId(request);
+    }
 }
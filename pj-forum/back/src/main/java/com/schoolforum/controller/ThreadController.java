@@ -1,19 +1,35 @@
 package com.schoolforum.controller;
 
+import com.schoolforum.dto.AttachmentDTO;
 import com.schoolforum.dto.CreateThreadRequest;
 import com.schoolforum.dto.ThreadDTO;
 import com.schoolforum.dto.ThreadListDTO;
+import com.schoolforum.model.Reaction;
+import com.schoolforum.service.AttachmentService;
+import com.schoolforum.service.ReactionService;
 import com.schoolforum.service.ThreadService;
 import com.schoolforum.util.JwtUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -28,6 +44,12 @@ public class ThreadController {
     @Autowired
     private ThreadService threadService;
 
+    @Autowired
+    private AttachmentService attachmentService;
+
+    @Autowired
+    private ReactionService reactionService;
+
     @Autowired
     private JwtUtil jwtUtil;
 
@@ -66,8 +88,8 @@ public class ThreadController {
      * GET /api/threads/{id}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ThreadDTO> getThreadById(@PathVariable Long id) {
-        ThreadDTO thread = threadService.getThreadById(id);
+    public ResponseEntity<ThreadDTO> getThreadById(@PathVariable Long id, HttpServletRequest httpRequest) {
+        ThreadDTO thread = threadService.getThreadById(id, extractViewerId(httpRequest));
         return ResponseEntity.ok(thread);
     }
 
@@ -131,6 +153,88 @@ public class ThreadController {
         threadService.togglePin(id);
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * React to a thread (idempotent)
+     * PUT /api/threads/{id}/reactions/{type}   type: like, love, laugh, insightful, sad
+     */
+    @PutMapping("/{id}/reactions/{type}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Void> react(
+            @PathVariable Long id,
+            @PathVariable String type,
+            HttpServletRequest httpRequest) {
+        reactionService.react(extractUserId(httpRequest), Reaction.TargetType.THREAD, id, Reaction.Type.parse(type));
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Remove a reaction from a thread
+     * DELETE /api/threads/{id}/reactions/{type}
+     */
+    @DeleteMapping("/{id}/reactions/{type}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Void> unreact(
+            @PathVariable Long id,
+            @PathVariable String type,
+            HttpServletRequest httpRequest) {
+        reactionService.unreact(extractUserId(httpRequest), Reaction.TargetType.THREAD, id, Reaction.Type.parse(type));
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Attach a file to a thread (thread author, PDF/PNG/JPEG/GIF)
+     * POST /api/threads/{id}/attachments (multipart, field "file")
+     */
+    @PostMapping("/{id}/attachments")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<AttachmentDTO> uploadAttachment(
+            @PathVariable Long id,
+            @RequestParam("file") MultipartFile file,
+            HttpServletRequest httpRequest) throws IOException {
+        Long userId = extractUserId(httpRequest);
+        return ResponseEntity.status(HttpStatus.CREATED).body(attachmentService.upload(id, userId, file));
+    }
+
+    /**
+     * Download an attachment
+     * GET /api/threads/{threadId}/attachments/{attachmentId}
+     * Streamed from disk; supports ETag revalidation and Range requests
+     */
+    @GetMapping("/{threadId}/attachments/{attachmentId}")
+    public ResponseEntity<Resource> downloadAttachment(
+            @PathVariable Long threadId,
+            @PathVariable Long attachmentId,
+            WebRequest webRequest) {
+        AttachmentService.AttachmentFile file = attachmentService.find(threadId, attachmentId);
+        String etag = "\"" + file.etag() + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noCache())
+            .eTag(etag)
+            .contentType(file.mediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                .filename(file.fileName(), StandardCharsets.UTF_8).build().toString())
+            .header("X-Content-Type-Options", "nosniff")
+            .body(new FileSystemResource(file.path()));
+    }
+
+    /**
+     * Delete an attachment (uploader/moderator/admin)
+     * DELETE /api/threads/{threadId}/attachments/{attachmentId}
+     */
+    @DeleteMapping("/{threadId}/attachments/{attachmentId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Void> deleteAttachment(
+            @PathVariable Long threadId,
+            @PathVariable Long attachmentId,
+            HttpServletRequest httpRequest) {
+        attachmentService.delete(threadId, attachmentId, extractUserId(httpRequest), extractRole(httpRequest));
+        return ResponseEntity.noContent().build();
+    }
     // Helper methods to extract user info from JWT
     private Long extractUserId(HttpServletRequest request) {
         String token = request.getHeader("Authorization").substring(7);
@@ -141,4 +245,13 @@ public class ThreadController {
         String token = request.getHeader("Authorization").substring(7);
         return jwtUtil.extractRole(token);
     }
+
+    // Signed-in caller of a public endpoint (token valid and not revoked), null for guests
+    private Long extractViewerId(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return extractUserId(request);
+    }
 }
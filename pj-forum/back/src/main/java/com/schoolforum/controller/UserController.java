@@ -1,19 +1,45 @@
 package com.schoolforum.controller;
 
+import com.schoolforum.dto.ActivityPageDTO;
+import com.schoolforum.dto.BulkModerationRequest;
+import com.schoolforum.dto.BulkModerationResult;
+import com.schoolforum.dto.DeletionJobDTO;
 import com.schoolforum.dto.UserDTO;
 import com.schoolforum.model.User;
 import com.schoolforum.dao.UserDAO;
+import com.schoolforum.security.LoginAttemptService;
+import com.schoolforum.security.TokenRevocationService;
+import com.schoolforum.exception.ResourceNotFoundException;
+import com.schoolforum.service.AvatarService;
+import com.schoolforum.service.UserActivityService;
+import com.schoolforum.service.EntityCacheService;
+import com.schoolforum.service.UserDeletionService;
+import com.schoolforum.service.UserModerationService;
 import com.schoolforum.util.JwtUtil;
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/users")
 @CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000"})
@@ -25,19 +51,41 @@ public class UserController {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private LoginAttemptService loginAttemptService;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private UserDeletionService userDeletionService;
+
+    @Autowired
+    private UserModerationService userModerationService;
+
+    @Autowired
+    private AvatarService avatarService;
+
+    @Autowired
+    private UserActivityService userActivityService;
+
     private User getCurrentUser(HttpServletRequest request) {
-        try {
-            String authHeader = request.getHeader("Authorization");
-            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-                return null;
-            }
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            return userDAO.findById(userId).orElse(null);
-        } catch (Exception e) {
-            System.err.println("Error extracting user from token: " + e.getMessage());
+        Long userId = getCurrentUserId(request);
+        return userId == null ? null : userDAO.findById(userId).orElse(null);
+    }
+
+    // Caller's id straight from the token, no database read; null unless JwtAuthenticationFilter
+    // accepted the token (valid signature, not expired, not revoked)
+    private Long getCurrentUserId(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
             return null;
         }
+        String authHeader = request.getHeader("Authorization");
+        return jwtUtil.extractUserId(authHeader.substring(7));
     }
 
     @GetMapping("/{id}")
@@ -48,6 +96,26 @@ public class UserController {
         return ResponseEntity.ok(convertToDTO(user));
     }
 
+    /**
+     * A user's threads and replies, newest first
+     * GET /api/users/{id}/activity?limit=20&cursor={nextCursor of the previous page}
+     * Anonymous posts are only listed for the user themselves and for moderators/admins
+     */
+    @GetMapping("/{id}/activity")
+    public ResponseEntity<ActivityPageDTO> getActivity(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            HttpServletRequest request) {
+        if (!userDAO.existsById(id)) {
+            throw new ResourceNotFoundException("User", "id", id);
+        }
+        User viewer = getCurrentUser(request);
+        boolean includeAnonymous = viewer != null
+            && (viewer.getId().equals(id) || viewer.getRole() != User.Role.USER);
+        return ResponseEntity.ok(userActivityService.getActivity(id, cursor, limit, includeAnonymous));
+    }
+
     @GetMapping("/all")
     public ResponseEntity<?> getAllUsers(HttpServletRequest request) {
         try {
@@ -63,17 +131,18 @@ public class UserController {
             
             List<User> users = userDAO.findAll();
             List<UserDTO> userDTOs = users.stream()
-                .map(this::convertToDTO)
+                .map(this::convertToAdminDTO)
                 .collect(Collectors.toList());
                 
             return ResponseEntity.ok(userDTOs);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to list users", e);
             return ResponseEntity.status(500).body(Map.of("message", e.getMessage()));
         }
     }
 
     @PutMapping("/{id}")
+    @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> updateProfile(
             @PathVariable Long id,
             @RequestBody Map<String, String> updates,
@@ -104,6 +173,7 @@ public class UserController {
 
             userToUpdate.setUpdatedAt(LocalDateTime.now());
             userDAO.save(userToUpdate);
+            entityCacheService.evictUser(id);
 
             return ResponseEntity.ok(Map.of("message", "Updated"));
 
@@ -112,7 +182,59 @@ public class UserController {
         }
     }
 
+    /**
+     * Upload a new avatar (PNG, JPEG or GIF)
+     * POST /api/users/{id}/avatar (multipart, field "file") -> { "avatar": "/api/users/avatars/{sha256}" }
+     */
+    @PostMapping("/{id}/avatar")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> uploadAvatar(
+            @PathVariable Long id,
+            @RequestParam("file") MultipartFile file,
+            HttpServletRequest request) throws IOException {
+        User currentUser = getCurrentUser(request);
+        if (currentUser == null) {
+            return ResponseEntity.status(401).body(Map.of("message", "Not authenticated"));
+        }
+        if (!currentUser.getId().equals(id) && currentUser.getRole() != User.Role.ADMIN) {
+            return ResponseEntity.status(403).body(Map.of("message", "No permission"));
+        }
+        if (!userDAO.existsById(id)) {
+            throw new ResourceNotFoundException("User", "id", id);
+        }
+
+        return ResponseEntity.ok(Map.of("avatar", avatarService.upload(id, file)));
+    }
+
+    /**
+     * Avatar image by content hash, optionally as a square thumbnail
+     * GET /api/users/avatars/{hash}?size=64
+     * Streamed from disk; supports ETag revalidation and Range requests
+     */
+    @GetMapping("/avatars/{hash}")
+    public ResponseEntity<Resource> getAvatar(
+            @PathVariable String hash,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) throws IOException {
+        AvatarService.AvatarFile file = avatarService.find(hash, size)
+            .orElseThrow(() -> new ResourceNotFoundException("Avatar", "hash", hash));
+        String etag = "\"" + file.etag() + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        CacheControl cacheControl = file.immutable()
+            ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+            : CacheControl.maxAge(60, TimeUnit.SECONDS).cachePublic();
+        return ResponseEntity.ok()
+            .cacheControl(cacheControl)
+            .eTag(etag)
+            .contentType(file.mediaType())
+            .body(new FileSystemResource(file.path()));
+    }
+
     @PutMapping("/{id}/ban")
+    @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> banUser(@PathVariable Long id, HttpServletRequest request) {
         try {
             User currentUser = getCurrentUser(request);
@@ -131,8 +253,13 @@ public class UserController {
                 return ResponseEntity.badRequest().body(Map.of("message", "Cannot ban admin"));
             }
 
+            // Banning also invalidates every token the user holds
+            LocalDateTime now = LocalDateTime.now();
             user.setStatus(User.UserStatus.BANNED);
+            user.setTokensValidAfter(now);
             userDAO.save(user);
+            entityCacheService.evictUser(id);
+            tokenRevocationService.revoke(List.of(id), now);
 
             return ResponseEntity.ok(Map.of("message", "Banned"));
         } catch (Exception e) {
@@ -141,6 +268,7 @@ public class UserController {
     }
 
     @PutMapping("/{id}/unban")
+    @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> unbanUser(@PathVariable Long id, HttpServletRequest request) {
         try {
             User currentUser = getCurrentUser(request);
@@ -157,6 +285,8 @@ public class UserController {
 
             user.setStatus(User.UserStatus.ACTIVE);
             userDAO.save(user);
+            entityCacheService.evictUser(id);
+            loginAttemptService.clear(user.getEmail());
 
             return ResponseEntity.ok(Map.of("message", "Unbanned"));
         } catch (Exception e) {
@@ -165,6 +295,7 @@ public class UserController {
     }
 
     @PutMapping("/{id}/role")
+    @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> changeUserRole(
             @PathVariable Long id,
             @RequestBody Map<String, String> payload,
@@ -188,8 +319,13 @@ public class UserController {
                 return ResponseEntity.badRequest().body(Map.of("message", "Cannot demote admin"));
             }
 
+            // Role is a token claim: existing tokens must not keep the old role
+            LocalDateTime now = LocalDateTime.now();
             user.setRole(newRole);
+            user.setTokensValidAfter(now);
             userDAO.save(user);
+            entityCacheService.evictUser(id);
+            tokenRevocationService.revoke(List.of(id), now);
 
             return ResponseEntity.ok(Map.of("message", "Role updated"));
         } catch (Exception e) {
@@ -197,7 +333,52 @@ public class UserController {
         }
     }
 
+    /**
+     * Ban many users at once; their tokens are revoked in the same update
+     * POST /api/users/bulk/ban
+     *
+     * Request body: { "userIds": [1, 2] } or { "filter": { "registeredWithinMinutes": 60, "withoutPosts": true } }
+     */
+    @PostMapping("/bulk/ban")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
+    public ResponseEntity<BulkModerationResult> bulkBan(
+            @RequestBody BulkModerationRequest body,
+            HttpServletRequest request) {
+        return ResponseEntity.ok(userModerationService.ban(body, getCurrentUserId(request)));
+    }
+
+    /**
+     * Unban many users at once
+     * POST /api/users/bulk/unban
+     */
+    @PostMapping("/bulk/unban")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
+    public ResponseEntity<BulkModerationResult> bulkUnban(
+            @RequestBody BulkModerationRequest body,
+            HttpServletRequest request) {
+        return ResponseEntity.ok(userModerationService.unban(body, getCurrentUserId(request)));
+    }
+
+    /**
+     * Change the role of many users at once (ADMIN only); their tokens are revoked
+     * POST /api/users/bulk/role
+     *
+     * Request body: { "userIds": [1, 2], "role": "MODERATOR" }
+     */
+    @PostMapping("/bulk/role")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkModerationResult> bulkChangeRole(
+            @RequestBody BulkModerationRequest body,
+            HttpServletRequest request) {
+        return ResponseEntity.ok(userModerationService.changeRole(body, getCurrentUserId(request)));
+    }
+
+    /**
+     * Queue deletion of a user and all their content
+     * DELETE /api/users/{id} -> 202 with the job, poll GET /api/users/deletion-jobs/{jobId}
+     */
     @DeleteMapping("/{id}")
+    @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> deleteUser(@PathVariable Long id, HttpServletRequest request) {
         try {
             User currentUser = getCurrentUser(request);
@@ -216,13 +397,36 @@ public class UserController {
                 return ResponseEntity.badRequest().body(Map.of("message", "Cannot delete admin"));
             }
 
-            userDAO.delete(user);
-            return ResponseEntity.ok(Map.of("message", "Deleted"));
+            DeletionJobDTO job = userDeletionService.submit(id);
+            return ResponseEntity
+                .accepted()
+                .location(URI.create("/api/users/deletion-jobs/" + job.getJobId()))
+                .body(job);
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("message", e.getMessage()));
         }
     }
 
+    /**
+     * Progress of a user deletion job
+     * GET /api/users/deletion-jobs/{jobId}
+     */
+    @GetMapping("/deletion-jobs/{jobId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> getDeletionJob(@PathVariable String jobId, HttpServletRequest request) {
+        User currentUser = getCurrentUser(request);
+        if (currentUser == null) {
+            return ResponseEntity.status(401).body(Map.of("message", "Not authenticated"));
+        }
+        if (currentUser.getRole() != User.Role.ADMIN) {
+            return ResponseEntity.status(403).body(Map.of("message", "Only admin"));
+        }
+
+        return userDeletionService.getJob(jobId)
+            .<ResponseEntity<?>>map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.status(404).body(Map.of("message", "Job not found")));
+    }
+
     private UserDTO convertToDTO(User user) {
         UserDTO dto = new UserDTO();
         dto.setId(user.getId());
@@ -233,6 +437,22 @@ public class UserController {
         dto.setAvatar(user.getAvatar());
         dto.setBio(user.getBio());
         dto.setCreatedAt(user.getCreatedAt());
+        dto.setThreadCount(user.getThreadCount());
+        dto.setReplyCount(user.getReplyCount());
+        dto.setReputation(user.getReputation());
+        return dto;
+    }
+
+    // Admin view: accounts locked out by login throttling show up as SUSPENDED
+    private UserDTO convertToAdminDTO(User user) {
+        UserDTO dto = convertToDTO(user);
+        LocalDateTime lockedUntil = loginAttemptService.getLockedUntil(user.getEmail());
+        if (lockedUntil != null) {
+            dto.setLoginLockedUntil(lockedUntil);
+            if (user.getStatus() == User.UserStatus.ACTIVE) {
+                dto.setStatus(User.UserStatus.SUSPENDED.name());
+            }
+        }
         return dto;
     }
 }
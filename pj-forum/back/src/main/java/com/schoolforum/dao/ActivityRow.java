@@ -0,0 +1,14 @@
+package com.schoolforum.dao;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of one thread or reply in a user's activity timeline
+ * For threads id == threadId.
+ */
+public interface ActivityRow {
+    Long getId();
+    Long getThreadId();
+    String getThreadTitle();
+    LocalDateTime getCreatedAt();
+}
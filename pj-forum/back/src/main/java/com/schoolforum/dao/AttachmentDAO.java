@@ -0,0 +1,49 @@
+package com.schoolforum.dao;
+
+import com.schoolforum.model.Attachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * DAO LAYER - Thread Attachment Data Access Object
+ */
+@Repository
+public interface AttachmentDAO extends JpaRepository<Attachment, Long> {
+
+    interface BlobReferences {
+        String getBlobHash();
+        long getReferences();
+    }
+
+    interface UploaderUsage {
+        Long getUploaderId();
+        long getBytes();
+        long getFiles();
+    }
+
+    List<Attachment> findByThreadIdOrderByIdAsc(Long threadId);
+
+    long countByThreadId(Long threadId);
+
+    Optional<Attachment> findByIdAndThreadId(Long id, Long threadId);
+
+    // ===== Set-based release when threads are purged =====
+
+    @Query("SELECT a.blobHash AS blobHash, COUNT(a) AS references FROM Attachment a " +
+           "WHERE a.thread.id IN :threadIds GROUP BY a.blobHash")
+    List<BlobReferences> countBlobReferences(Collection<Long> threadIds);
+
+    @Query("SELECT a.uploader.id AS uploaderId, SUM(a.size) AS bytes, COUNT(a) AS files FROM Attachment a " +
+           "WHERE a.thread.id IN :threadIds GROUP BY a.uploader.id")
+    List<UploaderUsage> sumUsageByUploader(Collection<Long> threadIds);
+
+    @Modifying
+    @Query("DELETE FROM Attachment a WHERE a.thread.id IN :threadIds")
+    int bulkDeleteByThreadIds(Collection<Long> threadIds);
+}
@@ -0,0 +1,30 @@
+package com.schoolforum.dao;
+
+import com.schoolforum.model.CacheInvalidation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DAO LAYER - Cache Invalidation Data Access Object
+ */
+@Repository
+public interface CacheInvalidationDAO extends JpaRepository<CacheInvalidation, Long> {
+
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM CacheInvalidation c")
+    long maxId();
+
+    // Rows past the cursor plus recent ones (late commits), paged by id
+    @Query("SELECT c FROM CacheInvalidation c WHERE c.id > :after " +
+           "AND (c.id > :cursor OR c.createdAt >= :lookbackSince) ORDER BY c.id")
+    List<CacheInvalidation> findPage(long after, long cursor, LocalDateTime lookbackSince, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM CacheInvalidation c WHERE c.createdAt < :cutoff")
+    int deleteOlderThan(LocalDateTime cutoff);
+}
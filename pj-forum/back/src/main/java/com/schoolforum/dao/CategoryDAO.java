@@ -1,7 +1,12 @@
 package com.schoolforum.dao;
 
 import com.schoolforum.model.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,6 +17,8 @@ import java.util.Optional;
  */
 @Repository
 public interface CategoryDAO extends JpaRepository<Category, Long> {
+
+    String CATEGORY_LIST_REGION = "category-list";
     
     Optional<Category> findBySlug(String slug);
     
@@ -19,5 +26,22 @@ public interface CategoryDAO extends JpaRepository<Category, Long> {
     
     boolean existsBySlug(String slug);
     
+    // Category list is read on every page load and rarely changes: served from the query cache
+    @Override
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CATEGORY_LIST_REGION)
+    })
+    List<Category> findAll();
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CATEGORY_LIST_REGION)
+    })
     List<Category> findAllByOrderByDisplayOrderAsc();
+    
+    // Delete the category row only; its threads must already be gone (see ContentPurgeService)
+    @Modifying
+    @Query("DELETE FROM Category c WHERE c.id = :id")
+    int bulkDeleteById(Long id);
 }
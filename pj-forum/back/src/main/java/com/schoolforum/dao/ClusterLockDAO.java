@@ -0,0 +1,36 @@
+package com.schoolforum.dao;
+
+import com.schoolforum.model.ClusterLockRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * DAO LAYER - Cluster Lock Data Access Object
+ * Every state change is a single conditional UPDATE, so two nodes can never both succeed
+ */
+@Repository
+public interface ClusterLockDAO extends JpaRepository<ClusterLockRow, String> {
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ClusterLockRow l SET l.lockedBy = :nodeId, l.lockedAt = :now, l.lockedUntil = :lockedUntil, " +
+           "l.fencingToken = l.fencingToken + 1 WHERE l.name = :name AND l.lockedUntil <= :now")
+    int acquire(String name, String nodeId, LocalDateTime now, LocalDateTime lockedUntil);
+
+    @Modifying
+    @Query("UPDATE ClusterLockRow l SET l.lockedUntil = :lockedUntil " +
+           "WHERE l.name = :name AND l.lockedBy = :nodeId AND l.fencingToken = :token AND l.lockedUntil > :now")
+    int renew(String name, String nodeId, long token, LocalDateTime now, LocalDateTime lockedUntil);
+
+    @Modifying
+    @Query("UPDATE ClusterLockRow l SET l.lockedUntil = :lockedUntil " +
+           "WHERE l.name = :name AND l.lockedBy = :nodeId AND l.fencingToken = :token")
+    int release(String name, String nodeId, long token, LocalDateTime lockedUntil);
+
+    @Query("SELECT COUNT(l) > 0 FROM ClusterLockRow l " +
+           "WHERE l.name = :name AND l.lockedBy = :nodeId AND l.fencingToken = :token AND l.lockedUntil > :now")
+    boolean isHeld(String name, String nodeId, long token, LocalDateTime now);
+}
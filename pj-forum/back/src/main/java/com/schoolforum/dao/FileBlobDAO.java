@@ -0,0 +1,40 @@
+package com.schoolforum.dao;
+
+import com.schoolforum.model.FileBlob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DAO LAYER - Blob reference counts
+ */
+@Repository
+public interface FileBlobDAO extends JpaRepository<FileBlob, String> {
+
+    @Modifying
+    @Query("UPDATE FileBlob b SET b.refCount = b.refCount + 1, b.orphanedAt = null WHERE b.hash = :hash")
+    int addReference(String hash);
+
+    // orphanedAt is assigned first: MariaDB evaluates SET items left to right with updated values
+    @Modifying
+    @Query("UPDATE FileBlob b SET b.orphanedAt = CASE WHEN b.refCount <= :count THEN :now ELSE b.orphanedAt END, " +
+           "b.refCount = b.refCount - :count WHERE b.hash = :hash")
+    int removeReferences(String hash, long count, LocalDateTime now);
+
+    // Restart the grace period of a blob that is stored again before anything references it
+    @Modifying
+    @Query("UPDATE FileBlob b SET b.orphanedAt = :now WHERE b.hash = :hash AND b.refCount <= 0")
+    int touchUnreferenced(String hash, LocalDateTime now);
+
+    @Query("SELECT b.hash FROM FileBlob b WHERE b.refCount <= 0 AND b.orphanedAt < :cutoff ORDER BY b.orphanedAt")
+    List<String> findCollectable(LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM FileBlob b WHERE b.hash = :hash AND b.refCount <= 0 AND b.orphanedAt < :cutoff")
+    int deleteIfCollectable(String hash, LocalDateTime cutoff);
+}
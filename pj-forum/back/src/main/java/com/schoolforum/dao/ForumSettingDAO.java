@@ -0,0 +1,17 @@
+package com.schoolforum.dao;
+
+import com.schoolforum.model.ForumSetting;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * DAO LAYER - Forum Setting Data Access Object
+ */
+@Repository
+public interface ForumSettingDAO extends JpaRepository<ForumSetting, String> {
+
+    // Changes whenever any setting is inserted or updated (polled by every node)
+    @Query("SELECT COALESCE(SUM(s.version), 0) + COUNT(s) FROM ForumSetting s")
+    long versionStamp();
+}
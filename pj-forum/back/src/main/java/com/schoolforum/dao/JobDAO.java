@@ -0,0 +1,98 @@
+package com.schoolforum.dao;
+
+import com.schoolforum.model.Job;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * DAO LAYER - Job Queue Data Access Object
+ */
+@Repository
+public interface JobDAO extends JpaRepository<Job, Long> {
+
+    interface QueueStatusCount {
+        String getQueue();
+        Job.Status getStatus();
+        long getJobs();
+    }
+
+    /**
+     * Lock the next claimable jobs of a queue: due QUEUED jobs and RUNNING jobs whose lease expired.
+     * SKIP LOCKED lets concurrent workers claim disjoint rows without waiting (MariaDB 10.6+).
+     */
+    @Query(value = "SELECT id FROM jobs WHERE queue = :queue AND " +
+                   "((status = 'QUEUED' AND run_at <= :now) OR (status = 'RUNNING' AND locked_until < :now)) " +
+                   "ORDER BY run_at, id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Long> lockClaimable(String queue, LocalDateTime now, int limit);
+
+    // Jobs holding a live lease, for the cluster-wide concurrency limit
+    @Query("SELECT COUNT(j) FROM Job j WHERE j.queue = :queue AND j.status = 'RUNNING' AND j.lockedUntil >= :now")
+    long countRunning(String queue, LocalDateTime now);
+
+    Optional<Job> findByQueueAndActiveDedupKey(String queue, String activeDedupKey);
+
+    /**
+     * Insert a QUEUED job unless the queue already has an active one with this key: the unique key
+     * on (queue, active_dedup_key) turns the duplicate into a no-op, also against concurrent inserts
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO jobs (queue, payload, dedup_key, status, attempts, max_attempts, run_at, created_at) " +
+                   "VALUES (:queue, :payload, :dedupKey, 'QUEUED', 0, :maxAttempts, :now, :now)",
+           nativeQuery = true)
+    int insertIfNoActive(String queue, String payload, String dedupKey, int maxAttempts, LocalDateTime now);
+
+    @Query("SELECT j FROM Job j WHERE (:queue IS NULL OR j.queue = :queue) AND (:status IS NULL OR j.status = :status)")
+    Page<Job> search(String queue, Job.Status status, Pageable pageable);
+
+    @Query("SELECT j.queue AS queue, j.status AS status, COUNT(j) AS jobs FROM Job j GROUP BY j.queue, j.status")
+    List<QueueStatusCount> countByQueueAndStatus();
+
+    // ===== Updates fenced by (locked_by, attempts): a worker that lost its lease changes nothing =====
+
+    @Modifying
+    @Query("UPDATE Job j SET j.lockedUntil = :lockedUntil " +
+           "WHERE j.id IN :ids AND j.lockedBy = :nodeId AND j.status = 'RUNNING'")
+    int extendLeases(Collection<Long> ids, String nodeId, LocalDateTime lockedUntil);
+
+    @Modifying
+    @Query("UPDATE Job j SET j.progress = :progress " +
+           "WHERE j.id = :id AND j.lockedBy = :nodeId AND j.attempts = :attempt AND j.status = 'RUNNING'")
+    int updateProgress(Long id, String nodeId, int attempt, String progress);
+
+    @Modifying
+    @Query("UPDATE Job j SET j.status = :status, j.runAt = :runAt, j.finishedAt = :finishedAt, " +
+           "j.lastError = :lastError, j.lockedBy = null, j.lockedUntil = null " +
+           "WHERE j.id = :id AND j.lockedBy = :nodeId AND j.attempts = :attempt AND j.status = 'RUNNING'")
+    int release(Long id, String nodeId, int attempt, Job.Status status, LocalDateTime runAt,
+                LocalDateTime finishedAt, String lastError);
+
+    // ===== Admin operations =====
+
+    @Modifying
+    @Query("UPDATE Job j SET j.status = 'QUEUED', j.attempts = 0, j.runAt = :now, j.finishedAt = null, j.lastError = null " +
+           "WHERE j.id = :id AND j.status IN ('FAILED', 'CANCELLED')")
+    int requeue(Long id, LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Job j SET j.status = 'CANCELLED', j.finishedAt = :now WHERE j.id = :id AND j.status = 'QUEUED'")
+    int cancel(Long id, LocalDateTime now);
+
+    // ===== Retention =====
+
+    @Query("SELECT j.id FROM Job j WHERE j.status IN ('COMPLETED', 'FAILED', 'CANCELLED') AND j.finishedAt < :cutoff ORDER BY j.id")
+    List<Long> findFinishedBefore(LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Job j WHERE j.id IN :ids")
+    int bulkDeleteByIds(Collection<Long> ids);
+}
@@ -0,0 +1,41 @@
+package com.schoolforum.dao;
+
+import com.schoolforum.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * DAO LAYER - Outbox Event Data Access Object
+ */
+@Repository
+public interface OutboxEventDAO extends JpaRepository<OutboxEvent, Long> {
+
+    // Oldest due pending events whose thread has no earlier pending event still waiting for its
+    // retry; threads in backoff never fill the batch and hold up the others
+    @Query("SELECT e FROM OutboxEvent e WHERE e.status = 'PENDING' AND e.nextAttemptAt <= :now " +
+           "AND NOT EXISTS (SELECT 1 FROM OutboxEvent w WHERE w.threadId = e.threadId " +
+           "AND w.status = 'PENDING' AND w.id < e.id AND w.nextAttemptAt > :now) " +
+           "ORDER BY e.id")
+    List<OutboxEvent> findDeliverable(LocalDateTime now, Pageable pageable);
+
+    long countByStatus(OutboxEvent.Status status);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = 'DELIVERED', e.deliveredAt = :now, e.lastError = null " +
+           "WHERE e.id IN :ids")
+    int markDelivered(Collection<Long> ids, LocalDateTime now);
+
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.status = 'DELIVERED' AND e.deliveredAt < :cutoff ORDER BY e.id")
+    List<Long> findDeliveredBefore(LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids")
+    int bulkDeleteByIds(Collection<Long> ids);
+}
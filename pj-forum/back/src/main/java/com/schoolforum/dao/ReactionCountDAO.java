@@ -0,0 +1,36 @@
+package com.schoolforum.dao;
+
+import com.schoolforum.model.ReactionCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * DAO LAYER - Reaction Count Data Access Object
+ * Increments are applied by ReactionService with JDBC upserts; this covers reads and deletes
+ */
+@Repository
+public interface ReactionCountDAO extends JpaRepository<ReactionCount, ReactionCount.Key> {
+
+    // Counts for a page of threads and replies in one primary-key range query
+    @Query("SELECT c FROM ReactionCount c WHERE c.total > 0 AND " +
+           "((c.targetType = 'THREAD' AND c.targetId IN :threadIds) OR (c.targetType = 'REPLY' AND c.targetId IN :replyIds))")
+    List<ReactionCount> findByTargets(Collection<Long> threadIds, Collection<Long> replyIds);
+
+    @Modifying
+    @Query("DELETE FROM ReactionCount c WHERE c.targetType = 'THREAD' AND c.targetId IN :threadIds")
+    int bulkDeleteOnThreads(Collection<Long> threadIds);
+
+    @Modifying
+    @Query("DELETE FROM ReactionCount c WHERE c.targetType = 'REPLY' " +
+           "AND c.targetId IN (SELECT p.id FROM Reply p WHERE p.thread.id IN :threadIds)")
+    int bulkDeleteOnRepliesInThreads(Collection<Long> threadIds);
+
+    @Modifying
+    @Query("DELETE FROM ReactionCount c WHERE c.targetType = 'REPLY' AND c.targetId IN :replyIds")
+    int bulkDeleteOnReplies(Collection<Long> replyIds);
+}
@@ -0,0 +1,72 @@
+package com.schoolforum.dao;
+
+import com.schoolforum.model.Reaction;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * DAO LAYER - Reaction Data Access Object
+ */
+@Repository
+public interface ReactionDAO extends JpaRepository<Reaction, Long> {
+
+    interface ReactionKey {
+        Reaction.TargetType getTargetType();
+        Long getTargetId();
+        Reaction.Type getType();
+    }
+
+    interface TargetTotal extends ReactionKey {
+        long getTotal();
+    }
+
+    // 1 when the reaction was added, 0 when it already existed (unique key, no error)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO reactions (user_id, target_type, target_id, type, created_at) " +
+                   "VALUES (:userId, :targetType, :targetId, :type, :now)",
+           nativeQuery = true)
+    int insertIfAbsent(Long userId, String targetType, Long targetId, String type, LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM Reaction r WHERE r.user.id = :userId AND r.targetType = :targetType " +
+           "AND r.targetId = :targetId AND r.type = :type")
+    int deleteReaction(Long userId, Reaction.TargetType targetType, Long targetId, Reaction.Type type);
+
+    // The viewer's reactions on a page of threads and replies, one query (unique key prefix)
+    @Query("SELECT r.targetType AS targetType, r.targetId AS targetId, r.type AS type FROM Reaction r " +
+           "WHERE r.user.id = :userId AND ((r.targetType = 'THREAD' AND r.targetId IN :threadIds) " +
+           "OR (r.targetType = 'REPLY' AND r.targetId IN :replyIds))")
+    List<ReactionKey> findMine(Long userId, Collection<Long> threadIds, Collection<Long> replyIds);
+
+    @Query("SELECT r.id FROM Reaction r WHERE r.user.id = :userId ORDER BY r.id")
+    List<Long> findIdsByUserId(Long userId, Pageable pageable);
+
+    @Query("SELECT r.targetType AS targetType, r.targetId AS targetId, r.type AS type, COUNT(r) AS total " +
+           "FROM Reaction r WHERE r.id IN :ids GROUP BY r.targetType, r.targetId, r.type")
+    List<TargetTotal> countByTargetForIds(Collection<Long> ids);
+
+    // Bulk deletes without loading entities
+    @Modifying
+    @Query("DELETE FROM Reaction r WHERE r.id IN :ids")
+    int bulkDeleteByIds(Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Reaction r WHERE r.targetType = 'THREAD' AND r.targetId IN :threadIds")
+    int bulkDeleteOnThreads(Collection<Long> threadIds);
+
+    @Modifying
+    @Query("DELETE FROM Reaction r WHERE r.targetType = 'REPLY' " +
+           "AND r.targetId IN (SELECT p.id FROM Reply p WHERE p.thread.id IN :threadIds)")
+    int bulkDeleteOnRepliesInThreads(Collection<Long> threadIds);
+
+    @Modifying
+    @Query("DELETE FROM Reaction r WHERE r.targetType = 'REPLY' AND r.targetId IN :replyIds")
+    int bulkDeleteOnReplies(Collection<Long> replyIds);
+}
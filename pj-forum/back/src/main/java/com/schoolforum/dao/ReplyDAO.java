@@ -1,11 +1,17 @@
 package com.schoolforum.dao;
 
 import com.schoolforum.model.Reply;
+import com.schoolforum.render.RenderSource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -16,6 +22,7 @@ import java.util.List;
 public interface ReplyDAO extends JpaRepository<Reply, Long> {
 
     // Find replies by thread with pagination
+    @EntityGraph(Reply.GRAPH_WITH_AUTHOR)
     Page<Reply> findByThreadIdOrderByCreatedAtAsc(Long threadId, Pageable pageable);
 
     // Find replies by author
@@ -24,12 +31,84 @@ public interface ReplyDAO extends JpaRepository<Reply, Long> {
     // Count replies in a thread
     long countByThreadId(Long threadId);
 
+    // Count replies for a page of threads in one query
+    @Query("SELECT r.thread.id AS threadId, COUNT(r) AS replyCount FROM Reply r " +
+           "WHERE r.thread.id IN :threadIds GROUP BY r.thread.id")
+    List<ThreadReplyCount> countByThreadIds(Collection<Long> threadIds);
+
     // Find all replies in a thread (no pagination)
+    @EntityGraph(Reply.GRAPH_WITH_AUTHOR)
     List<Reply> findByThreadIdOrderByCreatedAtAsc(Long threadId);
     
     // Find by thread ID (simple method for service layer)
+    @EntityGraph(Reply.GRAPH_WITH_AUTHOR)
     List<Reply> findByThreadId(Long threadId);
 
     // Delete all replies in a thread
     void deleteByThreadId(Long threadId);
+
+    // Next chunk of reply ids by an author, for chunked purges
+    @Query("SELECT r.id FROM Reply r WHERE r.author.id = :authorId ORDER BY r.id")
+    List<Long> findIdsByAuthorId(Long authorId, Pageable pageable);
+
+    // Bulk deletes without loading entities
+    @Modifying
+    @Query("DELETE FROM Reply r WHERE r.thread.id IN :threadIds")
+    int bulkDeleteByThreadIds(Collection<Long> threadIds);
+
+    @Modifying
+    @Query("DELETE FROM Reply r WHERE r.id IN :ids")
+    int bulkDeleteByIds(Collection<Long> ids);
+
+    // Activity timeline: next replies by an author strictly before (before, beforeId), newest first.
+    // Walks idx_replies_author_created_at; the thread title comes from a primary-key join
+    @Query("SELECT r.id AS id, t.id AS threadId, t.title AS threadTitle, r.createdAt AS createdAt " +
+           "FROM Reply r JOIN r.thread t " +
+           "WHERE r.author.id = :authorId AND (:includeAnonymous = true OR r.isAnonymous = false) " +
+           "AND (r.createdAt < :before OR (r.createdAt = :before AND r.id < :beforeId)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ActivityRow> findActivityBefore(Long authorId, boolean includeAnonymous, LocalDateTime before, Long beforeId, Pageable pageable);
+
+    // ===== user_stats deltas / reconciliation =====
+    // Reputation = replies a user's threads received from other users
+
+    @Query("SELECT r.author.id AS userId, COUNT(r) AS count FROM Reply r WHERE r.thread.id IN :threadIds GROUP BY r.author.id")
+    List<UserCount> countByAuthorInThreads(Collection<Long> threadIds);
+
+    @Query("SELECT t.author.id AS userId, COUNT(r) AS count FROM Reply r JOIN r.thread t " +
+           "WHERE t.id IN :threadIds AND r.author.id <> t.author.id GROUP BY t.author.id")
+    List<UserCount> countReputationInThreads(Collection<Long> threadIds);
+
+    @Query("SELECT r.author.id AS userId, COUNT(r) AS count FROM Reply r WHERE r.id IN :ids GROUP BY r.author.id")
+    List<UserCount> countByAuthorForIds(Collection<Long> ids);
+
+    @Query("SELECT t.author.id AS userId, COUNT(r) AS count FROM Reply r JOIN r.thread t " +
+           "WHERE r.id IN :ids AND r.author.id <> t.author.id GROUP BY t.author.id")
+    List<UserCount> countReputationForIds(Collection<Long> ids);
+
+    @Query("SELECT r.author.id AS userId, COUNT(r) AS count FROM Reply r WHERE r.author.id IN :userIds GROUP BY r.author.id")
+    List<UserCount> countByAuthors(Collection<Long> userIds);
+
+    @Query("SELECT t.author.id AS userId, COUNT(r) AS count FROM Reply r JOIN r.thread t " +
+           "WHERE t.author.id IN :userIds AND r.author.id <> t.author.id GROUP BY t.author.id")
+    List<UserCount> countReputationOf(Collection<Long> userIds);
+
+    // ===== Markdown re-rendering (keyset over id) =====
+
+    @Query("SELECT COUNT(r) > 0 FROM Reply r WHERE r.renderVersion IS NULL OR r.renderVersion < :version")
+    boolean existsRenderedBefore(int version);
+
+    @Query("SELECT r.id AS id, r.content AS content FROM Reply r " +
+           "WHERE r.id > :afterId AND (r.renderVersion IS NULL OR r.renderVersion < :version) ORDER BY r.id")
+    List<RenderSource> findRenderedBefore(int version, Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Reply r SET r.contentHtml = :html, r.renderVersion = :version " +
+           "WHERE r.id = :id AND (r.renderVersion IS NULL OR r.renderVersion < :version)")
+    int updateRendered(Long id, String html, int version);
+
+    interface ThreadReplyCount {
+        Long getThreadId();
+        long getReplyCount();
+    }
 }
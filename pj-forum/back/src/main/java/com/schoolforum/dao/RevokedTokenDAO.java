@@ -0,0 +1,27 @@
+package com.schoolforum.dao;
+
+import com.schoolforum.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DAO LAYER - Revoked Token Data Access Object
+ */
+@Repository
+public interface RevokedTokenDAO extends JpaRepository<RevokedToken, String> {
+
+    // Everything still relevant (startup load)
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    // Revocations written since the last poll (by any instance)
+    List<RevokedToken> findByRevokedAtGreaterThanEqual(LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt < :now")
+    int deleteExpired(LocalDateTime now);
+}
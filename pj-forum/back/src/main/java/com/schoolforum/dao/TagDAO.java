@@ -2,8 +2,10 @@ package com.schoolforum.dao;
 
 import com.schoolforum.model.Tag;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +22,9 @@ public interface TagDAO extends JpaRepository<Tag, Long> {
     List<Tag> findByNameIn(List<String> names);
     
     boolean existsByName(String name);
+    
+    boolean existsBySlug(String slug);
+    
+    @Query("SELECT t.slug FROM Tag t WHERE t.slug IN :slugs")
+    List<String> findSlugsIn(Collection<String> slugs);
 }
@@ -0,0 +1,39 @@
+package com.schoolforum.dao;
+
+import com.schoolforum.model.ThreadBody;
+import com.schoolforum.render.RenderSource;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * DAO LAYER - Thread bodies (primary key = thread id)
+ */
+@Repository
+public interface ThreadBodyDAO extends JpaRepository<ThreadBody, Long> {
+
+    // Must run before the threads themselves are deleted
+    @Modifying
+    @Query("DELETE FROM ThreadBody b WHERE b.threadId IN :threadIds")
+    int bulkDeleteByThreadIds(Collection<Long> threadIds);
+
+    // ===== Markdown re-rendering (keyset over thread id) =====
+
+    @Query("SELECT COUNT(b) > 0 FROM ThreadBody b WHERE b.renderVersion IS NULL OR b.renderVersion < :version")
+    boolean existsRenderedBefore(int version);
+
+    @Query("SELECT b.threadId AS id, b.content AS content FROM ThreadBody b " +
+           "WHERE b.threadId > :afterId AND (b.renderVersion IS NULL OR b.renderVersion < :version) ORDER BY b.threadId")
+    List<RenderSource> findRenderedBefore(int version, Long afterId, Pageable pageable);
+
+    // Bulk update: leaves updatedAt alone, and loses to an edit that already stored newer HTML
+    @Modifying
+    @Query("UPDATE ThreadBody b SET b.contentHtml = :html, b.renderVersion = :version " +
+           "WHERE b.threadId = :id AND (b.renderVersion IS NULL OR b.renderVersion < :version)")
+    int updateRendered(Long id, String html, int version);
+}
@@ -3,20 +3,79 @@ package com.schoolforum.dao;
 import com.schoolforum.model.Thread;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ThreadDAO extends JpaRepository<Thread, Long> {
     
+    // List pages: author and category joined in, tags batch-loaded / served from cache
+    @Override
+    @EntityGraph(Thread.GRAPH_SUMMARY)
+    Page<Thread> findAll(Pageable pageable);
+    
+    @EntityGraph(Thread.GRAPH_SUMMARY)
     Page<Thread> findByCategoryId(Long categoryId, Pageable pageable);
     
-    List<Thread> findByAuthorId(Long authorId);
+    // Detail page: one query for thread, author, category and tags
+    @EntityGraph(Thread.GRAPH_DETAIL)
+    Optional<Thread> findWithDetailsById(Long id);
+    
+    // Row lock that serializes changes hanging off one thread (e.g. the per-thread attachment limit)
+    @Query(value = "SELECT id FROM threads WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(Long id);
     
     List<Thread> findByUpdatedAtBefore(LocalDateTime cutoffDate);
     
     List<Thread> findByCreatedAtBefore(LocalDateTime cutoffDate);
+    
+    // Next chunk of thread ids by an author, for chunked purges
+    @Query("SELECT t.id FROM Thread t WHERE t.author.id = :authorId ORDER BY t.id")
+    List<Long> findIdsByAuthorId(Long authorId, Pageable pageable);
+    
+    @Query("SELECT t.id FROM Thread t WHERE t.category.id = :categoryId ORDER BY t.id")
+    List<Long> findIdsByCategoryId(Long categoryId, Pageable pageable);
+    
+    // Same, minus threads of other admins (an admin may not delete them)
+    @Query("SELECT t.id FROM Thread t WHERE t.category.id = :categoryId " +
+           "AND (t.author.role <> 'ADMIN' OR t.author.id = :adminId) ORDER BY t.id")
+    List<Long> findIdsByCategoryIdDeletableBy(Long categoryId, Long adminId, Pageable pageable);
+    
+    // Threads among ids written by an admin other than adminId
+    @Query("SELECT t.id FROM Thread t WHERE t.id IN :ids AND t.author.role = 'ADMIN' AND t.author.id <> :adminId")
+    List<Long> findIdsByOtherAdmins(Collection<Long> ids, Long adminId);
+    
+    // Unpinned threads created before the cut-off, for the auto-delete job
+    @Query("SELECT t.id FROM Thread t WHERE t.createdAt < :cutoff AND t.isPinned = false ORDER BY t.id")
+    List<Long> findIdsCreatedBefore(LocalDateTime cutoff, Pageable pageable);
+    
+    // Bulk delete; Hibernate clears the thread_tags rows of these threads first.
+    // Replies must be deleted before (see ContentPurgeService)
+    @Modifying
+    @Query("DELETE FROM Thread t WHERE t.id IN :ids")
+    int bulkDeleteByIds(Collection<Long> ids);
+    
+    // Activity timeline: next threads by an author strictly before (before, beforeId), newest first.
+    // Walks idx_threads_author_created_at
+    @Query("SELECT t.id AS id, t.id AS threadId, t.title AS threadTitle, t.createdAt AS createdAt FROM Thread t " +
+           "WHERE t.author.id = :authorId AND (:includeAnonymous = true OR t.isAnonymous = false) " +
+           "AND (t.createdAt < :before OR (t.createdAt = :before AND t.id < :beforeId)) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<ActivityRow> findActivityBefore(Long authorId, boolean includeAnonymous, LocalDateTime before, Long beforeId, Pageable pageable);
+    
+    // ===== user_stats deltas / reconciliation =====
+    
+    @Query("SELECT t.author.id AS userId, COUNT(t) AS count FROM Thread t WHERE t.id IN :ids GROUP BY t.author.id")
+    List<UserCount> countByAuthorForIds(Collection<Long> ids);
+    
+    @Query("SELECT t.author.id AS userId, COUNT(t) AS count FROM Thread t WHERE t.author.id IN :userIds GROUP BY t.author.id")
+    List<UserCount> countByAuthors(Collection<Long> userIds);
 }
@@ -0,0 +1,9 @@
+package com.schoolforum.dao;
+
+/**
+ * Projection of a per-user count (grouped queries feeding user_stats)
+ */
+public interface UserCount {
+    Long getUserId();
+    long getCount();
+}
@@ -1,11 +1,14 @@
 package com.schoolforum.dao;
 
 import com.schoolforum.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,4 +44,63 @@ public interface UserDAO extends JpaRepository<User, Long> {
     // Search users by username or email
     @Query("SELECT u FROM User u WHERE u.username LIKE %:keyword% OR u.email LIKE %:keyword%")
     List<User> searchUsers(String keyword);
+
+    // ===== Bulk moderation =====
+
+    @Query("SELECT u.id AS id, u.email AS email, u.role AS role, u.status AS status FROM User u WHERE u.id IN :ids")
+    List<ModerationTarget> findModerationTargets(Collection<Long> ids);
+
+    @Query("SELECT u.id FROM User u WHERE u.createdAt >= :since ORDER BY u.id")
+    List<Long> findIdsRegisteredSince(LocalDateTime since, Pageable pageable);
+
+    @Query("SELECT u.id FROM User u WHERE u.createdAt >= :since " +
+           "AND NOT EXISTS (SELECT t.id FROM Thread t WHERE t.author = u) " +
+           "AND NOT EXISTS (SELECT r.id FROM Reply r WHERE r.author = u) ORDER BY u.id")
+    List<Long> findIdsRegisteredSinceWithoutPosts(LocalDateTime since, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE User u SET u.avatar = :avatar, u.updatedAt = :now WHERE u.id = :id")
+    int updateAvatar(Long id, String avatar, LocalDateTime now);
+
+    // Ban and revoke tokens in the same statement; admins are never touched
+    @Modifying
+    @Query("UPDATE User u SET u.status = 'BANNED', u.tokensValidAfter = :now, u.updatedAt = :now " +
+           "WHERE u.id IN :ids AND u.role <> 'ADMIN'")
+    int bulkBan(Collection<Long> ids, LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE User u SET u.status = 'ACTIVE', u.updatedAt = :now WHERE u.id IN :ids AND u.role <> 'ADMIN'")
+    int bulkUnban(Collection<Long> ids, LocalDateTime now);
+
+    // Role is a token claim, so existing tokens are revoked as well
+    @Modifying
+    @Query("UPDATE User u SET u.role = :role, u.tokensValidAfter = :now, u.updatedAt = :now " +
+           "WHERE u.id IN :ids AND u.role <> 'ADMIN'")
+    int bulkChangeRole(Collection<Long> ids, User.Role role, LocalDateTime now);
+
+    // Token cut-offs set since the given time (polled by TokenRevocationService)
+    @Query("SELECT u.id AS id, u.tokensValidAfter AS tokensValidAfter FROM User u WHERE u.tokensValidAfter >= :since")
+    List<TokenCutoff> findTokenCutoffsSince(LocalDateTime since);
+
+    // Set status without loading the entity (bulk update, caller evicts the cached user)
+    @Modifying
+    @Query("UPDATE User u SET u.status = :status WHERE u.id = :id")
+    int updateStatus(Long id, User.UserStatus status);
+
+    // Delete the user row only; content must already be gone (see ContentPurgeService)
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id = :id")
+    int bulkDeleteById(Long id);
+
+    interface ModerationTarget {
+        Long getId();
+        String getEmail();
+        User.Role getRole();
+        User.UserStatus getStatus();
+    }
+
+    interface TokenCutoff {
+        Long getId();
+        LocalDateTime getTokensValidAfter();
+    }
 }
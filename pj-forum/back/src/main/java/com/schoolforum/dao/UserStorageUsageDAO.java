@@ -0,0 +1,25 @@
+package com.schoolforum.dao;
+
+import com.schoolforum.model.UserStorageUsage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * DAO LAYER - Per-user attachment usage
+ */
+@Repository
+public interface UserStorageUsageDAO extends JpaRepository<UserStorageUsage, Long> {
+
+    // Check and increment in one statement; 0 rows = quota exceeded
+    @Modifying
+    @Query("UPDATE UserStorageUsage u SET u.bytesUsed = u.bytesUsed + :bytes, u.files = u.files + 1 " +
+           "WHERE u.userId = :userId AND u.bytesUsed + :bytes <= :quota")
+    int reserve(Long userId, long bytes, long quota);
+
+    @Modifying
+    @Query("UPDATE UserStorageUsage u SET u.bytesUsed = u.bytesUsed - :bytes, u.files = u.files - :files " +
+           "WHERE u.userId = :userId")
+    int release(Long userId, long bytes, long files);
+}
@@ -0,0 +1,85 @@
+package com.schoolforum.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * DataSource wrapper that measures how long the current request keeps JDBC connections checked out
+ * (getConnection until close). Only threads inside ConnectionHoldTimeFilter are measured;
+ * background work gets the plain connection.
+ */
+public class ConnectionHoldTimeDataSource extends DelegatingDataSource {
+
+    private static final ThreadLocal<HoldTime> CURRENT = new ThreadLocal<>();
+
+    public ConnectionHoldTimeDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return track(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return track(super.getConnection(username, password));
+    }
+
+    public static void begin(HoldTime holdTime) {
+        CURRENT.set(holdTime);
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    private Connection track(Connection connection) {
+        HoldTime holdTime = CURRENT.get();
+        if (holdTime == null) {
+            return connection;
+        }
+        long acquiredAt = System.nanoTime();
+        boolean[] closed = {false};
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+                if ("close".equals(method.getName()) && !closed[0]) {
+                    closed[0] = true;
+                    holdTime.add(System.nanoTime() - acquiredAt);
+                }
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+            });
+    }
+
+    /**
+     * Per-request total of connection hold time
+     */
+    public static class HoldTime {
+        private long nanos;
+        private int connections;
+
+        void add(long elapsedNanos) {
+            nanos += elapsedNanos;
+            connections++;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public int getConnections() {
+            return connections;
+        }
+    }
+}
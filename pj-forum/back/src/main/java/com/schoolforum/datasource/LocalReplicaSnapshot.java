@@ -0,0 +1,151 @@
+package com.schoolforum.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Stand-in for replication between local H2 databases (replicas-local profile)
+ * Copies the primary's schema into each replica once, then replaces the replica rows with the
+ * primary's every interval, in one transaction per replica. Between refreshes a replica trails
+ * the primary the way a lagging MariaDB replica would.
+ */
+@Slf4j
+public class LocalReplicaSnapshot implements SmartInitializingSingleton {
+
+    private static final String TABLES =
+        "SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES " +
+        "WHERE TABLE_SCHEMA = CURRENT_SCHEMA AND TABLE_TYPE = 'BASE TABLE' ORDER BY TABLE_NAME";
+
+    // Generated columns (e.g. jobs.active_dedup_key) are recomputed by the replica
+    private static final String COPIED_COLUMNS =
+        "SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS " +
+        "WHERE TABLE_SCHEMA = CURRENT_SCHEMA AND TABLE_NAME = ? AND IS_GENERATED = 'NEVER' " +
+        "ORDER BY ORDINAL_POSITION";
+
+    private final DataSource primary;
+    private final List<Target> replicas;
+
+    public LocalReplicaSnapshot(DataSource primary, List<Target> replicas) {
+        this.primary = primary;
+        this.replicas = replicas;
+    }
+
+    /**
+     * First copy once the schema exists; the replicas join the rotation at the first health check after it
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${forum.datasource.routing.local-snapshot-interval-ms}",
+               initialDelayString = "${forum.datasource.routing.local-snapshot-interval-ms}")
+    public synchronized void refresh() {
+        for (Target replica : replicas) {
+            try (Connection source = primary.getConnection();
+                 Connection target = DriverManager.getConnection(replica.url(), replica.username(), replica.password())) {
+                copy(source, target);
+            } catch (SQLException e) {
+                log.warn("Snapshot of the primary into {} failed: {}", replica.url(), e.getMessage());
+            }
+        }
+    }
+
+    private void copy(Connection source, Connection target) throws SQLException {
+        List<String> tables = tableNames(source);
+        if (tableNames(target).isEmpty()) {
+            copySchema(source, target);
+        }
+
+        target.setAutoCommit(false);
+        try {
+            for (String table : tables) {
+                copyRows(source, target, table);
+            }
+            target.commit();
+        } catch (SQLException e) {
+            target.rollback();
+            throw e;
+        }
+    }
+
+    private void copySchema(Connection source, Connection target) throws SQLException {
+        try (Statement read = source.createStatement();
+             ResultSet script = read.executeQuery("SCRIPT NODATA");
+             Statement write = target.createStatement()) {
+            while (script.next()) {
+                write.execute(script.getString(1));
+            }
+            // Rows are replaced table by table, parents not necessarily first
+            write.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        }
+    }
+
+    private void copyRows(Connection source, Connection target, String table) throws SQLException {
+        List<String> columns = copiedColumns(source, table);
+        String columnList = String.join(", ", columns.stream().map(LocalReplicaSnapshot::quote).toList());
+        String placeholders = String.join(", ", Collections.nCopies(columns.size(), "?"));
+
+        try (Statement delete = target.createStatement()) {
+            delete.executeUpdate("DELETE FROM " + quote(table));
+        }
+        try (Statement read = source.createStatement();
+             ResultSet rows = read.executeQuery("SELECT " + columnList + " FROM " + quote(table));
+             PreparedStatement insert = target.prepareStatement(
+                 "INSERT INTO " + quote(table) + " (" + columnList + ") VALUES (" + placeholders + ")")) {
+            while (rows.next()) {
+                for (int i = 1; i <= columns.size(); i++) {
+                    insert.setObject(i, rows.getObject(i));
+                }
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private static List<String> tableNames(Connection connection) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(TABLES)) {
+            while (rs.next()) {
+                tables.add(rs.getString(1));
+            }
+        }
+        return tables;
+    }
+
+    private static List<String> copiedColumns(Connection connection, String table) throws SQLException {
+        List<String> columns = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(COPIED_COLUMNS)) {
+            statement.setString(1, table);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    columns.add(rs.getString(1));
+                }
+            }
+        }
+        return columns;
+    }
+
+    private static String quote(String identifier) {
+        return '"' + identifier + '"';
+    }
+
+    /**
+     * Replica database written by the snapshot (not through the read-only replica pool)
+     */
+    public record Target(String url, String username, String password) {
+    }
+}
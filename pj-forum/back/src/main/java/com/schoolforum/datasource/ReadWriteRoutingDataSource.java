@@ -0,0 +1,87 @@
+package com.schoolforum.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Read/Write Routing DataSource
+ * - @Transactional(readOnly = true) work goes to a healthy replica
+ * - everything else (writes, non-transactional work, DDL) goes to the primary
+ * - a user who committed a write recently keeps reading from the primary
+ *
+ * Must be wrapped in a LazyConnectionDataSourceProxy so the physical connection is only
+ * fetched after the transaction's read-only flag has been set.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final ReplicaPool replicas;
+    private final ReadYourWritesTracker readYourWrites;
+    private final Counter routedToPrimary;
+    private final Counter routedToReplica;
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaPool replicas,
+                                      ReadYourWritesTracker readYourWrites, MeterRegistry registry) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.readYourWrites = readYourWrites;
+        this.routedToPrimary = routedCounter(registry, "primary");
+        this.routedToReplica = routedCounter(registry, "replica");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return determineTarget().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return determineTarget().getConnection(username, password);
+    }
+
+    private DataSource determineTarget() {
+        String user = ReadYourWritesTracker.currentUser();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriteOnCommit(user);
+            routedToPrimary.increment();
+            return primary;
+        }
+
+        if (!readYourWrites.wroteRecently(user)) {
+            ReplicaPool.Replica replica = replicas.next();
+            if (replica != null) {
+                routedToReplica.increment();
+                return replica.getDataSource();
+            }
+        }
+        routedToPrimary.increment();
+        return primary;
+    }
+
+    private void rememberWriteOnCommit(String user) {
+        if (user == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readYourWrites.recordWrite(user);
+            }
+        });
+    }
+
+    private static Counter routedCounter(MeterRegistry registry, String target) {
+        return Counter.builder("forum.datasource.routed")
+            .description("Connections handed out by the read/write router")
+            .tag("target", target)
+            .register(registry);
+    }
+}
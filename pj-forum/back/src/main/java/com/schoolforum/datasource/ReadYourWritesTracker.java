@@ -0,0 +1,51 @@
+package com.schoolforum.datasource;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-your-writes stickiness
+ * Remembers when each authenticated user last committed a write, so that user's
+ * read-only work stays on the primary until replicas have had time to catch up.
+ */
+public class ReadYourWritesTracker {
+
+    private final long windowMs;
+    private final ConcurrentHashMap<String, Long> lastWriteAt = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    public void recordWrite(String user) {
+        if (user != null) {
+            lastWriteAt.put(user, System.currentTimeMillis());
+        }
+    }
+
+    public boolean wroteRecently(String user) {
+        if (user == null) {
+            return false;
+        }
+        Long writtenAt = lastWriteAt.get(user);
+        return writtenAt != null && System.currentTimeMillis() - writtenAt < windowMs;
+    }
+
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - windowMs;
+        lastWriteAt.values().removeIf(writtenAt -> writtenAt < cutoff);
+    }
+
+    /**
+     * Username of the caller, or null for anonymous and background work
+     */
+    public static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
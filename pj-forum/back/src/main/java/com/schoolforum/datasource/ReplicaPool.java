@@ -0,0 +1,110 @@
+package com.schoolforum.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read replica pools with health state
+ * Hands out healthy replicas round-robin; a failed health check takes a replica out of
+ * rotation until it passes again.
+ */
+@Slf4j
+public class ReplicaPool implements AutoCloseable {
+
+    private final List<Replica> replicas;
+    private final int maxReplicationLagSeconds;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    /**
+     * @param inRotationAtStart false keeps replicas out of rotation until the first health check
+     */
+    public ReplicaPool(List<HikariDataSource> dataSources, int maxReplicationLagSeconds, boolean inRotationAtStart) {
+        this.replicas = dataSources.stream().map(dataSource -> new Replica(dataSource, inRotationAtStart)).toList();
+        this.maxReplicationLagSeconds = maxReplicationLagSeconds;
+    }
+
+    /**
+     * Next healthy replica, or null when none is available
+     */
+    public Replica next() {
+        int size = replicas.size();
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get(Math.floorMod(cursor.getAndIncrement(), size));
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Ping every replica and, if configured, check how far behind the primary it is
+     */
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(2) && withinLag(connection);
+            } catch (Exception e) {
+                log.debug("Replica {} health check failed: {}", replica.getName(), e.getMessage());
+                healthy = false;
+            }
+            if (healthy != replica.healthy) {
+                log.warn("Replica {} is now {}", replica.getName(), healthy ? "UP" : "DOWN");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    private boolean withinLag(Connection connection) throws Exception {
+        if (maxReplicationLagSeconds <= 0) {
+            return true;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SHOW SLAVE STATUS")) {
+            if (!rs.next()) {
+                return true; // Not a replica (e.g. local stand-in database)
+            }
+            long lag = rs.getLong("Seconds_Behind_Master");
+            return !rs.wasNull() && lag <= maxReplicationLagSeconds;
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    public static final class Replica {
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy;
+
+        Replica(HikariDataSource dataSource, boolean healthy) {
+            this.dataSource = dataSource;
+            this.healthy = healthy;
+        }
+
+        public String getName() {
+            return dataSource.getPoolName();
+        }
+
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+    }
+}
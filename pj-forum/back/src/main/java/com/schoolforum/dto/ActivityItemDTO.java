@@ -0,0 +1,21 @@
+package com.schoolforum.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of a user's activity timeline (GET /api/users/{id}/activity)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityItemDTO {
+    private String type; // THREAD or REPLY
+    private Long id;
+    private Long threadId;
+    private String threadTitle;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,18 @@
+package com.schoolforum.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A page of activity, newest first; pass nextCursor back as ?cursor= (null on the last page)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityPageDTO {
+    private List<ActivityItemDTO> items;
+    private String nextCursor;
+}
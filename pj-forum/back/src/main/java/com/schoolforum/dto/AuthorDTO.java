@@ -11,4 +11,7 @@ public class AuthorDTO {
     private String username;
     private String role;
     private String avatar;
+    private int threadCount;
+    private int replyCount;
+    private int reputation;
 }
@@ -0,0 +1,24 @@
+package com.schoolforum.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Targets of a bulk moderation action: explicit ids, or a filter
+ */
+@Data
+@NoArgsConstructor
+public class BulkModerationRequest {
+    private List<Long> userIds;
+    private UserFilter filter;
+    private String role; // role change only
+
+    @Data
+    @NoArgsConstructor
+    public static class UserFilter {
+        private Integer registeredWithinMinutes;
+        private boolean withoutPosts;
+    }
+}
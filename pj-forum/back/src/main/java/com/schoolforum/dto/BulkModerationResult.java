@@ -0,0 +1,25 @@
+package com.schoolforum.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkModerationResult {
+    private String action;
+    private int requested;
+    private int updated;
+    private List<Item> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private Long userId;
+        private String result; // UPDATED, UNCHANGED, SKIPPED_ADMIN, SKIPPED_SELF, NOT_FOUND
+    }
+}
@@ -0,0 +1,16 @@
+package com.schoolforum.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Threads to delete in bulk: explicit ids, or every thread of a category
+ */
+@Data
+@NoArgsConstructor
+public class BulkThreadDeleteRequest {
+    private List<Long> threadIds;
+    private Long categoryId;
+}
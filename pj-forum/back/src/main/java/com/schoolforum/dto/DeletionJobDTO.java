@@ -0,0 +1,22 @@
+package com.schoolforum.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeletionJobDTO {
+    private String jobId;
+    private Long userId;
+    private String status; // QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+    private int threadsDeleted;
+    private int repliesDeleted;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
@@ -0,0 +1,28 @@
+package com.schoolforum.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobDTO {
+    private Long id;
+    private String queue;
+    private String status; // QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+    private int attempts;
+    private int maxAttempts;
+    private Map<String, Object> payload;
+    private Map<String, Object> progress;
+    private String lockedBy;
+    private LocalDateTime lockedUntil;
+    private LocalDateTime runAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String lastError;
+}
@@ -3,6 +3,7 @@ package com.schoolforum.dto;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
+import lombok.ToString;
 
 /**
  * DTO for Login Request
@@ -14,6 +15,7 @@ public class LoginRequest {
     @Email(message = "Invalid email format")
     private String email;
     
+    @ToString.Exclude // Never let request logging print the plaintext password
     @NotBlank(message = "Password is required")
     private String password;
 }
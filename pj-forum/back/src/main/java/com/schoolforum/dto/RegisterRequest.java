@@ -4,6 +4,7 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
+import lombok.ToString;
 
 /**
  * DTO for Register Request
@@ -19,6 +20,7 @@ public class RegisterRequest {
     @Email(message = "Invalid email format")
     private String email;
     
+    @ToString.Exclude // Never let request logging print the plaintext password
     @NotBlank(message = "Password is required")
     @Size(min = 6, message = "Password must be at least 6 characters")
     private String password;
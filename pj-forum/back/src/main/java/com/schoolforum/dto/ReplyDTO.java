@@ -3,6 +3,8 @@ package com.schoolforum.dto;
 import lombok.Data;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 /**
  * DTO for Reply Response
@@ -11,8 +13,11 @@ import java.time.LocalDateTime;
 public class ReplyDTO {
     private Long id;
     private String content;
+    private String contentHtml; // sanitized HTML rendered from content (Markdown)
     private Boolean isAnonymous;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private AuthorDTO author;
+    private Map<String, Long> reactions; // count per reaction type (types without reactions are absent)
+    private List<String> myReactions; // the signed-in viewer's reaction types
 }
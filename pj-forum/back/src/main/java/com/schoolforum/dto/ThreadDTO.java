@@ -4,6 +4,7 @@ import lombok.Data;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * DTO for Thread Response
@@ -13,6 +14,7 @@ public class ThreadDTO {
     private Long id;
     private String title;
     private String content;
+    private String contentHtml; // sanitized HTML rendered from content (Markdown)
     private Boolean isAnonymous;
     private Boolean isPinned;
     private Integer replyCount;
@@ -25,6 +27,9 @@ public class ThreadDTO {
     private String categoryName; // For simple category name
     private List<TagDTO> tags;
     private List<ReplyDTO> replies;
+    private List<AttachmentDTO> attachments;
+    private Map<String, Long> reactions; // count per reaction type (types without reactions are absent)
+    private List<String> myReactions; // the signed-in viewer's reaction types
     
     // Helper methods for compatibility
     public void setPinned(boolean pinned) {
@@ -4,6 +4,7 @@ import lombok.Data;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * DTO for Thread List (lighter version)
@@ -21,6 +22,7 @@ public class ThreadListDTO {
     private CategoryDTO category;
     private String categoryName; // For simple category name
     private List<String> tags; // Simple tag names
+    private Map<String, Long> reactions; // count per reaction type (types without reactions are absent)
     
     // Helper methods for compatibility
     public void setPinned(boolean pinned) {
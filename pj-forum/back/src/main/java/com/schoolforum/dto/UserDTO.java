@@ -16,6 +16,10 @@ public class UserDTO {
     private String role;
     private String status;
     private String avatar;
+    private int threadCount;
+    private int replyCount;
+    private int reputation;
     private String bio;
     private LocalDateTime createdAt;
+    private LocalDateTime loginLockedUntil; // Set while login is throttled (reported as SUSPENDED)
 }
@@ -0,0 +1,16 @@
+package com.schoolforum.events;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Event as handed to handlers; id is unique per event and can be used to drop duplicates
+ */
+public record DomainEvent(
+    Long id,
+    DomainEventType type,
+    Long threadId,
+    Map<String, Object> payload,
+    LocalDateTime createdAt
+) {
+}
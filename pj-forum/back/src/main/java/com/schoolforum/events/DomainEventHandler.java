@@ -0,0 +1,19 @@
+package com.schoolforum.events;
+
+/**
+ * Consumer of outbox events (notifications, search indexing, counters, ...)
+ * Any Spring bean implementing this is registered with the relay. Delivery is at-least-once
+ * and in order per thread: an event is retried until every handler accepts it, so handlers
+ * must be idempotent (DomainEvent.id identifies redeliveries).
+ */
+public interface DomainEventHandler {
+
+    default boolean supports(DomainEventType type) {
+        return true;
+    }
+
+    /**
+     * Throw to have the event retried later
+     */
+    void handle(DomainEvent event);
+}
@@ -0,0 +1,10 @@
+package com.schoolforum.events;
+
+/**
+ * Domain events recorded in the outbox
+ */
+public enum DomainEventType {
+    THREAD_CREATED,
+    REPLY_CREATED,
+    THREAD_DELETED
+}
@@ -0,0 +1,193 @@
+package com.schoolforum.events;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schoolforum.config.OutboxConfig;
+import com.schoolforum.dao.OutboxEventDAO;
+import com.schoolforum.lock.ClusterLock;
+import com.schoolforum.model.OutboxEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Outbox Relay
+ * Reads pending outbox events in id order and hands them to every DomainEventHandler:
+ * - at-least-once: an event is marked DELIVERED only after all handlers accepted it
+ * - per-thread order: events of a thread waiting for its retry are not read at all, along with
+ *   the later events of that thread; once an event fails, later events of its thread are held
+ *   back in the same pass. Other threads are never held up by them.
+ * - failures back off exponentially; after max-attempts the event is marked DEAD and stops
+ *   blocking its thread
+ * - delivered rows are deleted in bulk after retention-hours
+ * One relay runs at a time across the cluster (@ClusterLock), which keeps the per-thread order.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    @Autowired
+    private OutboxEventDAO outboxEventDAO;
+
+    @Autowired(required = false)
+    private List<DomainEventHandler> handlers = List.of();
+
+    @Autowired
+    private OutboxConfig config;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Counter delivered;
+    private final Counter failed;
+    private final Counter dead;
+
+    public OutboxRelay(MeterRegistry registry) {
+        this.delivered = eventCounter(registry, "delivered");
+        this.failed = eventCounter(registry, "failed");
+        this.dead = eventCounter(registry, "dead");
+        Gauge.builder("forum.outbox.pending", this, relay -> relay.outboxEventDAO.countByStatus(OutboxEvent.Status.PENDING))
+            .description("Outbox events waiting for delivery")
+            .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${forum.outbox.poll-interval-ms:1000}")
+    @ClusterLock(name = "outbox-relay", lockAtMostFor = "PT1M")
+    public void relay() {
+        if (!config.isRelayEnabled()) {
+            return;
+        }
+        int processed;
+        do {
+            processed = relayBatch();
+        } while (processed == config.getBatchSize());
+    }
+
+    /**
+     * One pass over the oldest deliverable events; returns how many were read
+     */
+    int relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = outboxEventDAO.findDeliverable(now, PageRequest.of(0, config.getBatchSize()));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Set<Long> blockedThreads = new HashSet<>();
+        List<Long> deliveredIds = new ArrayList<>();
+        List<OutboxEvent> failures = new ArrayList<>();
+
+        for (OutboxEvent event : batch) {
+            if (blockedThreads.contains(event.getThreadId())) {
+                continue;
+            }
+            try {
+                dispatch(event);
+                deliveredIds.add(event.getId());
+            } catch (RuntimeException e) {
+                recordFailure(event, e, now);
+                failures.add(event);
+                if (event.getStatus() == OutboxEvent.Status.PENDING) {
+                    blockedThreads.add(event.getThreadId());
+                }
+            }
+        }
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            if (!deliveredIds.isEmpty()) {
+                outboxEventDAO.markDelivered(deliveredIds, now);
+            }
+            outboxEventDAO.saveAll(failures);
+        });
+        delivered.increment(deliveredIds.size());
+
+        // The first event of each thread in the batch is always attempted; failed ones now wait
+        // for their retry and drop out of the next batch together with their thread
+        return batch.size();
+    }
+
+    /**
+     * Delete delivered events past the retention window, in id chunks
+     */
+    @Scheduled(fixedDelayString = "${forum.outbox.prune-interval-ms:600000}")
+    @ClusterLock(name = "outbox-prune", lockAtMostFor = "PT10M", lockAtLeastFor = "PT1M")
+    public void prune() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(config.getRetentionHours());
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        int deleted;
+        do {
+            deleted = tx.execute(status -> {
+                List<Long> ids = outboxEventDAO.findDeliveredBefore(cutoff, PageRequest.of(0, 1000));
+                return ids.isEmpty() ? 0 : outboxEventDAO.bulkDeleteByIds(ids);
+            });
+        } while (deleted == 1000);
+    }
+
+    // ===== Helpers =====
+
+    private void dispatch(OutboxEvent event) {
+        DomainEventType type = DomainEventType.valueOf(event.getEventType());
+        DomainEvent domainEvent = new DomainEvent(event.getId(), type, event.getThreadId(),
+            parsePayload(event.getPayload()), event.getCreatedAt());
+        for (DomainEventHandler handler : handlers) {
+            if (handler.supports(type)) {
+                handler.handle(domainEvent);
+            }
+        }
+    }
+
+    private void recordFailure(OutboxEvent event, RuntimeException e, LocalDateTime now) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setLastError(truncate(e.toString()));
+        if (attempts >= config.getMaxAttempts()) {
+            event.setStatus(OutboxEvent.Status.DEAD);
+            dead.increment();
+            log.error("Outbox event {} ({}) gave up after {} attempts", event.getId(), event.getEventType(), attempts, e);
+        } else {
+            long backoff = Math.min(config.getBaseBackoffSeconds() << Math.min(attempts - 1, 20), config.getMaxBackoffSeconds());
+            event.setNextAttemptAt(now.plusSeconds(backoff));
+            failed.increment();
+            log.warn("Outbox event {} ({}) failed, retry {} in {}s: {}", event.getId(), event.getEventType(), attempts, backoff, e.toString());
+        }
+    }
+
+    private Map<String, Object> parsePayload(String payload) {
+        try {
+            return objectMapper.readValue(payload, PAYLOAD_TYPE);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable outbox payload", e);
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+
+    private static Counter eventCounter(MeterRegistry registry, String result) {
+        return Counter.builder("forum.outbox.events")
+            .description("Outbox events processed by outcome")
+            .tag("result", result)
+            .register(registry);
+    }
+}
@@ -0,0 +1,50 @@
+package com.schoolforum.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schoolforum.dao.OutboxEventDAO;
+import com.schoolforum.model.OutboxEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * SERVICE LAYER - Transactional outbox
+ * Records a domain event as part of the caller's transaction, so the event exists exactly
+ * when the change it describes was committed.
+ */
+@Service
+public class OutboxService {
+
+    @Autowired
+    private OutboxEventDAO outboxEventDAO;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Must run inside the transaction that makes the change
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(DomainEventType type, Long threadId, Map<String, Object> payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setEventType(type.name());
+        event.setThreadId(threadId);
+        event.setPayload(toJson(payload));
+        event.setCreatedAt(LocalDateTime.now());
+        event.setNextAttemptAt(event.getCreatedAt());
+        outboxEventDAO.save(event);
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Event payload is not serializable", e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.schoolforum.exception;
+
+public class SqlStatementBudgetExceededException extends RuntimeException {
+    public SqlStatementBudgetExceededException(String endpoint, int count, int budget) {
+        super(String.format("SQL statement budget exceeded for %s: %d statements (budget %d)", endpoint, count, budget));
+    }
+}
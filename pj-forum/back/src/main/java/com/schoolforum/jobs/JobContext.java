@@ -0,0 +1,57 @@
+package com.schoolforum.jobs;
+
+import com.schoolforum.model.Job;
+
+import java.util.Map;
+
+/**
+ * What a JobHandler sees of the job it runs
+ */
+public class JobContext {
+
+    private final Job job;
+    private final Map<String, Object> payload;
+    private final Map<String, Object> progress;
+    private final JobQueueService jobQueueService;
+
+    JobContext(Job job, Map<String, Object> payload, Map<String, Object> progress, JobQueueService jobQueueService) {
+        this.job = job;
+        this.payload = payload;
+        this.progress = progress;
+        this.jobQueueService = jobQueueService;
+    }
+
+    public Long getJobId() {
+        return job.getId();
+    }
+
+    /**
+     * 1 on the first run, higher on retries and after a lost lease
+     */
+    public int getAttempt() {
+        return job.getAttempts();
+    }
+
+    public Map<String, Object> getPayload() {
+        return payload;
+    }
+
+    public Long getLong(String key) {
+        Object value = payload.get(key);
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    /**
+     * Progress saved by an earlier attempt (empty on the first run)
+     */
+    public Map<String, Object> getProgress() {
+        return progress;
+    }
+
+    /**
+     * Store progress on the job row; commits on its own and is ignored once the lease is lost
+     */
+    public void saveProgress(Map<String, Object> progress) {
+        jobQueueService.saveProgress(job, progress);
+    }
+}
@@ -0,0 +1,17 @@
+package com.schoolforum.jobs;
+
+/**
+ * Runs the jobs of one queue
+ * Any Spring bean implementing this is picked up by JobWorker. A job that throws is retried
+ * with backoff, and a job whose node dies is claimed again after its visibility timeout, so
+ * execute() must be safe to run more than once for the same job.
+ */
+public interface JobHandler {
+
+    /**
+     * Queue name, e.g. "user-deletion"
+     */
+    String queue();
+
+    void execute(JobContext context) throws Exception;
+}
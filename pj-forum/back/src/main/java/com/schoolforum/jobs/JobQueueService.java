@@ -0,0 +1,268 @@
+package com.schoolforum.jobs;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schoolforum.config.JobQueueConfig;
+import com.schoolforum.dao.JobDAO;
+import com.schoolforum.dto.JobDTO;
+import com.schoolforum.lock.ClusterLock;
+import com.schoolforum.model.Job;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * SERVICE LAYER - Database-backed job queue
+ * Jobs live in the jobs table, so they survive restarts and any node can run them.
+ * Enqueue joins the caller's transaction: the job only exists if the caller commits.
+ */
+@Slf4j
+@Service
+public class JobQueueService {
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    @Autowired
+    private JobDAO jobDAO;
+
+    @Autowired
+    private JobQueueConfig config;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Add a job; with a dedupKey an already queued or running job for the same key is returned instead
+     */
+    @Transactional
+    public Job enqueue(String queue, Map<String, Object> payload, String dedupKey) {
+        if (dedupKey != null) {
+            return enqueueDeduplicated(queue, toJson(payload), dedupKey);
+        }
+        Job job = new Job();
+        job.setQueue(queue);
+        job.setPayload(toJson(payload));
+        job.setDedupKey(dedupKey);
+        job.setMaxAttempts(config.maxAttemptsOf(queue));
+        job.setCreatedAt(LocalDateTime.now());
+        job.setRunAt(job.getCreatedAt());
+        return jobDAO.save(job);
+    }
+
+    private Job enqueueDeduplicated(String queue, String payload, String dedupKey) {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            Optional<Job> active = jobDAO.findByQueueAndActiveDedupKey(queue, dedupKey);
+            if (active.isPresent()) {
+                return active.get();
+            }
+            // A no-op when a concurrent enqueue got there first; the lookup above then finds its job,
+            // unless that job already finished, in which case the next round inserts a new one
+            jobDAO.insertIfNoActive(queue, payload, dedupKey, config.maxAttemptsOf(queue), LocalDateTime.now());
+        }
+        return jobDAO.findByQueueAndActiveDedupKey(queue, dedupKey)
+            .orElseThrow(() -> new IllegalStateException("Could not enqueue " + queue + " job " + dedupKey));
+    }
+
+    /**
+     * Claim up to limit jobs of a queue for this node.
+     * Rows locked by another claimer are skipped, not waited for. A RUNNING job whose lease expired
+     * counts as a failed attempt: it is claimed again or, with no attempts left, marked FAILED.
+     */
+    @Transactional
+    public List<Job> claim(String queue, int limit, String nodeId) {
+        LocalDateTime now = LocalDateTime.now();
+        int clusterLimit = config.clusterConcurrencyOf(queue);
+        if (clusterLimit > 0) {
+            limit = (int) Math.min(limit, clusterLimit - jobDAO.countRunning(queue, now));
+        }
+        if (limit <= 0) {
+            return List.of();
+        }
+
+        List<Long> ids = jobDAO.lockClaimable(queue, now, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        List<Job> jobs = new ArrayList<>(jobDAO.findAllById(ids));
+        jobs.sort(Comparator.comparing(Job::getRunAt).thenComparing(Job::getId));
+        List<Job> claimed = new ArrayList<>();
+        for (Job job : jobs) {
+            if (job.getStatus() == Job.Status.RUNNING && job.getAttempts() >= job.getMaxAttempts()) {
+                log.warn("Job {} ({}) lost its lease on {} after {} attempts, giving up",
+                    job.getId(), queue, job.getLockedBy(), job.getAttempts());
+                job.setStatus(Job.Status.FAILED);
+                job.setFinishedAt(now);
+                job.setLastError("Visibility timeout expired on " + job.getLockedBy());
+                job.setLockedBy(null);
+                job.setLockedUntil(null);
+                continue;
+            }
+            job.setStatus(Job.Status.RUNNING);
+            job.setAttempts(job.getAttempts() + 1);
+            job.setLockedBy(nodeId);
+            job.setLockedUntil(now.plusSeconds(config.visibilityTimeoutOf(queue)));
+            job.setStartedAt(now);
+            claimed.add(job);
+        }
+        return claimed;
+    }
+
+    @Transactional
+    public void complete(Job job) {
+        int updated = jobDAO.release(job.getId(), job.getLockedBy(), job.getAttempts(),
+            Job.Status.COMPLETED, job.getRunAt(), LocalDateTime.now(), null);
+        if (updated == 0) {
+            log.warn("Job {} ({}) finished after its lease was lost; result discarded", job.getId(), job.getQueue());
+        }
+    }
+
+    /**
+     * Requeue with exponential backoff, or mark FAILED when no attempts are left
+     */
+    @Transactional
+    public void fail(Job job, Exception error) {
+        LocalDateTime now = LocalDateTime.now();
+        String message = truncate(error.toString());
+        boolean retry = job.getAttempts() < job.getMaxAttempts();
+        long backoff = Math.min(config.getBaseBackoffSeconds() << Math.min(job.getAttempts() - 1, 20), config.getMaxBackoffSeconds());
+        int updated = retry
+            ? jobDAO.release(job.getId(), job.getLockedBy(), job.getAttempts(), Job.Status.QUEUED, now.plusSeconds(backoff), null, message)
+            : jobDAO.release(job.getId(), job.getLockedBy(), job.getAttempts(), Job.Status.FAILED, job.getRunAt(), now, message);
+        if (updated == 0) {
+            log.warn("Job {} ({}) failed after its lease was lost: {}", job.getId(), job.getQueue(), message);
+        } else if (retry) {
+            log.warn("Job {} ({}) attempt {} failed, retry in {}s: {}", job.getId(), job.getQueue(), job.getAttempts(), backoff, message);
+        } else {
+            log.error("Job {} ({}) failed after {} attempts", job.getId(), job.getQueue(), job.getAttempts(), error);
+        }
+    }
+
+    @Transactional
+    public int extendLeases(String queue, Collection<Long> jobIds, String nodeId) {
+        return jobDAO.extendLeases(jobIds, nodeId, LocalDateTime.now().plusSeconds(config.visibilityTimeoutOf(queue)));
+    }
+
+    void saveProgress(Job job, Map<String, Object> progress) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        tx.executeWithoutResult(status ->
+            jobDAO.updateProgress(job.getId(), job.getLockedBy(), job.getAttempts(), toJson(progress)));
+    }
+
+    JobContext contextFor(Job job) {
+        return new JobContext(job, fromJson(job.getPayload()), fromJson(job.getProgress()), this);
+    }
+
+    // ===== Admin =====
+
+    @Transactional(readOnly = true)
+    public Optional<JobDTO> getJob(Long id) {
+        return jobDAO.findById(id).map(this::toDTO);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<JobDTO> search(String queue, Job.Status status, Pageable pageable) {
+        return jobDAO.search(queue, status, pageable).map(this::toDTO);
+    }
+
+    /**
+     * Job counts per queue and status
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Map<String, Long>> getStats() {
+        Map<String, Map<String, Long>> stats = new TreeMap<>();
+        for (JobDAO.QueueStatusCount count : jobDAO.countByQueueAndStatus()) {
+            stats.computeIfAbsent(count.getQueue(), queue -> new LinkedHashMap<>())
+                .put(count.getStatus().name(), count.getJobs());
+        }
+        return stats;
+    }
+
+    /**
+     * Run a FAILED or CANCELLED job again with a fresh attempt budget
+     */
+    @Transactional
+    public boolean retry(Long id) {
+        return jobDAO.requeue(id, LocalDateTime.now()) > 0;
+    }
+
+    /**
+     * Cancel a job that has not started yet
+     */
+    @Transactional
+    public boolean cancel(Long id) {
+        return jobDAO.cancel(id, LocalDateTime.now()) > 0;
+    }
+
+    /**
+     * Delete finished jobs past the retention window, in id chunks
+     */
+    @Scheduled(fixedDelayString = "${forum.jobs.prune-interval-ms:600000}")
+    @ClusterLock(name = "job-prune", lockAtMostFor = "PT10M", lockAtLeastFor = "PT1M")
+    public void prune() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(config.getRetentionHours());
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        int deleted;
+        do {
+            deleted = tx.execute(status -> {
+                List<Long> ids = jobDAO.findFinishedBefore(cutoff, PageRequest.of(0, 1000));
+                return ids.isEmpty() ? 0 : jobDAO.bulkDeleteByIds(ids);
+            });
+        } while (deleted == 1000);
+    }
+
+    public JobDTO toDTO(Job job) {
+        return new JobDTO(job.getId(), job.getQueue(), job.getStatus().name(), job.getAttempts(), job.getMaxAttempts(),
+            fromJson(job.getPayload()), fromJson(job.getProgress()), job.getLockedBy(), job.getLockedUntil(),
+            job.getRunAt(), job.getCreatedAt(), job.getStartedAt(), job.getFinishedAt(), job.getLastError());
+    }
+
+    // ===== Helpers =====
+
+    private String toJson(Map<String, Object> value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Job data is not serializable", e);
+        }
+    }
+
+    private Map<String, Object> fromJson(String json) {
+        if (json == null || json.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(json, MAP_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable job data", e);
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+}
@@ -0,0 +1,141 @@
+package com.schoolforum.jobs;
+
+import com.schoolforum.config.AsyncConfig;
+import com.schoolforum.config.JobQueueConfig;
+import com.schoolforum.model.Job;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+/**
+ * Job Worker
+ * Every node polls the queues it has a JobHandler for and claims only as many jobs as it has
+ * free slots (per queue and in total), so work spreads over the nodes instead of running on each.
+ * Running jobs renew their lease on a heartbeat; jobs of a node that dies are picked up elsewhere
+ * once their visibility timeout passes.
+ */
+@Slf4j
+@Component
+public class JobWorker {
+
+    @Autowired
+    private JobQueueService jobQueueService;
+
+    @Autowired(required = false)
+    private List<JobHandler> handlerBeans = List.of();
+
+    @Autowired
+    private JobQueueConfig config;
+
+    @Autowired
+    @Qualifier(AsyncConfig.JOB_EXECUTOR)
+    private TaskExecutor jobExecutor;
+
+    private final Map<String, JobHandler> handlers = new HashMap<>();
+
+    private final Map<String, Semaphore> queueSlots = new HashMap<>();
+
+    private Semaphore workerSlots;
+
+    // Jobs running on this node, for the lease heartbeat
+    private final Map<Long, Job> running = new ConcurrentHashMap<>();
+
+    private String nodeId;
+
+    @PostConstruct
+    void init() {
+        for (JobHandler handler : handlerBeans) {
+            if (handlers.putIfAbsent(handler.queue(), handler) != null) {
+                throw new IllegalStateException("Two job handlers for queue " + handler.queue());
+            }
+            queueSlots.put(handler.queue(), new Semaphore(config.concurrencyOf(handler.queue())));
+        }
+        workerSlots = new Semaphore(config.getWorkerThreads());
+        String configured = config.getNodeId();
+        nodeId = configured != null && !configured.isBlank()
+            ? configured
+            : UUID.randomUUID().toString();
+    }
+
+    /**
+     * Claim round; only this scheduler thread takes permits, workers give them back
+     */
+    @Scheduled(fixedDelayString = "${forum.jobs.poll-interval-ms:1000}")
+    public void poll() {
+        if (!config.isWorkerEnabled()) {
+            return;
+        }
+        handlers.forEach((queue, handler) -> {
+            Semaphore slots = queueSlots.get(queue);
+            int free = Math.min(slots.availablePermits(), workerSlots.availablePermits());
+            if (free == 0) {
+                return;
+            }
+            try {
+                for (Job job : jobQueueService.claim(queue, free, nodeId)) {
+                    slots.acquireUninterruptibly();
+                    workerSlots.acquireUninterruptibly();
+                    running.put(job.getId(), job);
+                    try {
+                        jobExecutor.execute(() -> run(handler, job, slots));
+                    } catch (TaskRejectedException e) {
+                        // Not started: give the slots back; the lease runs out and the job is claimed again
+                        running.remove(job.getId());
+                        slots.release();
+                        workerSlots.release();
+                        log.warn("Job {} ({}) rejected by the executor: {}", job.getId(), queue, e.toString());
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.warn("Claiming jobs from {} failed: {}", queue, e.toString());
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${forum.jobs.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        if (running.isEmpty()) {
+            return;
+        }
+        Map<String, List<Long>> idsByQueue = running.values().stream()
+            .collect(Collectors.groupingBy(Job::getQueue, Collectors.mapping(Job::getId, Collectors.toList())));
+        idsByQueue.forEach((queue, ids) -> {
+            try {
+                jobQueueService.extendLeases(queue, ids, nodeId);
+            } catch (RuntimeException e) {
+                log.warn("Renewing leases for {} jobs failed: {}", queue, e.toString());
+            }
+        });
+    }
+
+    private void run(JobHandler handler, Job job, Semaphore slots) {
+        try {
+            handler.execute(jobQueueService.contextFor(job));
+            jobQueueService.complete(job);
+        } catch (Exception e) {
+            try {
+                jobQueueService.fail(job, e);
+            } catch (RuntimeException recordError) {
+                // Lease runs out and the job is claimed again
+                log.error("Could not record failure of job {}", job.getId(), recordError);
+            }
+        } finally {
+            running.remove(job.getId());
+            slots.release();
+            workerSlots.release();
+        }
+    }
+}
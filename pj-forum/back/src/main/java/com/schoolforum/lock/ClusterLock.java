@@ -0,0 +1,34 @@
+package com.schoolforum.lock;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Run the annotated (void, usually @Scheduled) method on one node at a time.
+ * Nodes that cannot get the lock skip the run. Durations are ISO-8601 (PT10M) and may use
+ * ${...} placeholders.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ClusterLock {
+
+    /**
+     * Lock name, shared by every node running the same method
+     */
+    String name();
+
+    /**
+     * Lease; renewed every forum.cluster-lock.renew-interval-ms on a dedicated thread while the method
+     * runs, so it only bounds how long a crashed node keeps the lock
+     */
+    String lockAtMostFor() default "PT5M";
+
+    /**
+     * Minimum hold time, so a quick run is not repeated right away by a node whose schedule is offset
+     */
+    String lockAtLeastFor() default "PT0S";
+}
@@ -0,0 +1,48 @@
+package com.schoolforum.lock;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Applies @ClusterLock; ordered before the transaction advice, so a @Transactional method starts
+ * its transaction only after the lock is taken (HIGHEST_PRECEDENCE itself belongs to Spring's
+ * ExposeInvocationInterceptor, which argument binding needs to run first)
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ClusterLockAspect {
+
+    @Autowired
+    private ClusterLockService clusterLockService;
+
+    @Autowired
+    private Environment environment;
+
+    @Around("@annotation(clusterLock)")
+    public Object around(ProceedingJoinPoint joinPoint, ClusterLock clusterLock) throws Throwable {
+        boolean ran = clusterLockService.executeLocked(
+            clusterLock.name(),
+            duration(clusterLock.lockAtMostFor()),
+            duration(clusterLock.lockAtLeastFor()),
+            joinPoint::proceed);
+        if (!ran) {
+            log.debug("Skipped {}: cluster lock {} is held elsewhere", joinPoint.getSignature().toShortString(), clusterLock.name());
+        }
+        return null;
+    }
+
+    private Duration duration(String value) {
+        return Duration.parse(environment.resolvePlaceholders(value));
+    }
+}
@@ -0,0 +1,252 @@
+package com.schoolforum.lock;
+
+import com.schoolforum.config.ClusterLockConfig;
+import com.schoolforum.dao.ClusterLockDAO;
+import com.schoolforum.model.ClusterLockRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SERVICE LAYER - Cluster-wide locks (lease on a cluster_locks row)
+ * - acquire: conditional UPDATE that only matches an expired lease, and bumps the fencing token
+ * - leases of running holders are renewed by a dedicated thread (not the shared @Scheduled
+ *   pool, whose threads may all be busy running the locked jobs); a crashed node's lock frees
+ *   up once its lease runs out
+ * - holders call verifyCurrent() before writes that must not overlap with another node
+ * Leases compare node clocks, which are assumed to be NTP-synced well within the lease length.
+ * No static state: several application contexts in one JVM behave like separate nodes.
+ */
+@Slf4j
+@Service
+public class ClusterLockService {
+
+    @Autowired
+    private ClusterLockDAO clusterLockDAO;
+
+    @Autowired
+    private ClusterLockConfig config;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String nodeId;
+
+    private TransactionTemplate newTransaction;
+
+    // Locks held by this node, for renewal
+    private final Map<String, LockHandle> held = new ConcurrentHashMap<>();
+
+    // Lock held by the current thread (innermost @ClusterLock method)
+    private final ThreadLocal<LockHandle> current = new ThreadLocal<>();
+
+    // Lock name -> 1 while held here (forum.cluster.lock.held{lock,node})
+    private final Map<String, AtomicInteger> heldGauges = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService renewer;
+
+    @FunctionalInterface
+    public interface LockedTask {
+        void run() throws Throwable;
+    }
+
+    @PostConstruct
+    void init() {
+        String configured = config.getNodeId();
+        nodeId = configured != null && !configured.isBlank()
+            ? configured
+            : UUID.randomUUID().toString();
+        newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cluster-lock-renew");
+            thread.setDaemon(true);
+            return thread;
+        });
+        renewer.scheduleWithFixedDelay(this::renewHeld, config.getRenewIntervalMs(), config.getRenewIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        renewer.shutdownNow();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Run task while holding the named lock; returns false without running it when another node holds it
+     */
+    public boolean executeLocked(String name, Duration lockAtMostFor, Duration lockAtLeastFor, LockedTask task) throws Throwable {
+        Optional<LockHandle> acquired = tryAcquire(name, lockAtMostFor);
+        if (acquired.isEmpty()) {
+            return false;
+        }
+        LockHandle handle = acquired.get();
+        LockHandle outer = current.get();
+        current.set(handle);
+        try {
+            task.run();
+            return true;
+        } finally {
+            if (outer != null) {
+                current.set(outer);
+            } else {
+                current.remove();
+            }
+            release(handle, lockAtLeastFor);
+        }
+    }
+
+    public Optional<LockHandle> tryAcquire(String name, Duration lease) {
+        createIfMissing(name);
+        LocalDateTime now = LocalDateTime.now();
+        Long token = newTransaction.execute(status -> {
+            if (clusterLockDAO.acquire(name, nodeId, now, now.plus(lease)) == 0) {
+                return null;
+            }
+            return clusterLockDAO.findById(name).map(ClusterLockRow::getFencingToken).orElseThrow();
+        });
+        if (token == null) {
+            count(name, "busy");
+            return Optional.empty();
+        }
+        LockHandle handle = new LockHandle(name, token, lease, now);
+        held.put(name, handle);
+        heldGauge(name).set(1);
+        count(name, "acquired");
+        log.debug("Acquired cluster lock {} (token {})", name, token);
+        return Optional.of(handle);
+    }
+
+    /**
+     * Give the lock back, keeping it at least until acquiredAt + lockAtLeastFor
+     */
+    public void release(LockHandle handle, Duration lockAtLeastFor) {
+        held.remove(handle.getName(), handle);
+        heldGauge(handle.getName()).set(0);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime earliest = handle.getAcquiredAt().plus(lockAtLeastFor);
+        try {
+            newTransaction.executeWithoutResult(status -> clusterLockDAO.release(handle.getName(), nodeId,
+                handle.getFencingToken(), earliest.isAfter(now) ? earliest : now));
+        } catch (RuntimeException e) {
+            // The lease runs out on its own
+            log.warn("Releasing cluster lock {} failed: {}", handle.getName(), e.toString());
+        }
+    }
+
+    /**
+     * Fencing check for the current thread's lock: throws LockLostException once another node
+     * could have taken over. Call it inside the transaction of each unit of protected work.
+     */
+    public void verifyCurrent() {
+        LockHandle handle = current.get();
+        if (handle == null) {
+            throw new IllegalStateException("No cluster lock held by this thread");
+        }
+        if (handle.isLost() || !clusterLockDAO.isHeld(handle.getName(), nodeId, handle.getFencingToken(), LocalDateTime.now())) {
+            handle.markLost();
+            throw new LockLostException(handle.getName(), handle.getFencingToken());
+        }
+    }
+
+    /**
+     * Extend the lease of every lock held here (runs on the renewal thread)
+     */
+    void renewHeld() {
+        for (LockHandle handle : held.values()) {
+            LocalDateTime now = LocalDateTime.now();
+            try {
+                Integer renewed = newTransaction.execute(status -> clusterLockDAO.renew(handle.getName(), nodeId,
+                    handle.getFencingToken(), now, now.plus(handle.getLease())));
+                if (renewed != null && renewed == 0) {
+                    handle.markLost();
+                    held.remove(handle.getName(), handle);
+                    heldGauge(handle.getName()).set(0);
+                    count(handle.getName(), "lost");
+                    log.warn("Cluster lock {} (token {}) was lost before renewal", handle.getName(), handle.getFencingToken());
+                }
+            } catch (RuntimeException e) {
+                // Keep the renewal thread alive; the next round tries again
+                log.warn("Renewing cluster lock {} failed: {}", handle.getName(), e.toString());
+            }
+        }
+    }
+
+    /**
+     * Every lock row with its current holder, for the admin dashboard
+     */
+    public List<LockInfo> getLocks() {
+        LocalDateTime now = LocalDateTime.now();
+        return clusterLockDAO.findAll(Sort.by("name")).stream()
+            .map(row -> new LockInfo(row.getName(), row.getLockedUntil().isAfter(now) ? row.getLockedBy() : null,
+                row.getLockedAt(), row.getLockedUntil(), row.getFencingToken(), nodeId.equals(row.getLockedBy())))
+            .toList();
+    }
+
+    // ===== Helpers =====
+
+    private void createIfMissing(String name) {
+        if (clusterLockDAO.existsById(name)) {
+            return;
+        }
+        try {
+            newTransaction.executeWithoutResult(status ->
+                clusterLockDAO.saveAndFlush(new ClusterLockRow(name, null, null, LocalDateTime.now(), 0)));
+        } catch (DataIntegrityViolationException e) {
+            // Another node created it first
+        }
+    }
+
+    private AtomicInteger heldGauge(String name) {
+        return heldGauges.computeIfAbsent(name, lock -> {
+            AtomicInteger value = new AtomicInteger();
+            Gauge.builder("forum.cluster.lock.held", value, AtomicInteger::get)
+                .description("1 while this node holds the cluster lock")
+                .tag("lock", lock)
+                .tag("node", nodeId)
+                .register(meterRegistry);
+            return value;
+        });
+    }
+
+    private void count(String name, String result) {
+        Counter.builder("forum.cluster.lock.attempts")
+            .description("Cluster lock acquisitions by outcome")
+            .tag("lock", name)
+            .tag("result", result)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    public record LockInfo(String name, String lockedBy, LocalDateTime lockedAt, LocalDateTime lockedUntil,
+                           long fencingToken, boolean lastHeldByThisNode) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.schoolforum.lock;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * A cluster lock held by this node
+ */
+public class LockHandle {
+
+    private final String name;
+    private final long fencingToken;
+    private final Duration lease;
+    private final LocalDateTime acquiredAt;
+    private volatile boolean lost;
+
+    LockHandle(String name, long fencingToken, Duration lease, LocalDateTime acquiredAt) {
+        this.name = name;
+        this.fencingToken = fencingToken;
+        this.lease = lease;
+        this.acquiredAt = acquiredAt;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Grows with every acquisition of this lock, on any node
+     */
+    public long getFencingToken() {
+        return fencingToken;
+    }
+
+    public Duration getLease() {
+        return lease;
+    }
+
+    public LocalDateTime getAcquiredAt() {
+        return acquiredAt;
+    }
+
+    public boolean isLost() {
+        return lost;
+    }
+
+    void markLost() {
+        lost = true;
+    }
+}
@@ -0,0 +1,11 @@
+package com.schoolforum.lock;
+
+/**
+ * The cluster lock expired or was taken over while its holder was still working
+ */
+public class LockLostException extends RuntimeException {
+
+    public LockLostException(String lockName, long fencingToken) {
+        super("Cluster lock " + lockName + " (token " + fencingToken + ") is no longer held");
+    }
+}
@@ -0,0 +1,59 @@
+package com.schoolforum.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * METRICS - Business Counters
+ * Exposed at /actuator/prometheus as forum_threads_created_total, forum_replies_created_total
+ * and forum_auth_logins_total{result="..."}
+ */
+@Component
+public class ForumMetrics {
+
+    private final Counter threadsCreated;
+    private final Counter repliesCreated;
+    private final Counter loginsSucceeded;
+    private final Counter loginsFailed;
+    private final Counter loginsThrottled;
+
+    public ForumMetrics(MeterRegistry registry) {
+        this.threadsCreated = Counter.builder("forum.threads.created")
+            .description("Threads created")
+            .register(registry);
+        this.repliesCreated = Counter.builder("forum.replies.created")
+            .description("Replies created")
+            .register(registry);
+        this.loginsSucceeded = loginCounter(registry, "success");
+        this.loginsFailed = loginCounter(registry, "failure");
+        this.loginsThrottled = loginCounter(registry, "throttled");
+    }
+
+    public void threadCreated() {
+        threadsCreated.increment();
+    }
+
+    public void replyCreated() {
+        repliesCreated.increment();
+    }
+
+    public void loginSucceeded() {
+        loginsSucceeded.increment();
+    }
+
+    public void loginFailed() {
+        loginsFailed.increment();
+    }
+
+    public void loginThrottled() {
+        loginsThrottled.increment();
+    }
+
+    private static Counter loginCounter(MeterRegistry registry, String result) {
+        return Counter.builder("forum.auth.logins")
+            .description("Login attempts by outcome")
+            .tag("result", result)
+            .register(registry);
+    }
+}
@@ -0,0 +1,50 @@
+package com.schoolforum.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * MODEL LAYER - Thread Attachment Entity
+ * A file attached to a thread; the bytes live in the blob store under blobHash
+ */
+@Entity
+@Table(name = "attachments", indexes = {
+    @Index(name = "idx_attachments_thread_id", columnList = "thread_id"),
+    @Index(name = "idx_attachments_blob_hash", columnList = "blobHash")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Attachment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "thread_id", nullable = false)
+    private Thread thread;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "uploader_id", nullable = false)
+    private User uploader;
+
+    @Column(nullable = false, length = 64)
+    private String blobHash;
+
+    @Column(nullable = false, length = 255)
+    private String fileName;
+
+    @Column(nullable = false, length = 100)
+    private String contentType;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,36 @@
+package com.schoolforum.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * MODEL LAYER - Cluster Lock Entity
+ * One row per lock name; a node holds the lock while locked_until is in the future
+ */
+@Entity
+@Table(name = "cluster_locks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterLockRow {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(length = 64)
+    private String lockedBy;
+
+    private LocalDateTime lockedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime lockedUntil;
+
+    // Incremented on every acquisition; a holder with an older token has lost the lock
+    @Column(nullable = false)
+    private long fencingToken;
+}
@@ -0,0 +1,101 @@
+package com.schoolforum.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Stores long post bodies deflate-compressed in a binary column
+ * Column format:
+ * - plain:      the UTF-8 bytes as they are (short bodies, and rows written before compression)
+ * - compressed: 0xFF, format byte, raw deflate stream
+ * 0xFF never occurs in UTF-8, so the two cannot be confused and rows converted from TEXT
+ * read back unchanged. New formats get a new format byte; old ones stay readable.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+
+    public static final byte MARKER = (byte) 0xFF;
+    public static final byte FORMAT_DEFLATE = 1;
+
+    // Below this many UTF-8 bytes compression rarely pays for the header and the CPU
+    public static final int MIN_COMPRESS_BYTES = 512;
+
+    @Override
+    public byte[] convertToDatabaseColumn(String text) {
+        if (text == null) {
+            return null;
+        }
+        byte[] plain = text.getBytes(StandardCharsets.UTF_8);
+        if (plain.length < MIN_COMPRESS_BYTES) {
+            return plain;
+        }
+        byte[] compressed = deflate(plain);
+        // Incompressible content stays plain
+        return compressed.length < plain.length ? compressed : plain;
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] column) {
+        if (column == null) {
+            return null;
+        }
+        if (!isCompressed(column)) {
+            return new String(column, StandardCharsets.UTF_8);
+        }
+        if (column[1] != FORMAT_DEFLATE) {
+            throw new IllegalStateException("Unknown compressed text format " + column[1]);
+        }
+        return new String(inflate(column, 2), StandardCharsets.UTF_8);
+    }
+
+    public static boolean isCompressed(byte[] column) {
+        return column.length >= 2 && column[0] == MARKER;
+    }
+
+    // ===== Helpers =====
+
+    private static byte[] deflate(byte[] plain) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(plain);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(plain.length / 2 + 16);
+            out.write(MARKER);
+            out.write(FORMAT_DEFLATE);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] column, int offset) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(column, offset, column.length - offset);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(column.length * 3);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated compressed text");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed text", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.schoolforum.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * MODEL LAYER - Stored File Entity
+ * One row per distinct attachment content (SHA-256); refCount counts the attachments using it.
+ * A blob with no references since orphanedAt is deleted by the attachment GC.
+ */
+@Entity
+@Table(name = "file_blobs", indexes = {
+    @Index(name = "idx_file_blobs_orphaned_at", columnList = "orphanedAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileBlob {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(nullable = false, length = 100)
+    private String contentType;
+
+    @Column(nullable = false)
+    private int refCount;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Set whenever refCount drops to 0 (or the blob is stored but not attached yet)
+    private LocalDateTime orphanedAt;
+}
@@ -0,0 +1,34 @@
+package com.schoolforum.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * MODEL LAYER - Forum Setting Entity
+ * Runtime-editable setting (key/value); overrides the application.properties default
+ */
+@Entity
+@Table(name = "forum_settings")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ForumSetting {
+
+    @Id
+    @Column(name = "setting_key", length = 100)
+    private String settingKey;
+
+    @Column(name = "setting_value", nullable = false, length = 1000)
+    private String settingValue;
+
+    // Bumped on every update; the sum over all rows is the settings version stamp
+    @Version
+    private Long version;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
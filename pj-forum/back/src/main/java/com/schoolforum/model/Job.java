@@ -0,0 +1,84 @@
+package com.schoolforum.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * MODEL LAYER - Background Job Entity
+ * Row of the database-backed job queue; claimed by workers with SELECT ... FOR UPDATE SKIP LOCKED
+ */
+@Entity
+@Table(name = "jobs",
+    uniqueConstraints = @UniqueConstraint(name = "uk_jobs_queue_active_dedup_key", columnNames = {"queue", "active_dedup_key"}),
+    indexes = {
+    @Index(name = "idx_jobs_queue_status_run_at", columnList = "queue, status, runAt"),
+    @Index(name = "idx_jobs_status_finished_at", columnList = "status, finishedAt"),
+    @Index(name = "idx_jobs_dedup_key", columnList = "dedupKey")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Job {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String queue;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    // At most one QUEUED/RUNNING job per queue and key (e.g. "user:42"), see activeDedupKey
+    @Column(length = 100)
+    private String dedupKey;
+
+    // dedupKey while QUEUED/RUNNING, else NULL; generated by the database and unique per queue
+    @Column(name = "active_dedup_key", insertable = false, updatable = false,
+        columnDefinition = "VARCHAR(100) GENERATED ALWAYS AS (CASE WHEN status IN ('QUEUED', 'RUNNING') THEN dedup_key END)")
+    private String activeDedupKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.QUEUED;
+
+    // Also the fencing token: a worker may only finish the attempt it claimed
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private int maxAttempts;
+
+    // Not claimed before this time (retry backoff)
+    @Column(nullable = false)
+    private LocalDateTime runAt;
+
+    @Column(length = 64)
+    private String lockedBy;
+
+    // Visibility timeout: after this the job can be claimed again
+    private LocalDateTime lockedUntil;
+
+    // Handler-defined progress (JSON)
+    @Column(columnDefinition = "TEXT")
+    private String progress;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+}
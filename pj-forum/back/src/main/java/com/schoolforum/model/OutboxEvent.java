@@ -0,0 +1,62 @@
+package com.schoolforum.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * MODEL LAYER - Outbox Event Entity
+ * Domain event written in the same transaction as the change it describes,
+ * delivered to handlers afterwards by OutboxRelay
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+    @Index(name = "idx_outbox_events_status_id", columnList = "status, id"),
+    @Index(name = "idx_outbox_events_thread_status", columnList = "threadId, status, id"),
+    @Index(name = "idx_outbox_events_delivered_at", columnList = "deliveredAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    // IDENTITY keeps ids in insert order, which the per-thread ordering relies on
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String eventType;
+
+    // Ordering key: events of one thread are delivered in id order
+    @Column(nullable = false)
+    private Long threadId;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime deliveredAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    public enum Status {
+        PENDING, DELIVERED, DEAD
+    }
+}
@@ -0,0 +1,64 @@
+package com.schoolforum.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * MODEL LAYER - Reaction Entity
+ * One row per (user, target, type); the unique key makes reacting twice a no-op.
+ * Aggregates live in reaction_counts (see ReactionService), never counted per request.
+ */
+@Entity
+@Table(name = "reactions",
+    uniqueConstraints = @UniqueConstraint(name = "uk_reactions_user_target_type",
+        columnNames = {"user_id", "targetType", "targetId", "type"}),
+    indexes = @Index(name = "idx_reactions_target", columnList = "targetType, targetId"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Reaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private TargetType targetType;
+
+    // Thread or reply id, depending on targetType
+    @Column(nullable = false)
+    private Long targetId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Type type;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public enum TargetType {
+        THREAD, REPLY
+    }
+
+    public enum Type {
+        LIKE, LOVE, LAUGH, INSIGHTFUL, SAD;
+
+        public static Type parse(String name) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown reaction type: " + name);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.schoolforum.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * MODEL LAYER - Reaction count per (target, type)
+ * Written only by ReactionService: batched deltas from the in-memory counters and the
+ * nightly reconciliation. Lags the reactions table by up to one flush interval.
+ */
+@Entity
+@Table(name = "reaction_counts")
+@IdClass(ReactionCount.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReactionCount {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private Reaction.TargetType targetType;
+
+    @Id
+    private Long targetId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private Reaction.Type type;
+
+    @Column(nullable = false)
+    private long total;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Reaction.TargetType targetType;
+        private Long targetId;
+        private Reaction.Type type;
+    }
+}
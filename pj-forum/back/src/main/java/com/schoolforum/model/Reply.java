@@ -14,19 +14,35 @@ import java.time.LocalDateTime;
  * Represents a reply to a forum thread
  */
 @Entity
-@Table(name = "replies")
+@Table(name = "replies", indexes = {
+    @Index(name = "idx_replies_author_created_at", columnList = "author_id, createdAt")
+})
+@NamedEntityGraph(name = Reply.GRAPH_WITH_AUTHOR, attributeNodes = @NamedAttributeNode("author"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Reply {
 
+    public static final String GRAPH_WITH_AUTHOR = "Reply.withAuthor";
+
+    // Pooled sequence (blocks of 50) so bulk inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reply_seq")
+    @SequenceGenerator(name = "reply_seq", sequenceName = "replies_seq", allocationSize = 50)
     private Long id;
 
-    @Column(columnDefinition = "TEXT", nullable = false)
+    // Stored compressed when long (see CompressedTextConverter)
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(columnDefinition = "MEDIUMBLOB", nullable = false)
     private String content;
 
+    // content rendered by MarkdownRenderer; renderVersion is the renderer version that produced it
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(columnDefinition = "MEDIUMBLOB")
+    private String contentHtml;
+
+    private Integer renderVersion;
+
     @Column(nullable = false)
     private Boolean isAnonymous = false;
 
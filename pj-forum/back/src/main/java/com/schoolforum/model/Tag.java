@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -12,14 +14,17 @@ import java.util.List;
  * MODEL LAYER - Tag Entity
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tag")
 @Table(name = "tags")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Tag {
 
+    // Pooled sequence (blocks of 50) so bulk inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tag_seq")
+    @SequenceGenerator(name = "tag_seq", sequenceName = "tags_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false, length = 50)
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -16,12 +18,29 @@ import java.util.List;
  * Represents a forum thread/discussion topic
  */
 @Entity
-@Table(name = "threads")
+@Table(name = "threads", indexes = {
+    @Index(name = "idx_threads_created_at", columnList = "createdAt"),
+    @Index(name = "idx_threads_category_created_at", columnList = "category_id, createdAt"),
+    @Index(name = "idx_threads_author_created_at", columnList = "author_id, createdAt")
+})
+@NamedEntityGraph(name = Thread.GRAPH_SUMMARY, attributeNodes = {
+    @NamedAttributeNode("author"),
+    @NamedAttributeNode("category")
+})
+@NamedEntityGraph(name = Thread.GRAPH_DETAIL, attributeNodes = {
+    @NamedAttributeNode("author"),
+    @NamedAttributeNode("category"),
+    @NamedAttributeNode("tags")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Thread {
 
+    // Fetch plans: everything the list / detail DTOs touch, loaded inside the read transaction
+    public static final String GRAPH_SUMMARY = "Thread.summary";
+    public static final String GRAPH_DETAIL = "Thread.detail";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -29,9 +48,7 @@ public class Thread {
     @Column(nullable = false, length = 200)
     private String title;
 
-    @Column(columnDefinition = "TEXT", nullable = false)
-    private String content;
-
+    // The text lives in thread_bodies (ThreadBody), loaded only for the detail view
     @Column(nullable = false)
     private Integer views = 0;
 
@@ -65,6 +82,7 @@ public class Thread {
     private List<Reply> replies = new ArrayList<>();
 
     @ManyToMany(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "thread.tags")
     @JoinTable(
         name = "thread_tags",
         joinColumns = @JoinColumn(name = "thread_id"),
@@ -0,0 +1,49 @@
+package com.schoolforum.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * MODEL LAYER - Thread Body Entity
+ * The (large) text of a thread, kept out of the threads table so list and sort queries scan
+ * narrow rows. Shares the thread's primary key; loaded by id for the detail view only.
+ */
+@Entity
+@Table(name = "thread_bodies")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ThreadBody {
+
+    @Id
+    private Long threadId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "thread_id")
+    @ToString.Exclude
+    private Thread thread;
+
+    // Stored compressed when long (see CompressedTextConverter)
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(columnDefinition = "MEDIUMBLOB", nullable = false)
+    private String content;
+
+    // content rendered by MarkdownRenderer; renderVersion is the renderer version that produced it
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(columnDefinition = "MEDIUMBLOB")
+    private String contentHtml;
+
+    private Integer renderVersion;
+
+    // Changes with content only (re-rendering leaves it alone)
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -4,7 +4,10 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SecondaryRow;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -16,7 +19,10 @@ import java.util.List;
  * Represents a user in the forum system
  */
 @Entity
-@Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
+@Table(name = "users", indexes = @Index(name = "idx_users_tokens_valid_after", columnList = "tokensValidAfter"))
+@SecondaryTable(name = "user_stats", pkJoinColumns = @PrimaryKeyJoinColumn(name = "user_id"))
+@SecondaryRow(table = "user_stats", owned = false)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -60,6 +66,21 @@ public class User {
     @Column
     private LocalDateTime lastLoginAt;
 
+    // Tokens issued at or before this time are rejected (ban, role change)
+    @Column
+    private LocalDateTime tokensValidAfter;
+
+    // Counters from user_stats, joined into every user load; read-only here,
+    // maintained by UserStatsService (null until the user's first post)
+    @Column(table = "user_stats", name = "thread_count", insertable = false, updatable = false)
+    private Integer threadCount;
+
+    @Column(table = "user_stats", name = "reply_count", insertable = false, updatable = false)
+    private Integer replyCount;
+
+    @Column(table = "user_stats", name = "reputation", insertable = false, updatable = false)
+    private Integer reputation;
+
     // Relationships
     @OneToMany(mappedBy = "author", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Thread> threads = new ArrayList<>();
@@ -67,6 +88,19 @@ public class User {
     @OneToMany(mappedBy = "author", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Reply> replies = new ArrayList<>();
 
+    // Users without a user_stats row have no posts yet
+    public int getThreadCount() {
+        return threadCount == null ? 0 : threadCount;
+    }
+
+    public int getReplyCount() {
+        return replyCount == null ? 0 : replyCount;
+    }
+
+    public int getReputation() {
+        return reputation == null ? 0 : reputation;
+    }
+
     // Enums
     public enum Role {
         USER, MODERATOR, ADMIN
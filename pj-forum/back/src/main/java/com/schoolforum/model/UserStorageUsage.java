@@ -0,0 +1,27 @@
+package com.schoolforum.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * MODEL LAYER - Per-user attachment usage
+ * Maintained incrementally with conditional UPDATEs, never recomputed from the attachments table
+ */
+@Entity
+@Table(name = "user_storage_usage")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStorageUsage {
+
+    @Id
+    private Long userId;
+
+    @Column(nullable = false)
+    private long bytesUsed;
+
+    @Column(nullable = false)
+    private int files;
+}
@@ -0,0 +1,58 @@
+package com.schoolforum.render;
+
+import org.commonmark.Extension;
+import org.commonmark.ext.autolink.AutolinkExtension;
+import org.commonmark.node.Link;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Markdown -> sanitized HTML for thread and reply content
+ * Raw HTML in the source is escaped, link/image URLs are limited to safe schemes and links
+ * get rel="nofollow noopener", so the output can be inserted into the page as is.
+ * Bump VERSION whenever the output changes; stored HTML with an older version is
+ * re-rendered by ContentRenderService.
+ */
+@Component
+public class MarkdownRenderer {
+
+    public static final int VERSION = 1;
+
+    private final Parser parser;
+    private final HtmlRenderer renderer;
+
+    public MarkdownRenderer() {
+        List<Extension> extensions = List.of(AutolinkExtension.create());
+        parser = Parser.builder()
+            .extensions(extensions)
+            .build();
+        renderer = HtmlRenderer.builder()
+            .extensions(extensions)
+            .escapeHtml(true)
+            .sanitizeUrls(true)
+            .softbreak("<br />\n")
+            .attributeProviderFactory(context -> (node, tagName, attributes) -> {
+                if (node instanceof Link) {
+                    attributes.put("rel", "nofollow noopener");
+                }
+            })
+            .build();
+    }
+
+    public String render(String markdown) {
+        return renderer.render(parser.parse(markdown == null ? "" : markdown));
+    }
+
+    /**
+     * Stored HTML when it is from the current renderer, otherwise rendered now (not stored)
+     */
+    public String htmlOf(String markdown, String storedHtml, Integer storedVersion) {
+        if (storedHtml != null && storedVersion != null && storedVersion == VERSION) {
+            return storedHtml;
+        }
+        return render(markdown);
+    }
+}
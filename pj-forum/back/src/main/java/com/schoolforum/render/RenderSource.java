@@ -0,0 +1,9 @@
+package com.schoolforum.render;
+
+/**
+ * Projection of a post whose stored HTML needs re-rendering
+ */
+public interface RenderSource {
+    Long getId();
+    String getContent();
+}
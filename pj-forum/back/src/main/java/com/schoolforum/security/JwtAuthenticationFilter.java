@@ -1,10 +1,13 @@
 package com.schoolforum.security;
 
 import com.schoolforum.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -20,12 +23,16 @@ import java.util.Collections;
  * JWT Authentication Filter
  * Intercepts every request and validates JWT token from Authorization header
  */
+@Slf4j
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
@@ -46,12 +53,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // Extract token (remove "Bearer " prefix)
             String token = authHeader.substring(7);
 
-            // Validate token
-            if (jwtUtil.validateToken(token)) {
+            // Validate token (signature + expiry) and read all claims in one parse
+            Claims claims = jwtUtil.parseClaims(token);
+
+            // Logged out, banned or re-roled: checked in memory, no database read
+            if (tokenRevocationService.isRevoked(claims)) {
+                log.debug("Rejected revoked token jti={}", claims.getId());
+            } else {
                 // Extract user info from token
-                String username = jwtUtil.extractUsername(token);
-                Long userId = jwtUtil.extractUserId(token);
-                String role = jwtUtil.extractRole(token);
+                String username = claims.getSubject();
+                Long userId = claims.get("userId", Long.class);
+                String role = claims.get("role", String.class);
 
                 // Create authentication object
                 UsernamePasswordAuthenticationToken authentication = 
@@ -70,11 +82,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 // Set authentication in SecurityContext
                 SecurityContextHolder.getContext().setAuthentication(authentication);
 
-                System.out.println("✅ JWT Authenticated: " + username + " (ID: " + userId + ", Role: " + role + ")");
+                // Tag the rest of the request's log lines with the caller
+                MDC.put("userId", String.valueOf(userId));
+                log.trace("JWT authenticated user={} id={} role={}", username, userId, role);
             }
 
         } catch (Exception e) {
-            System.err.println("❌ JWT Authentication failed: " + e.getMessage());
+            log.debug("JWT authentication failed: {}", e.getMessage());
         }
 
         // Continue filter chain
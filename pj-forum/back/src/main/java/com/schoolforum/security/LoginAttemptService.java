@@ -0,0 +1,195 @@
+package com.schoolforum.security;
+
+import com.schoolforum.config.LoginThrottleConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Login Failure Tracker
+ * Keeps failed login counters per email and per client IP in an expiring in-memory map.
+ * Attempts inside a backoff window are rejected before any database lookup or BCrypt work.
+ * At most max-tracked-keys counters are kept; past that, new emails/IPs go untracked until
+ * expired counters are swept, while the already tracked ones keep counting.
+ */
+@Component
+public class LoginAttemptService {
+
+    private static final String EMAIL_PREFIX = "email:";
+    private static final String IP_PREFIX = "ip:";
+
+    @Autowired
+    private LoginThrottleConfig config;
+
+    private final ConcurrentHashMap<String, FailureRecord> failures = new ConcurrentHashMap<>();
+
+    /**
+     * Admit a login attempt, or return the seconds the caller has to wait (0 = admitted).
+     * An admitted attempt is counted as a failure up front, in the same atomic compute as the
+     * lockout check, so parallel guesses cannot all slip past the check before any is counted;
+     * recordSuccess takes it back.
+     */
+    public long tryBeginAttempt(String email, String clientIp) {
+        long now = System.currentTimeMillis();
+        if (failures.size() >= config.getMaxTrackedKeys()) {
+            evictExpired();
+        }
+        long[] blockedUntil = {0};
+        String emailKey = emailKey(email);
+        if (emailKey != null) {
+            failures.compute(emailKey, (key, current) ->
+                admit(current, now, config.getFreeAttemptsPerEmail(), blockedUntil));
+        }
+        if (blockedUntil[0] == 0 && clientIp != null) {
+            failures.compute(ipKey(clientIp), (key, current) ->
+                admit(current, now, config.getFreeAttemptsPerIp(), blockedUntil));
+            if (blockedUntil[0] > 0 && emailKey != null) {
+                // Rejected by the IP counter: the attempt never happened for the email
+                release(emailKey, config.getFreeAttemptsPerEmail());
+            }
+        }
+        if (blockedUntil[0] <= now) {
+            return 0;
+        }
+        return Math.max(1, (blockedUntil[0] - now + 999) / 1000);
+    }
+
+    /**
+     * Successful login: clear the email counter and take back the attempt counted against the IP.
+     * The rest of the IP counter is left to decay so one valid account cannot reset a password spray.
+     */
+    public void recordSuccess(String email, String clientIp) {
+        if (email != null) {
+            failures.remove(emailKey(email));
+        }
+        if (clientIp != null) {
+            release(ipKey(clientIp), config.getFreeAttemptsPerIp());
+        }
+    }
+
+    /**
+     * Lift a lockout for an account (used by admins when re-activating a user)
+     */
+    public void clear(String email) {
+        if (email != null) {
+            failures.remove(emailKey(email));
+        }
+    }
+
+    /**
+     * Time until which the account is locked out, or null when it is not
+     */
+    public LocalDateTime getLockedUntil(String email) {
+        if (email == null) {
+            return null;
+        }
+        long blockedUntil = blockedUntil(emailKey(email));
+        return blockedUntil > System.currentTimeMillis() ? toDateTime(blockedUntil) : null;
+    }
+
+    /**
+     * Snapshot of all active lockouts for the admin dashboard
+     */
+    public List<Lockout> getActiveLockouts() {
+        long now = System.currentTimeMillis();
+        List<Lockout> lockouts = new ArrayList<>();
+        failures.forEach((key, record) -> {
+            if (record.blockedUntil() > now) {
+                boolean byEmail = key.startsWith(EMAIL_PREFIX);
+                lockouts.add(new Lockout(
+                    byEmail ? "EMAIL" : "IP",
+                    key.substring(byEmail ? EMAIL_PREFIX.length() : IP_PREFIX.length()),
+                    record.failures(),
+                    toDateTime(record.blockedUntil())
+                ));
+            }
+        });
+        lockouts.sort(Comparator.comparing(Lockout::lockedUntil).reversed());
+        return lockouts;
+    }
+
+    /**
+     * Drop counters that have been quiet longer than the reset window
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        failures.entrySet().removeIf(entry -> isExpired(entry.getValue(), now));
+    }
+
+    // ===== Helpers =====
+
+    /**
+     * Inside a backoff window: leave the record alone and report the window end through blockedUntil.
+     * Otherwise count the attempt. New keys are not tracked once max-tracked-keys is reached.
+     */
+    private FailureRecord admit(FailureRecord current, long now, int freeAttempts, long[] blockedUntil) {
+        boolean live = current != null && !isExpired(current, now);
+        if (live && current.blockedUntil() > now) {
+            blockedUntil[0] = Math.max(blockedUntil[0], current.blockedUntil());
+            return current;
+        }
+        if (current == null && failures.size() >= config.getMaxTrackedKeys()) {
+            return null;
+        }
+        int count = live ? current.failures() + 1 : 1;
+        return new FailureRecord(count, now, backoffUntil(count, now, freeAttempts));
+    }
+
+    /**
+     * Take back one counted attempt
+     */
+    private void release(String key, int freeAttempts) {
+        failures.computeIfPresent(key, (k, current) -> {
+            int count = current.failures() - 1;
+            return count <= 0 ? null
+                : new FailureRecord(count, current.lastFailureAt(), backoffUntil(count, current.lastFailureAt(), freeAttempts));
+        });
+    }
+
+    private long backoffUntil(int count, long failedAt, int freeAttempts) {
+        if (count <= freeAttempts) {
+            return 0;
+        }
+        int exponent = Math.min(count - freeAttempts - 1, 30);
+        long backoffSeconds = Math.min(config.getBaseBackoffSeconds() << exponent, config.getMaxBackoffSeconds());
+        return failedAt + backoffSeconds * 1000;
+    }
+
+    private boolean isExpired(FailureRecord record, long now) {
+        long quietSince = Math.max(record.lastFailureAt(), record.blockedUntil());
+        return now - quietSince > config.getResetAfterSeconds() * 1000;
+    }
+
+    private long blockedUntil(String key) {
+        FailureRecord record = failures.get(key);
+        return record == null ? 0 : record.blockedUntil();
+    }
+
+    private String emailKey(String email) {
+        return email == null ? null : EMAIL_PREFIX + email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private String ipKey(String clientIp) {
+        return clientIp == null ? null : IP_PREFIX + clientIp;
+    }
+
+    private LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private record FailureRecord(int failures, long lastFailureAt, long blockedUntil) {
+    }
+
+    public record Lockout(String type, String key, int failures, LocalDateTime lockedUntil) {
+    }
+}
@@ -0,0 +1,203 @@
+package com.schoolforum.security;
+
+import com.schoolforum.dao.RevokedTokenDAO;
+import com.schoolforum.dao.UserDAO;
+import com.schoolforum.model.RevokedToken;
+import com.schoolforum.util.BloomFilter;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token Revocation
+ * Two kinds of revocation, both checked in memory so the JWT filter never reads the database:
+ * - per-user cut-offs (users.tokens_valid_after): tokens issued at or before it are rejected
+ *   (bans, role changes). JWT iat has second precision, so a token issued in the same second
+ *   as the revocation is rejected too.
+ * - single tokens by jti (revoked_tokens, logout), with a Bloom filter in front of the denylist
+ *   so the common case - token not revoked - is answered from a few bit reads.
+ * State is loaded on the first poll and kept current by polling both tables, which also picks
+ * up revocations made on other instances. Entries are dropped once the tokens they match expire.
+ */
+@Slf4j
+@Component
+public class TokenRevocationService {
+
+    // Re-read a little before the last poll so rows committed late are not missed
+    private static final long POLL_OVERLAP_SECONDS = 30;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private RevokedTokenDAO revokedTokenDAO;
+
+    @Value("${jwt.expiration}")
+    private long tokenLifetimeMs;
+
+    @Value("${forum.security.token-revocation.bloom-expected-tokens:100000}")
+    private int bloomExpectedTokens;
+
+    @Value("${forum.security.token-revocation.bloom-false-positive-rate:0.01}")
+    private double bloomFalsePositiveRate;
+
+    // userId -> cut-off (epoch seconds)
+    private final Map<Long, Long> cutoffs = new ConcurrentHashMap<>();
+
+    // jti -> token expiry (epoch seconds)
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter bloom;
+
+    private volatile LocalDateTime lastPoll;
+
+    @PostConstruct
+    void init() {
+        rebuildBloom();
+    }
+
+    /**
+     * O(1) check of a verified token's claims
+     */
+    public boolean isRevoked(Claims claims) {
+        Long userId = claims.get("userId", Long.class);
+        Date issuedAt = claims.getIssuedAt();
+        Long cutoff = userId == null ? null : cutoffs.get(userId);
+        if (cutoff != null && issuedAt != null && issuedAt.toInstant().getEpochSecond() <= cutoff) {
+            return true;
+        }
+
+        String jti = claims.getId();
+        BloomFilter current = bloom;
+        if (jti == null || current == null || !current.mightContain(jti)) {
+            return false;
+        }
+        // Bloom filter only says "maybe"; the map is authoritative
+        return revokedTokens.containsKey(jti);
+    }
+
+    /**
+     * Revoke one token (logout). Tokens without a jti (issued before jti was added) cannot be
+     * revoked individually and simply run until expiry.
+     */
+    @Transactional
+    public boolean revokeToken(Claims claims) {
+        String jti = claims.getId();
+        if (jti == null) {
+            return false;
+        }
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+        revokedTokenDAO.save(new RevokedToken(jti, claims.get("userId", Long.class), LocalDateTime.now(), expiresAt));
+        long expiry = toEpochSecond(expiresAt);
+        afterCommit(() -> addRevokedToken(jti, expiry));
+        return true;
+    }
+
+    /**
+     * Apply per-user cut-offs locally once the transaction that wrote them commits
+     */
+    public void revoke(Collection<Long> userIds, LocalDateTime cutoff) {
+        long epochSecond = toEpochSecond(cutoff);
+        afterCommit(() -> userIds.forEach(id -> cutoffs.merge(id, epochSecond, Math::max)));
+    }
+
+    /**
+     * Load revocations written since the last poll (by any instance); the first poll loads
+     * everything that can still match an unexpired token
+     */
+    @Scheduled(fixedDelayString = "${forum.security.token-revocation.poll-interval-ms:10000}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime oldestRelevant = now.minusNanos(tokenLifetimeMs * 1_000_000);
+
+        if (lastPoll == null) {
+            revokedTokenDAO.findByExpiresAtAfter(now).forEach(this::addRevokedToken);
+            userDAO.findTokenCutoffsSince(oldestRelevant).forEach(this::addCutoff);
+            log.info("Loaded {} revoked tokens and {} user token cut-offs", revokedTokens.size(), cutoffs.size());
+        } else {
+            LocalDateTime since = lastPoll.minusSeconds(POLL_OVERLAP_SECONDS);
+            revokedTokenDAO.findByRevokedAtGreaterThanEqual(since).forEach(this::addRevokedToken);
+            userDAO.findTokenCutoffsSince(since).forEach(this::addCutoff);
+        }
+        lastPoll = now;
+    }
+
+    /**
+     * Forget expired entries, delete their rows and rebuild the Bloom filter
+     * (bits cannot be removed, so it is rebuilt from what is left)
+     */
+    @Scheduled(fixedDelayString = "${forum.security.token-revocation.prune-interval-ms:3600000}",
+               initialDelayString = "${forum.security.token-revocation.prune-interval-ms:3600000}")
+    @Transactional
+    public void prune() {
+        LocalDateTime now = LocalDateTime.now();
+        long nowSeconds = toEpochSecond(now);
+        long oldestCutoff = toEpochSecond(now.minusNanos(tokenLifetimeMs * 1_000_000));
+
+        int deleted = revokedTokenDAO.deleteExpired(now);
+        revokedTokens.values().removeIf(expiry -> expiry < nowSeconds);
+        cutoffs.values().removeIf(cutoff -> cutoff < oldestCutoff);
+        rebuildBloom();
+        log.debug("Pruned {} expired revoked tokens, {} still revoked", deleted, revokedTokens.size());
+    }
+
+    // ===== Helpers =====
+
+    private void addRevokedToken(RevokedToken token) {
+        addRevokedToken(token.getJti(), toEpochSecond(token.getExpiresAt()));
+    }
+
+    // Map first, then the filter: a jti in the filter is always in the map
+    private void addRevokedToken(String jti, long expiry) {
+        if (revokedTokens.put(jti, expiry) == null) {
+            bloom.put(jti);
+            if (bloom.isSaturated()) {
+                rebuildBloom();
+            }
+        }
+    }
+
+    private void addCutoff(UserDAO.TokenCutoff row) {
+        cutoffs.merge(row.getId(), toEpochSecond(row.getTokensValidAfter()), Math::max);
+    }
+
+    private synchronized void rebuildBloom() {
+        int capacity = Math.max(bloomExpectedTokens, revokedTokens.size() * 2);
+        BloomFilter rebuilt = new BloomFilter(capacity, bloomFalsePositiveRate);
+        revokedTokens.keySet().forEach(rebuilt::put);
+        bloom = rebuilt;
+        // Tokens added while rebuilding
+        revokedTokens.keySet().forEach(rebuilt::put);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private long toEpochSecond(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+}
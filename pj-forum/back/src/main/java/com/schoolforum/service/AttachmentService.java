@@ -0,0 +1,312 @@
+package com.schoolforum.service;
+
+import com.schoolforum.config.AttachmentConfig;
+import com.schoolforum.dao.AttachmentDAO;
+import com.schoolforum.dao.FileBlobDAO;
+import com.schoolforum.dao.ThreadDAO;
+import com.schoolforum.dao.UserDAO;
+import com.schoolforum.dao.UserStorageUsageDAO;
+import com.schoolforum.dto.AttachmentDTO;
+import com.schoolforum.exception.ResourceNotFoundException;
+import com.schoolforum.lock.ClusterLock;
+import com.schoolforum.model.Attachment;
+import com.schoolforum.model.FileBlob;
+import com.schoolforum.model.UserStorageUsage;
+import com.schoolforum.storage.AttachmentType;
+import com.schoolforum.storage.BlobStore;
+import com.schoolforum.storage.StoredBlob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * SERVICE LAYER - Thread attachments
+ * Uploads are streamed into the content-addressed blob store (never buffered in memory), so
+ * identical files are stored once; file_blobs.refCount counts the attachments per blob and
+ * user_storage_usage keeps each user's total, both changed by single UPDATE statements.
+ * Unreferenced blobs are deleted by the GC after a grace period, which also covers uploads
+ * whose transaction never committed.
+ */
+@Slf4j
+@Service
+public class AttachmentService {
+
+    public static final String NAMESPACE = "attachments";
+
+    private static final int MAX_REGISTER_ATTEMPTS = 3;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private AttachmentConfig config;
+
+    @Autowired
+    private AttachmentDAO attachmentDAO;
+
+    @Autowired
+    private FileBlobDAO fileBlobDAO;
+
+    @Autowired
+    private UserStorageUsageDAO userStorageUsageDAO;
+
+    @Autowired
+    private ThreadDAO threadDAO;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Attach an uploaded file to a thread (thread author only)
+     * Order: type check -> stream to blob store -> blob row -> thread lock + limit, reference,
+     * quota and attachment row in one transaction
+     */
+    public AttachmentDTO upload(Long threadId, Long userId, MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("No file uploaded");
+        }
+        com.schoolforum.model.Thread thread = threadDAO.findById(threadId)
+            .orElseThrow(() -> new ResourceNotFoundException("Thread", "id", threadId));
+        if (!thread.getAuthor().getId().equals(userId)) {
+            throw new RuntimeException("Only the thread author can attach files");
+        }
+        // Early reject before streaming the upload; re-checked under the thread lock
+        if (attachmentDAO.countByThreadId(threadId) >= config.getMaxPerThread()) {
+            throw new IllegalArgumentException("A thread can have at most " + config.getMaxPerThread() + " attachments");
+        }
+
+        String fileName = cleanFileName(file.getOriginalFilename());
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        for (int attempt = 1; ; attempt++) {
+            StoredUpload upload = storeAndRegister(file);
+            Attachment saved = tx.execute(status -> {
+                // The thread row lock makes the count and the insert below atomic per thread
+                threadDAO.lockById(threadId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Thread", "id", threadId));
+                if (attachmentDAO.countByThreadId(threadId) >= config.getMaxPerThread()) {
+                    throw new IllegalArgumentException("A thread can have at most " + config.getMaxPerThread() + " attachments");
+                }
+                if (fileBlobDAO.addReference(upload.blob().hash()) == 0) {
+                    // The GC removed the blob after registerBlob: store and register it again
+                    status.setRollbackOnly();
+                    return null;
+                }
+                if (!userStorageUsageDAO.existsById(userId)) {
+                    createUsageIfMissing(userId);
+                }
+                if (userStorageUsageDAO.reserve(userId, upload.blob().size(), config.getUserQuotaBytes()) == 0) {
+                    throw new IllegalArgumentException("Storage quota of " + config.getUserQuotaBytes() + " bytes exceeded");
+                }
+                Attachment attachment = new Attachment();
+                attachment.setThread(thread);
+                attachment.setUploader(userDAO.getReferenceById(userId));
+                attachment.setBlobHash(upload.blob().hash());
+                attachment.setFileName(fileName);
+                attachment.setContentType(upload.type().getMediaType().toString());
+                attachment.setSize(upload.blob().size());
+                attachment.setCreatedAt(LocalDateTime.now());
+                return attachmentDAO.save(attachment);
+            });
+            if (saved != null) {
+                return toDTO(saved);
+            }
+            if (attempt == MAX_REGISTER_ATTEMPTS) {
+                throw new IllegalStateException("Attachment storage is busy, please retry the upload");
+            }
+            log.info("Blob {} was collected during upload, registering it again", upload.blob().hash());
+        }
+    }
+
+    /**
+     * Attachments of a thread, oldest first
+     */
+    @Transactional(readOnly = true)
+    public List<AttachmentDTO> getAttachments(Long threadId) {
+        return attachmentDAO.findByThreadIdOrderByIdAsc(threadId).stream()
+            .map(this::toDTO)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * File to serve for an attachment of the given thread
+     */
+    @Transactional(readOnly = true)
+    public AttachmentFile find(Long threadId, Long attachmentId) {
+        Attachment attachment = attachmentDAO.findByIdAndThreadId(attachmentId, threadId)
+            .orElseThrow(() -> new ResourceNotFoundException("Attachment", "id", attachmentId));
+        Path path = blobStore.path(NAMESPACE, attachment.getBlobHash());
+        if (!Files.isRegularFile(path)) {
+            log.error("Blob {} of attachment {} is missing", attachment.getBlobHash(), attachmentId);
+            throw new ResourceNotFoundException("Attachment", "id", attachmentId);
+        }
+        return new AttachmentFile(path, MediaType.parseMediaType(attachment.getContentType()),
+            attachment.getFileName(), attachment.getBlobHash());
+    }
+
+    /**
+     * Remove one attachment (uploader, moderators and admins)
+     */
+    @Transactional
+    public void delete(Long threadId, Long attachmentId, Long userId, String userRole) {
+        Attachment attachment = attachmentDAO.findByIdAndThreadId(attachmentId, threadId)
+            .orElseThrow(() -> new ResourceNotFoundException("Attachment", "id", attachmentId));
+        if (!attachment.getUploader().getId().equals(userId)
+                && !userRole.equals("MODERATOR") && !userRole.equals("ADMIN")) {
+            throw new RuntimeException("You can only delete your own attachments");
+        }
+        fileBlobDAO.removeReferences(attachment.getBlobHash(), 1, LocalDateTime.now());
+        userStorageUsageDAO.release(attachment.getUploader().getId(), attachment.getSize(), 1);
+        attachmentDAO.delete(attachment);
+    }
+
+    /**
+     * Drop the attachments of threads about to be deleted, in the caller's transaction:
+     * one reference decrement per distinct blob and one usage decrement per uploader
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void releaseForThreads(Collection<Long> threadIds) {
+        List<AttachmentDAO.BlobReferences> references = attachmentDAO.countBlobReferences(threadIds);
+        if (references.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        references.forEach(ref -> fileBlobDAO.removeReferences(ref.getBlobHash(), ref.getReferences(), now));
+        attachmentDAO.sumUsageByUploader(threadIds)
+            .forEach(usage -> userStorageUsageDAO.release(usage.getUploaderId(), usage.getBytes(), usage.getFiles()));
+        attachmentDAO.bulkDeleteByThreadIds(threadIds);
+    }
+
+    /**
+     * Delete blobs that have been unreferenced for longer than the grace period.
+     * Each row is removed with a conditional DELETE (a concurrent upload that re-referenced it
+     * wins) and its file only after that commits.
+     */
+    @Scheduled(fixedDelayString = "${forum.attachments.gc-interval-ms:600000}")
+    @ClusterLock(name = "attachment-gc", lockAtMostFor = "PT10M", lockAtLeastFor = "PT1M")
+    public void collectGarbage() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(config.getGcGraceMinutes());
+        int collected = 0;
+        List<String> hashes;
+        do {
+            hashes = fileBlobDAO.findCollectable(cutoff, PageRequest.of(0, config.getGcBatchSize()));
+            for (String hash : hashes) {
+                Integer deleted = tx.execute(status -> fileBlobDAO.deleteIfCollectable(hash, cutoff));
+                if (deleted == null || deleted == 0) {
+                    continue;
+                }
+                try {
+                    blobStore.delete(NAMESPACE, hash);
+                    collected++;
+                } catch (IOException e) {
+                    log.warn("Deleting attachment blob {} failed: {}", hash, e.toString());
+                }
+            }
+        } while (hashes.size() == config.getGcBatchSize());
+        if (collected > 0) {
+            log.info("Attachment GC deleted {} unreferenced blobs", collected);
+        }
+    }
+
+    // ===== Helpers =====
+
+    /**
+     * Stream the upload into the blob store and make sure a file_blobs row exists for it.
+     * A row that is still unreferenced gets a fresh grace period; if the GC removed the file
+     * in the meantime, the content is stored once more.
+     */
+    private StoredUpload storeAndRegister(MultipartFile file) throws IOException {
+        for (int attempt = 0; ; attempt++) {
+            StoredUpload upload;
+            try (InputStream in = new BufferedInputStream(file.getInputStream())) {
+                in.mark(AttachmentType.HEADER_BYTES);
+                byte[] header = in.readNBytes(AttachmentType.HEADER_BYTES);
+                in.reset();
+                AttachmentType type = AttachmentType.detect(header, header.length)
+                    .orElseThrow(() -> new IllegalArgumentException("Attachments must be PDF, PNG, JPEG or GIF files"));
+                upload = new StoredUpload(blobStore.store(NAMESPACE, in, config.getMaxBytes()), type);
+            }
+            registerBlob(upload);
+            if (attempt > 0 || Files.isRegularFile(blobStore.path(NAMESPACE, upload.blob().hash()))) {
+                return upload;
+            }
+        }
+    }
+
+    private void registerBlob(StoredUpload upload) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        LocalDateTime now = LocalDateTime.now();
+        String hash = upload.blob().hash();
+        try {
+            tx.executeWithoutResult(status -> {
+                if (fileBlobDAO.existsById(hash)) {
+                    fileBlobDAO.touchUnreferenced(hash, now);
+                } else {
+                    fileBlobDAO.saveAndFlush(new FileBlob(hash, upload.blob().size(),
+                        upload.type().getMediaType().toString(), 0, now, now));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Same content registered concurrently
+            tx.executeWithoutResult(status -> fileBlobDAO.touchUnreferenced(hash, now));
+        }
+    }
+
+    private void createUsageIfMissing(Long userId) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+        try {
+            tx.executeWithoutResult(status -> userStorageUsageDAO.saveAndFlush(new UserStorageUsage(userId, 0, 0)));
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently
+        }
+    }
+
+    private static String cleanFileName(String original) {
+        String name = StringUtils.getFilename(original == null ? "" : original.replace('\\', '/'));
+        name = name == null ? "" : name.replaceAll("[\\p{Cntrl}\"]", "").trim();
+        if (name.isEmpty()) {
+            return "file";
+        }
+        return name.length() > 255 ? name.substring(name.length() - 255) : name;
+    }
+
+    private AttachmentDTO toDTO(Attachment attachment) {
+        return new AttachmentDTO(
+            attachment.getId(),
+            attachment.getFileName(),
+            attachment.getContentType(),
+            attachment.getSize(),
+            "/api/threads/" + attachment.getThread().getId() + "/attachments/" + attachment.getId(),
+            attachment.getCreatedAt());
+    }
+
+    private record StoredUpload(StoredBlob blob, AttachmentType type) {
+    }
+
+    public record AttachmentFile(Path path, MediaType mediaType, String fileName, String etag) {
+    }
+}
@@ -5,11 +5,16 @@ import com.schoolforum.dto.AuthResponse;
 import com.schoolforum.dto.LoginRequest;
 import com.schoolforum.dto.RegisterRequest;
 import com.schoolforum.dto.UserDTO;
+import com.schoolforum.exception.LoginThrottledException;
+import com.schoolforum.metrics.ForumMetrics;
 import com.schoolforum.model.User;
+import com.schoolforum.security.LoginAttemptService;
 import com.schoolforum.util.JwtUtil;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -18,6 +23,7 @@ import java.time.LocalDateTime;
  * SERVICE LAYER - Authentication Business Logic
  * Handles user registration, login, and authentication
  */
+@Slf4j
 @Service
 @Transactional
 public class AuthService {
@@ -31,6 +37,12 @@ public class AuthService {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private LoginAttemptService loginAttemptService;
+
+    @Autowired
+    private ForumMetrics forumMetrics;
+
     /**
      * Register new user
      */
@@ -82,39 +94,48 @@ public class AuthService {
 
     /**
      * Login user
+     * Runs without an outer transaction so throttled attempts never borrow a connection
      */
-    public AuthResponse login(LoginRequest request) {
-        System.out.println("🔍 LOGIN ATTEMPT - Email: " + request.getEmail());
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public AuthResponse login(LoginRequest request, String clientIp) {
+        // Reject attempts inside a backoff window before any DB or BCrypt work; an admitted
+        // attempt already counts as a failure until it succeeds
+        long retryAfter = loginAttemptService.tryBeginAttempt(request.getEmail(), clientIp);
+        if (retryAfter > 0) {
+            log.info("Login throttled for email={} ip={} retryAfter={}s", request.getEmail(), clientIp, retryAfter);
+            forumMetrics.loginThrottled();
+            throw new LoginThrottledException(retryAfter);
+        }
         
         // Find user by email (using DAO)
         User user = userDAO.findByEmail(request.getEmail())
                 .orElse(null);
 
         if (user == null) {
-            System.out.println("❌ User not found in database for email: " + request.getEmail());
+            log.debug("Login failed: unknown email={}", request.getEmail());
+            forumMetrics.loginFailed();
             return new AuthResponse(false, "Invalid email or password");
         }
-        
-        System.out.println("✅ User found: " + user.getUsername() + " (ID: " + user.getId() + ")");
-        System.out.println("🔐 Stored hash: " + user.getPassword().substring(0, 20) + "...");
-        System.out.println("🔑 Input password: " + request.getPassword());
 
         // Check if user is banned
         if (user.getStatus() == User.UserStatus.BANNED) {
-            System.out.println("🚫 User is BANNED");
+            log.debug("Login rejected: userId={} is banned", user.getId());
+            forumMetrics.loginFailed();
             return new AuthResponse(false, "Your account has been banned");
         }
 
         // Verify password
         boolean passwordMatches = passwordEncoder.matches(request.getPassword(), user.getPassword());
-        System.out.println("🔒 Password match result: " + passwordMatches);
         
         if (!passwordMatches) {
-            System.out.println("❌ Password does not match");
+            log.debug("Login failed: wrong password for userId={}", user.getId());
+            forumMetrics.loginFailed();
             return new AuthResponse(false, "Invalid email or password");
         }
         
-        System.out.println("✅ Login successful for user: " + user.getUsername());
+        log.debug("Login succeeded for userId={}", user.getId());
+        loginAttemptService.recordSuccess(request.getEmail(), clientIp);
+        forumMetrics.loginSucceeded();
 
         // Update last login time
         user.setLastLoginAt(LocalDateTime.now());
@@ -143,6 +164,7 @@ public class AuthService {
     /**
      * Get current user info
      */
+    @Transactional(readOnly = true)
     public UserDTO getCurrentUser(Long userId) {
         User user = userDAO.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
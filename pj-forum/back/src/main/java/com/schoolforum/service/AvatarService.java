@@ -0,0 +1,222 @@
+package com.schoolforum.service;
+
+import com.schoolforum.config.AsyncConfig;
+import com.schoolforum.config.AvatarConfig;
+import com.schoolforum.dao.UserDAO;
+import com.schoolforum.storage.BlobStore;
+import com.schoolforum.storage.ImageType;
+import com.schoolforum.storage.StoredBlob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SERVICE LAYER - Avatar images
+ * Uploads are stored content-addressed (identical images are kept once) and the user's avatar
+ * becomes the content URL, which never changes meaning and can be cached forever.
+ * Square PNG thumbnails are rendered afterwards on the bounded thumbnail executor.
+ */
+@Slf4j
+@Service
+public class AvatarService {
+
+    public static final String NAMESPACE = "avatars";
+    public static final String URL_PREFIX = "/api/users/avatars/";
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private AvatarConfig config;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier(AsyncConfig.THUMBNAIL_EXECUTOR)
+    private TaskExecutor thumbnailExecutor;
+
+    // Avatars with a render queued or running, or whose render failed; requests for their
+    // thumbnails do not queue another one
+    private final Set<String> thumbnailsScheduled = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Store an uploaded image and make it the user's avatar; returns the avatar URL
+     */
+    public String upload(Long userId, MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("No file uploaded");
+        }
+
+        StoredBlob blob;
+        try (InputStream in = new BufferedInputStream(file.getInputStream())) {
+            in.mark(ImageType.HEADER_BYTES);
+            byte[] header = in.readNBytes(ImageType.HEADER_BYTES);
+            in.reset();
+            ImageType.detect(header, header.length)
+                .orElseThrow(() -> new IllegalArgumentException("Avatar must be a PNG, JPEG or GIF image"));
+            blob = blobStore.store(NAMESPACE, in, config.getMaxBytes());
+        }
+        checkDimensions(blob);
+
+        String url = URL_PREFIX + blob.hash();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userDAO.updateAvatar(userId, url, LocalDateTime.now());
+            entityCacheService.evictUser(userId);
+        });
+        scheduleThumbnails(blob.hash());
+        return url;
+    }
+
+    /**
+     * File to serve for an avatar; a thumbnail that is not rendered yet falls back to the original
+     */
+    public Optional<AvatarFile> find(String hash, Integer size) throws IOException {
+        Path original = blobStore.path(NAMESPACE, hash);
+        if (!Files.isRegularFile(original)) {
+            return Optional.empty();
+        }
+        if (size != null) {
+            if (!config.getThumbnailSizes().contains(size)) {
+                throw new IllegalArgumentException("Supported sizes: " + config.getThumbnailSizes());
+            }
+            Path thumbnail = blobStore.derivedPath(NAMESPACE, hash, size.toString());
+            if (Files.isRegularFile(thumbnail)) {
+                return Optional.of(new AvatarFile(thumbnail, MediaType.IMAGE_PNG, hash + "-" + size, true));
+            }
+            scheduleThumbnails(hash);
+        }
+        MediaType mediaType = ImageType.detect(original).map(ImageType::getMediaType).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        return Optional.of(new AvatarFile(original, mediaType, hash, size == null));
+    }
+
+    // ===== Helpers =====
+
+    /**
+     * Reads only the image header; rejects oversized images before anything decodes them
+     */
+    private void checkDimensions(StoredBlob blob) throws IOException {
+        Path path = blobStore.path(NAMESPACE, blob.hash());
+        try (ImageInputStream iis = ImageIO.createImageInputStream(path.toFile())) {
+            Iterator<ImageReader> readers = iis == null ? null : ImageIO.getImageReaders(iis);
+            if (readers == null || !readers.hasNext()) {
+                rejectUpload(blob, "Unreadable image");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                int max = config.getMaxDimension();
+                if (reader.getWidth(0) > max || reader.getHeight(0) > max) {
+                    rejectUpload(blob, "Image must be at most " + max + "x" + max + " pixels");
+                }
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private void rejectUpload(StoredBlob blob, String message) throws IOException {
+        if (blob.created()) {
+            blobStore.delete(NAMESPACE, blob.hash());
+        }
+        throw new IllegalArgumentException(message);
+    }
+
+    private void scheduleThumbnails(String hash) {
+        if (!thumbnailsScheduled.add(hash)) {
+            return;
+        }
+        try {
+            thumbnailExecutor.execute(() -> {
+                if (renderThumbnails(hash)) {
+                    thumbnailsScheduled.remove(hash);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // Queue full: a later request tries again
+            thumbnailsScheduled.remove(hash);
+            log.debug("Thumbnail queue full, serving the original for avatar {}", hash);
+        }
+    }
+
+    /**
+     * false when rendering failed; the avatar keeps being served as the original
+     */
+    private boolean renderThumbnails(String hash) {
+        try {
+            BufferedImage source = null;
+            for (Integer size : config.getThumbnailSizes()) {
+                Path target = blobStore.derivedPath(NAMESPACE, hash, size.toString());
+                if (Files.exists(target)) {
+                    continue;
+                }
+                if (source == null) {
+                    source = ImageIO.read(blobStore.path(NAMESPACE, hash).toFile());
+                    if (source == null) {
+                        log.warn("Avatar {} cannot be decoded, no thumbnails rendered", hash);
+                        return false;
+                    }
+                }
+                BufferedImage thumbnail = squareThumbnail(source, size);
+                blobStore.writeDerived(target, out -> ImageIO.write(thumbnail, "png", out));
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Rendering thumbnails for avatar {} failed: {}", hash, e.toString());
+            return false;
+        }
+    }
+
+    // Center crop to a square, then scale
+    private static BufferedImage squareThumbnail(BufferedImage source, int size) {
+        int side = Math.min(source.getWidth(), source.getHeight());
+        int x = (source.getWidth() - side) / 2;
+        int y = (source.getHeight() - side) / 2;
+        BufferedImage thumbnail = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = thumbnail.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, size, size, x, y, x + side, y + side, null);
+        } finally {
+            g.dispose();
+        }
+        return thumbnail;
+    }
+
+    /**
+     * immutable: content never changes for this URL (false for the fallback served in place of a thumbnail)
+     */
+    public record AvatarFile(Path path, MediaType mediaType, String etag, boolean immutable) {
+    }
+}
@@ -0,0 +1,149 @@
+package com.schoolforum.service;
+
+import com.schoolforum.config.ContentCompressionConfig;
+import com.schoolforum.dto.JobDTO;
+import com.schoolforum.jobs.JobContext;
+import com.schoolforum.jobs.JobHandler;
+import com.schoolforum.jobs.JobQueueService;
+import com.schoolforum.model.CompressedTextConverter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SERVICE LAYER - Compress existing post bodies
+ * New and edited posts are compressed by CompressedTextConverter as they are written; this
+ * job rewrites rows stored before that (plain and at least MIN_COMPRESS_BYTES long) on the
+ * "content-compression" queue, one batch per transaction, resuming from the last id.
+ * A row is only rewritten if updated_at and render_version are unchanged since it was read,
+ * so concurrent edits and re-renders win. Byte totals before/after are kept in the job progress.
+ */
+@Slf4j
+@Service
+public class ContentCompressionService implements JobHandler {
+
+    public static final String QUEUE = "content-compression";
+
+    private static final List<TableSpec> TABLES = List.of(
+        new TableSpec("thread_bodies", "thread_id"),
+        new TableSpec("replies", "id"));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JobQueueService jobQueueService;
+
+    @Autowired
+    private ContentCompressionConfig config;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final CompressedTextConverter converter = new CompressedTextConverter();
+
+    /**
+     * Queue the backfill; returns the already queued or running job when there is one
+     */
+    @Transactional
+    public JobDTO submit() {
+        return jobQueueService.toDTO(jobQueueService.enqueue(QUEUE, Map.of(), "compress-content"));
+    }
+
+    @Override
+    public String queue() {
+        return QUEUE;
+    }
+
+    @Override
+    public void execute(JobContext context) {
+        Map<String, Object> progress = new HashMap<>(context.getProgress());
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        for (TableSpec table : TABLES) {
+            String cursorKey = table.name() + ".lastId";
+            int rows;
+            do {
+                long after = toLong(progress.get(cursorKey));
+                BatchResult batch = tx.execute(status -> compressBatch(table, after));
+                rows = batch.rows();
+                if (rows > 0) {
+                    progress.put(cursorKey, batch.lastId());
+                    progress.merge(table.name() + ".rewritten", batch.rewritten(), (a, b) -> toLong(a) + toLong(b));
+                    progress.merge("bytesBefore", batch.bytesBefore(), (a, b) -> toLong(a) + toLong(b));
+                    progress.merge("bytesAfter", batch.bytesAfter(), (a, b) -> toLong(a) + toLong(b));
+                    context.saveProgress(progress);
+                }
+            } while (rows == config.getBatchSize());
+        }
+
+        log.info("Compressed post bodies: {} -> {} bytes", toLong(progress.get("bytesBefore")), toLong(progress.get("bytesAfter")));
+    }
+
+    // ===== Helpers =====
+
+    private BatchResult compressBatch(TableSpec table, long afterId) {
+        int min = CompressedTextConverter.MIN_COMPRESS_BYTES;
+        String id = table.idColumn();
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+            "SELECT " + id + " AS id, content, content_html, updated_at, render_version FROM " + table.name() +
+            " WHERE " + id + " > ? AND ((OCTET_LENGTH(content) >= ? AND SUBSTRING(content, 1, 1) <> X'FF')" +
+            " OR (OCTET_LENGTH(content_html) >= ? AND SUBSTRING(content_html, 1, 1) <> X'FF'))" +
+            " ORDER BY " + id + " LIMIT ?",
+            afterId, min, min, config.getBatchSize());
+
+        long lastId = afterId;
+        long rewritten = 0;
+        long bytesBefore = 0;
+        long bytesAfter = 0;
+        for (Map<String, Object> row : rows) {
+            lastId = ((Number) row.get("id")).longValue();
+            byte[] content = (byte[]) row.get("content");
+            byte[] html = (byte[]) row.get("content_html");
+            byte[] newContent = recompress(content);
+            byte[] newHtml = recompress(html);
+            Number renderVersion = (Number) row.get("render_version");
+            int updated = jdbcTemplate.update(
+                "UPDATE " + table.name() + " SET content = ?, content_html = ? " +
+                "WHERE " + id + " = ? AND updated_at = ? AND COALESCE(render_version, -1) = ?",
+                newContent, newHtml, lastId, (Timestamp) row.get("updated_at"),
+                renderVersion == null ? -1 : renderVersion.intValue());
+            if (updated == 1) {
+                rewritten++;
+                bytesBefore += length(content) + length(html);
+                bytesAfter += length(newContent) + length(newHtml);
+            }
+        }
+        return new BatchResult(rows.size(), lastId, rewritten, bytesBefore, bytesAfter);
+    }
+
+    private byte[] recompress(byte[] column) {
+        if (column == null || CompressedTextConverter.isCompressed(column)) {
+            return column;
+        }
+        return converter.convertToDatabaseColumn(converter.convertToEntityAttribute(column));
+    }
+
+    private static long length(byte[] column) {
+        return column == null ? 0 : column.length;
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : 0;
+    }
+
+    private record TableSpec(String name, String idColumn) {
+    }
+
+    private record BatchResult(int rows, long lastId, long rewritten, long bytesBefore, long bytesAfter) {
+    }
+}
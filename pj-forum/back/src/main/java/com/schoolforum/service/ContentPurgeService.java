@@ -0,0 +1,247 @@
+package com.schoolforum.service;
+
+import com.schoolforum.config.PurgeConfig;
+import com.schoolforum.dao.CategoryDAO;
+import com.schoolforum.dao.ReactionDAO;
+import com.schoolforum.dao.ReplyDAO;
+import com.schoolforum.dao.ThreadBodyDAO;
+import com.schoolforum.dao.ThreadDAO;
+import com.schoolforum.dao.UserDAO;
+import com.schoolforum.dao.UserStorageUsageDAO;
+import com.schoolforum.events.DomainEventType;
+import com.schoolforum.events.OutboxService;
+import com.schoolforum.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * SERVICE LAYER - Bulk content deletion
+ * Deletes with chunked bulk statements in foreign-key order instead of cascading through
+ * the persistence context, so nothing is loaded into memory and each chunk commits on its own
+ * (or joins the caller's transaction when there is one).
+ * An interrupted purge can simply be run again; it picks up whatever rows are left.
+ */
+@Slf4j
+@Service
+public class ContentPurgeService {
+
+    @Autowired
+    private ThreadDAO threadDAO;
+
+    @Autowired
+    private ReplyDAO replyDAO;
+
+    @Autowired
+    private ThreadBodyDAO threadBodyDAO;
+
+    @Autowired
+    private ReactionDAO reactionDAO;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private CategoryDAO categoryDAO;
+
+    @Autowired
+    private UserStorageUsageDAO userStorageUsageDAO;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private AttachmentService attachmentService;
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    @Autowired
+    private ReactionService reactionService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private PurgeConfig config;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Delete threads by id together with their replies and tag links
+     */
+    public PurgeResult purgeThreads(Collection<Long> threadIds) {
+        List<Long> ids = new ArrayList<>(threadIds);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        PurgeResult total = PurgeResult.NONE;
+        for (int from = 0; from < ids.size(); from += config.getChunkSize()) {
+            List<Long> chunk = ids.subList(from, Math.min(from + config.getChunkSize(), ids.size()));
+            total = total.plus(tx.execute(status -> deleteThreadChunk(chunk)));
+        }
+        return total;
+    }
+
+    /**
+     * Bulk delete by an admin, with deleteThread's rule: other admins' threads are off limits,
+     * so the whole request is rejected when it names one
+     */
+    public PurgeResult purgeThreadsAsAdmin(Collection<Long> threadIds, Long adminId) {
+        List<Long> otherAdminThreads = threadDAO.findIdsByOtherAdmins(threadIds, adminId);
+        if (!otherAdminThreads.isEmpty()) {
+            throw new RuntimeException("Cannot delete another Admin's thread: " + otherAdminThreads);
+        }
+        return purgeThreads(threadIds);
+    }
+
+    /**
+     * Delete all threads of a category; the category itself is kept
+     */
+    public PurgeResult purgeCategoryThreads(Long categoryId) {
+        return purgeInChunks(() -> threadDAO.findIdsByCategoryId(categoryId, firstChunk()), null);
+    }
+
+    /**
+     * Delete the threads of a category an admin may delete; other admins' threads stay
+     */
+    public PurgeResult purgeCategoryThreadsAsAdmin(Long categoryId, Long adminId) {
+        return purgeInChunks(() -> threadDAO.findIdsByCategoryIdDeletableBy(categoryId, adminId, firstChunk()), null);
+    }
+
+    /**
+     * Delete unpinned threads created before the cut-off; beforeChunk runs inside each chunk's
+     * transaction (used for the cluster lock fencing check)
+     */
+    public PurgeResult purgeThreadsCreatedBefore(LocalDateTime cutoff, Runnable beforeChunk) {
+        return purgeInChunks(() -> {
+            beforeChunk.run();
+            return threadDAO.findIdsCreatedBefore(cutoff, firstChunk());
+        }, null);
+    }
+
+    /**
+     * Delete a category with all its threads and their replies
+     */
+    public PurgeResult purgeCategory(Long categoryId) {
+        PurgeResult result = purgeCategoryThreads(categoryId);
+        new TransactionTemplate(transactionManager)
+            .executeWithoutResult(status -> {
+                categoryDAO.bulkDeleteById(categoryId);
+                entityCacheService.evictCategory(categoryId);
+            });
+        log.info("Purged category {} ({} threads, {} replies)", categoryId, result.threads(), result.replies());
+        return result;
+    }
+
+    /**
+     * Delete a user with all their threads (and the replies in them) and all their replies.
+     * Order: ban account -> thread chunks -> reply chunks -> reaction chunks -> storage usage + user row
+     */
+    public void purgeUser(Long userId, PurgeProgress progress) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        // No new content while the purge runs
+        tx.executeWithoutResult(status -> {
+            userDAO.updateStatus(userId, User.UserStatus.BANNED);
+            entityCacheService.evictUser(userId);
+        });
+
+        purgeInChunks(() -> threadDAO.findIdsByAuthorId(userId, firstChunk()), progress);
+
+        int deleted;
+        do {
+            deleted = tx.execute(status -> {
+                List<Long> replyIds = replyDAO.findIdsByAuthorId(userId, firstChunk());
+                if (replyIds.isEmpty()) {
+                    return 0;
+                }
+                userStatsService.beforeRepliesDeleted(replyIds);
+                reactionService.beforeRepliesDeleted(replyIds);
+                progress.deleted(0, replyDAO.bulkDeleteByIds(replyIds));
+                return replyIds.size();
+            });
+        } while (deleted == config.getChunkSize());
+
+        do {
+            deleted = tx.execute(status -> {
+                List<Long> reactionIds = reactionDAO.findIdsByUserId(userId, firstChunk());
+                return reactionIds.isEmpty() ? 0 : reactionService.deleteReactions(reactionIds);
+            });
+        } while (deleted == config.getChunkSize());
+
+        tx.executeWithoutResult(status -> {
+            userStorageUsageDAO.deleteById(userId);
+            userStatsService.userDeleted(userId);
+            userDAO.bulkDeleteById(userId);
+            entityCacheService.evictUser(userId);
+        });
+        log.info("Purged user {}", userId);
+    }
+
+    // ===== Helpers =====
+
+    /**
+     * Repeatedly fetch the next chunk of thread ids and delete it, one transaction per chunk
+     */
+    private PurgeResult purgeInChunks(Supplier<List<Long>> nextThreadIds, PurgeProgress progress) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        PurgeResult total = PurgeResult.NONE;
+        PurgeResult chunk;
+        do {
+            chunk = tx.execute(status -> deleteThreadChunk(nextThreadIds.get()));
+            if (progress != null && chunk.threads() > 0) {
+                progress.deleted(chunk.threads(), chunk.replies());
+            }
+            total = total.plus(chunk);
+        } while (chunk.threads() == config.getChunkSize());
+        return total;
+    }
+
+    // Counters, attachments and reactions, then replies and bodies, then the threads (Hibernate clears their thread_tags rows)
+    private PurgeResult deleteThreadChunk(List<Long> threadIds) {
+        if (threadIds.isEmpty()) {
+            return PurgeResult.NONE;
+        }
+        attachmentService.releaseForThreads(threadIds);
+        userStatsService.beforeThreadsDeleted(threadIds);
+        reactionService.beforeThreadsDeleted(threadIds);
+        int replies = replyDAO.bulkDeleteByThreadIds(threadIds);
+        threadBodyDAO.bulkDeleteByThreadIds(threadIds);
+        int threads = threadDAO.bulkDeleteByIds(threadIds);
+        threadIds.forEach(entityCacheService::evictThreadTags);
+        threadIds.forEach(threadId -> outboxService.record(DomainEventType.THREAD_DELETED, threadId, Map.of("threadId", threadId)));
+        return new PurgeResult(threads, replies);
+    }
+
+    private PageRequest firstChunk() {
+        return PageRequest.of(0, config.getChunkSize());
+    }
+
+    /**
+     * Rows deleted by a purge
+     */
+    public record PurgeResult(int threads, int replies) {
+        static final PurgeResult NONE = new PurgeResult(0, 0);
+
+        PurgeResult plus(PurgeResult other) {
+            return new PurgeResult(threads + other.threads, replies + other.replies);
+        }
+    }
+
+    /**
+     * Receives row counts after each committed chunk
+     */
+    public interface PurgeProgress {
+        void deleted(int threads, int replies);
+    }
+}
@@ -0,0 +1,126 @@
+package com.schoolforum.service;
+
+import com.schoolforum.config.RenderConfig;
+import com.schoolforum.dao.ReplyDAO;
+import com.schoolforum.dao.ThreadBodyDAO;
+import com.schoolforum.jobs.JobContext;
+import com.schoolforum.jobs.JobHandler;
+import com.schoolforum.jobs.JobQueueService;
+import com.schoolforum.render.MarkdownRenderer;
+import com.schoolforum.render.RenderSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SERVICE LAYER - Background Markdown re-rendering
+ * Posts are rendered when they are written; this job only brings stored HTML from an older
+ * MarkdownRenderer.VERSION (or rows written before rendering existed) up to date. Until a
+ * row is re-rendered its HTML is rendered per request instead of served from the column.
+ * Runs on the "content-render" queue, one batch per transaction, resuming from the last id.
+ */
+@Slf4j
+@Service
+public class ContentRenderService implements JobHandler {
+
+    public static final String QUEUE = "content-render";
+
+    @Autowired
+    private ThreadBodyDAO threadBodyDAO;
+
+    @Autowired
+    private ReplyDAO replyDAO;
+
+    @Autowired
+    private MarkdownRenderer markdownRenderer;
+
+    @Autowired
+    private JobQueueService jobQueueService;
+
+    @Autowired
+    private RenderConfig config;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Queue a re-render when stale rows exist; the dedup key keeps it to one job per version
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void enqueueIfStale() {
+        if (!config.isRerenderOnStartup()) {
+            return;
+        }
+        int version = MarkdownRenderer.VERSION;
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            if (threadBodyDAO.existsRenderedBefore(version) || replyDAO.existsRenderedBefore(version)) {
+                jobQueueService.enqueue(QUEUE, Map.of("version", version), "render:v" + version);
+            }
+        });
+    }
+
+    @Override
+    public String queue() {
+        return QUEUE;
+    }
+
+    @Override
+    public void execute(JobContext context) {
+        int version = MarkdownRenderer.VERSION;
+        Map<String, Object> progress = new HashMap<>(context.getProgress());
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        long lastThreadId = toLong(progress.get("lastThreadId"));
+        List<RenderSource> batch;
+        do {
+            long after = lastThreadId;
+            batch = tx.execute(status -> {
+                List<RenderSource> rows = threadBodyDAO.findRenderedBefore(version, after, firstBatch());
+                rows.forEach(row -> threadBodyDAO.updateRendered(row.getId(), markdownRenderer.render(row.getContent()), version));
+                return rows;
+            });
+            if (!batch.isEmpty()) {
+                lastThreadId = batch.get(batch.size() - 1).getId();
+                progress.put("lastThreadId", lastThreadId);
+                progress.put("threads", toLong(progress.get("threads")) + batch.size());
+                context.saveProgress(progress);
+            }
+        } while (batch.size() == config.getBatchSize());
+
+        long lastReplyId = toLong(progress.get("lastReplyId"));
+        do {
+            long after = lastReplyId;
+            batch = tx.execute(status -> {
+                List<RenderSource> rows = replyDAO.findRenderedBefore(version, after, firstBatch());
+                rows.forEach(row -> replyDAO.updateRendered(row.getId(), markdownRenderer.render(row.getContent()), version));
+                return rows;
+            });
+            if (!batch.isEmpty()) {
+                lastReplyId = batch.get(batch.size() - 1).getId();
+                progress.put("lastReplyId", lastReplyId);
+                progress.put("replies", toLong(progress.get("replies")) + batch.size());
+                context.saveProgress(progress);
+            }
+        } while (batch.size() == config.getBatchSize());
+
+        log.info("Re-rendered {} threads and {} replies to renderer version {}",
+            toLong(progress.get("threads")), toLong(progress.get("replies")), version);
+    }
+
+    private PageRequest firstBatch() {
+        return PageRequest.of(0, config.getBatchSize());
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : 0;
+    }
+}
@@ -0,0 +1,35 @@
+package com.schoolforum.service;
+
+import com.schoolforum.cache.CacheRegions;
+import com.schoolforum.cache.InvalidationBus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * SERVICE LAYER - Second-level cache eviction
+ * Entity saves keep this node's cache in sync on their own; these methods cover writes that
+ * bypass the persistence context (bulk/JDBC updates) and, through the invalidation bus, the
+ * caches of every other node. Called from every write path of the cached entities; inside a
+ * transaction the eviction happens once it commits.
+ */
+@Service
+public class EntityCacheService {
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    public void evictUser(Long userId) {
+        invalidationBus.publish(CacheRegions.USER, userId);
+    }
+
+    /**
+     * Category entry plus the cached category list
+     */
+    public void evictCategory(Long categoryId) {
+        invalidationBus.publish(CacheRegions.CATEGORY, categoryId);
+    }
+
+    public void evictThreadTags(Long threadId) {
+        invalidationBus.publish(CacheRegions.THREAD_TAGS, threadId);
+    }
+}
@@ -0,0 +1,115 @@
+package com.schoolforum.service;
+
+import com.schoolforum.dao.ForumSettingDAO;
+import com.schoolforum.model.ForumSetting;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * SERVICE LAYER - Runtime forum settings
+ * Settings live in the forum_settings table and are served from an immutable snapshot that is
+ * swapped atomically, so readers never lock. Each node polls a version stamp and reloads the
+ * snapshot when another node changed a setting. Keys missing from the table fall back to
+ * application.properties.
+ */
+@Slf4j
+@Service
+public class ForumSettingsService {
+
+    public static final String AUTO_DELETE_DAYS = "forum.thread.auto-delete-days";
+
+    @Autowired
+    private ForumSettingDAO forumSettingDAO;
+
+    @Value("${forum.thread.auto-delete-days:90}")
+    private int defaultAutoDeleteDays;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+
+    @PostConstruct
+    void init() {
+        reload();
+    }
+
+    /**
+     * Current snapshot (lock-free)
+     */
+    public Snapshot current() {
+        return snapshot.get();
+    }
+
+    public int getAutoDeleteDays() {
+        return current().getInt(AUTO_DELETE_DAYS, defaultAutoDeleteDays);
+    }
+
+    /**
+     * Store a setting; this node sees it right after commit, others on their next poll
+     */
+    @Transactional
+    public void update(String key, String value) {
+        ForumSetting setting = forumSettingDAO.findById(key).orElseGet(() -> {
+            ForumSetting created = new ForumSetting();
+            created.setSettingKey(key);
+            return created;
+        });
+        setting.setSettingValue(value);
+        setting.setUpdatedAt(LocalDateTime.now());
+        forumSettingDAO.save(setting);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reload();
+            }
+        });
+    }
+
+    /**
+     * Reload when the version stamp moved (setting changed on any node)
+     */
+    @Scheduled(fixedDelayString = "${forum.settings.poll-interval-ms:5000}")
+    public void poll() {
+        if (forumSettingDAO.versionStamp() != current().version()) {
+            reload();
+        }
+    }
+
+    private synchronized void reload() {
+        long version = forumSettingDAO.versionStamp();
+        Map<String, String> values = new HashMap<>();
+        forumSettingDAO.findAll().forEach(setting -> values.put(setting.getSettingKey(), setting.getSettingValue()));
+        snapshot.set(new Snapshot(version, Map.copyOf(values)));
+        log.debug("Loaded forum settings version {}: {}", version, values.keySet());
+    }
+
+    /**
+     * Immutable view of all stored settings at one version
+     */
+    public record Snapshot(long version, Map<String, String> values) {
+        static final Snapshot EMPTY = new Snapshot(-1, Map.of());
+
+        public int getInt(String key, int defaultValue) {
+            String value = values.get(key);
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+    }
+}
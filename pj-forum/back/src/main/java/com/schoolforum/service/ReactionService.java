@@ -0,0 +1,406 @@
+package com.schoolforum.service;
+
+import com.schoolforum.config.ReactionConfig;
+import com.schoolforum.dao.ReactionCountDAO;
+import com.schoolforum.dao.ReactionDAO;
+import com.schoolforum.dao.ReplyDAO;
+import com.schoolforum.dao.ThreadDAO;
+import com.schoolforum.exception.ResourceNotFoundException;
+import com.schoolforum.lock.ClusterLock;
+import com.schoolforum.model.Reaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * SERVICE LAYER - Reactions on threads and replies
+ * The reactions row is written in the request (the unique key makes PUT/DELETE idempotent);
+ * the matching +1/-1 goes into striped in-memory counters after commit and reaches
+ * reaction_counts in sorted batches on the next flush, so a popular post costs one upsert
+ * per flush instead of one row lock per reaction. Counts lag by up to one flush interval;
+ * deltas lost with a crashed node are repaired by the nightly reconciliation.
+ */
+@Slf4j
+@Service
+public class ReactionService {
+
+    // Rows are touched in key order so concurrent flushes do not deadlock
+    private static final String UPSERT_DELTA_SQL =
+        "INSERT INTO reaction_counts (target_type, target_id, type, total) VALUES (?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE total = total + VALUES(total)";
+
+    private static final String UPSERT_ABSOLUTE_SQL =
+        "INSERT INTO reaction_counts (target_type, target_id, type, total) VALUES (?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE total = VALUES(total)";
+
+    private static final String DELETE_COUNT_SQL =
+        "DELETE FROM reaction_counts WHERE target_type = ? AND target_id = ? AND type = ?";
+
+    @Autowired
+    private ReactionDAO reactionDAO;
+
+    @Autowired
+    private ReactionCountDAO reactionCountDAO;
+
+    @Autowired
+    private ThreadDAO threadDAO;
+
+    @Autowired
+    private ReplyDAO replyDAO;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReactionConfig config;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private StripedCounters pending;
+
+    @PostConstruct
+    void init() {
+        pending = new StripedCounters(config.getCounterStripes());
+    }
+
+    /**
+     * Add the user's reaction; reacting again with the same type changes nothing
+     */
+    @Transactional
+    public void react(Long userId, Reaction.TargetType targetType, Long targetId, Reaction.Type type) {
+        requireTarget(targetType, targetId);
+        if (reactionDAO.insertIfAbsent(userId, targetType.name(), targetId, type.name(), LocalDateTime.now()) > 0) {
+            countAfterCommit(new Key(targetType, targetId, type), 1);
+        }
+    }
+
+    /**
+     * Remove the user's reaction, if there is one
+     */
+    @Transactional
+    public void unreact(Long userId, Reaction.TargetType targetType, Long targetId, Reaction.Type type) {
+        if (reactionDAO.deleteReaction(userId, targetType, targetId, type) > 0) {
+            countAfterCommit(new Key(targetType, targetId, type), -1);
+        }
+    }
+
+    /**
+     * Counts (one query) and, for a signed-in viewer, their own reactions (one query)
+     * for a page of threads and replies
+     */
+    @Transactional(readOnly = true)
+    public Summaries summarize(Collection<Long> threadIds, Collection<Long> replyIds, Long viewerId) {
+        if (threadIds.isEmpty() && replyIds.isEmpty()) {
+            return Summaries.EMPTY;
+        }
+        Map<Target, Map<String, Long>> counts = new HashMap<>();
+        reactionCountDAO.findByTargets(threadIds, replyIds).forEach(c -> counts
+            .computeIfAbsent(new Target(c.getTargetType(), c.getTargetId()), t -> new TreeMap<>())
+            .put(c.getType().name(), c.getTotal()));
+
+        Map<Target, List<String>> mine = new HashMap<>();
+        if (viewerId != null) {
+            reactionDAO.findMine(viewerId, threadIds, replyIds).forEach(r -> mine
+                .computeIfAbsent(new Target(r.getTargetType(), r.getTargetId()), t -> new ArrayList<>())
+                .add(r.getType().name()));
+        }
+        return new Summaries(counts, mine);
+    }
+
+    // ===== Delete paths (caller's transaction) =====
+
+    /**
+     * Before a bulk delete of threads (and with them their replies)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void beforeThreadsDeleted(Collection<Long> threadIds) {
+        reactionCountDAO.bulkDeleteOnRepliesInThreads(threadIds);
+        reactionCountDAO.bulkDeleteOnThreads(threadIds);
+        reactionDAO.bulkDeleteOnRepliesInThreads(threadIds);
+        reactionDAO.bulkDeleteOnThreads(threadIds);
+    }
+
+    /**
+     * Before a delete of replies by id
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void beforeRepliesDeleted(Collection<Long> replyIds) {
+        reactionCountDAO.bulkDeleteOnReplies(replyIds);
+        reactionDAO.bulkDeleteOnReplies(replyIds);
+    }
+
+    /**
+     * Delete reactions by id (a purged user's) and take them off the counts right away
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int deleteReactions(Collection<Long> reactionIds) {
+        Map<Key, Long> deltas = new TreeMap<>();
+        reactionDAO.countByTargetForIds(reactionIds)
+            .forEach(t -> deltas.put(new Key(t.getTargetType(), t.getTargetId(), t.getType()), -t.getTotal()));
+        upsert(UPSERT_DELTA_SQL, deltas.entrySet());
+        return reactionDAO.bulkDeleteByIds(reactionIds);
+    }
+
+    // ===== Write-behind =====
+
+    /**
+     * Apply this node's pending deltas, flushBatchSize count rows per transaction.
+     * A failed batch and everything after it go back into the counters for the next run.
+     */
+    @Scheduled(fixedDelayString = "${forum.reactions.flush-interval-ms:1000}")
+    public void flush() {
+        List<Map.Entry<Key, Long>> deltas = new ArrayList<>(pending.drain().entrySet());
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        for (int from = 0; from < deltas.size(); from += config.getFlushBatchSize()) {
+            List<Map.Entry<Key, Long>> batch = deltas.subList(from, Math.min(from + config.getFlushBatchSize(), deltas.size()));
+            try {
+                tx.executeWithoutResult(status -> upsert(UPSERT_DELTA_SQL, batch));
+            } catch (RuntimeException e) {
+                List<Map.Entry<Key, Long>> unapplied = deltas.subList(from, deltas.size());
+                unapplied.forEach(delta -> pending.add(delta.getKey(), delta.getValue()));
+                log.warn("Flushing {} reaction counts failed, retrying on the next run: {}", unapplied.size(), e.toString());
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    // ===== Reconciliation =====
+
+    /**
+     * Recount every target with count rows (dropping rows of deleted posts), then every target
+     * whose reactions never reached reaction_counts. Deltas still pending on another node when
+     * their target is recounted are applied on top; the next run corrects them.
+     */
+    @Scheduled(cron = "${forum.reactions.reconcile-cron:0 15 4 * * *}")
+    @ClusterLock(name = "reaction-count-reconcile", lockAtMostFor = "PT30M", lockAtLeastFor = "PT1M")
+    public void reconcile() {
+        flush();
+        int repaired = reconcileTargets(
+            "SELECT DISTINCT target_type, target_id FROM reaction_counts " +
+            "WHERE target_type > ? OR (target_type = ? AND target_id > ?) " +
+            "ORDER BY target_type, target_id LIMIT ?");
+        repaired += reconcileTargets(
+            "SELECT DISTINCT r.target_type, r.target_id FROM reactions r " +
+            "WHERE (r.target_type > ? OR (r.target_type = ? AND r.target_id > ?)) AND NOT EXISTS (" +
+            "SELECT 1 FROM reaction_counts c WHERE c.target_type = r.target_type " +
+            "AND c.target_id = r.target_id AND c.type = r.type) " +
+            "ORDER BY r.target_type, r.target_id LIMIT ?");
+        if (repaired > 0) {
+            log.warn("Reaction count reconciliation repaired {} counts", repaired);
+        }
+    }
+
+    // ===== Helpers =====
+
+    private void requireTarget(Reaction.TargetType targetType, Long targetId) {
+        boolean exists = targetType == Reaction.TargetType.THREAD
+            ? threadDAO.existsById(targetId)
+            : replyDAO.existsById(targetId);
+        if (!exists) {
+            throw new ResourceNotFoundException(targetType == Reaction.TargetType.THREAD ? "Thread" : "Reply", "id", targetId);
+        }
+    }
+
+    private void countAfterCommit(Key key, long delta) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pending.add(key, delta);
+            }
+        });
+    }
+
+    private void upsert(String sql, Collection<Map.Entry<Key, Long>> counts) {
+        if (counts.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(counts.size());
+        counts.forEach(c -> rows.add(new Object[] {
+            c.getKey().targetType().name(), c.getKey().targetId(), c.getKey().type().name(), c.getValue()}));
+        jdbcTemplate.batchUpdate(sql, rows);
+    }
+
+    /**
+     * Walk the targets returned by a keyset query (after type, after type, after id, limit)
+     */
+    private int reconcileTargets(String nextTargetsSql) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        String afterType = "";
+        long afterId = 0;
+        int repaired = 0;
+        List<Target> targets;
+        do {
+            targets = jdbcTemplate.query(nextTargetsSql,
+                (rs, rowNum) -> new Target(Reaction.TargetType.valueOf(rs.getString(1)), rs.getLong(2)),
+                afterType, afterType, afterId, config.getReconcileBatchSize());
+            if (targets.isEmpty()) {
+                break;
+            }
+            List<Target> batch = targets;
+            repaired += Objects.requireNonNull(tx.execute(status -> reconcileBatch(batch)));
+            Target last = targets.get(targets.size() - 1);
+            afterType = last.targetType().name();
+            afterId = last.targetId();
+        } while (targets.size() == config.getReconcileBatchSize());
+        return repaired;
+    }
+
+    /**
+     * Lock the batch's count rows, recount from reactions and rewrite only what differs
+     */
+    private int reconcileBatch(List<Target> targets) {
+        String in = String.join(",", Collections.nCopies(targets.size(), "(?, ?)"));
+        Object[] args = targets.stream()
+            .flatMap(t -> Stream.of(t.targetType().name(), t.targetId()))
+            .toArray();
+
+        Map<Key, Long> stored = new TreeMap<>();
+        jdbcTemplate.query(
+            "SELECT target_type, target_id, type, total FROM reaction_counts " +
+            "WHERE (target_type, target_id) IN (" + in + ") FOR UPDATE",
+            rs -> {
+                stored.put(keyOf(rs.getString(1), rs.getLong(2), rs.getString(3)), rs.getLong(4));
+            },
+            args);
+
+        Map<Key, Long> actual = new TreeMap<>();
+        jdbcTemplate.query(
+            "SELECT target_type, target_id, type, COUNT(*) FROM reactions " +
+            "WHERE (target_type, target_id) IN (" + in + ") GROUP BY target_type, target_id, type",
+            rs -> {
+                actual.put(keyOf(rs.getString(1), rs.getLong(2), rs.getString(3)), rs.getLong(4));
+            },
+            args);
+
+        Map<Key, Long> fixes = new TreeMap<>();
+        actual.forEach((key, total) -> {
+            if (!total.equals(stored.get(key))) {
+                fixes.put(key, total);
+            }
+        });
+        List<Object[]> removals = new ArrayList<>();
+        stored.keySet().stream()
+            .filter(key -> !actual.containsKey(key))
+            .forEach(key -> removals.add(new Object[] {key.targetType().name(), key.targetId(), key.type().name()}));
+
+        upsert(UPSERT_ABSOLUTE_SQL, fixes.entrySet());
+        if (!removals.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_COUNT_SQL, removals);
+        }
+        return fixes.size() + removals.size();
+    }
+
+    private static Key keyOf(String targetType, long targetId, String type) {
+        return new Key(Reaction.TargetType.valueOf(targetType), targetId, Reaction.Type.valueOf(type));
+    }
+
+    private record Target(Reaction.TargetType targetType, long targetId) {
+    }
+
+    private record Key(Reaction.TargetType targetType, long targetId, Reaction.Type type) implements Comparable<Key> {
+
+        private static final Comparator<Key> ORDER = Comparator.comparing(Key::targetType)
+            .thenComparingLong(Key::targetId)
+            .thenComparing(Key::type);
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    /**
+     * Pending count deltas split over independently locked stripes, so concurrent reactions
+     * (also on the same post) rarely wait on each other; drain() swaps each stripe's map out
+     */
+    private static final class StripedCounters {
+
+        private final Stripe[] stripes;
+
+        StripedCounters(int stripeCount) {
+            stripes = new Stripe[Math.max(1, stripeCount)];
+            for (int i = 0; i < stripes.length; i++) {
+                stripes[i] = new Stripe();
+            }
+        }
+
+        void add(Key key, long delta) {
+            Stripe stripe = stripes[ThreadLocalRandom.current().nextInt(stripes.length)];
+            synchronized (stripe) {
+                stripe.deltas.merge(key, delta, Long::sum);
+            }
+        }
+
+        // Summed over all stripes, zero deltas dropped, in key order
+        Map<Key, Long> drain() {
+            Map<Key, Long> total = new TreeMap<>();
+            for (Stripe stripe : stripes) {
+                Map<Key, Long> deltas;
+                synchronized (stripe) {
+                    deltas = stripe.deltas;
+                    stripe.deltas = new HashMap<>();
+                }
+                deltas.forEach((key, delta) -> total.merge(key, delta, Long::sum));
+            }
+            total.values().removeIf(delta -> delta == 0);
+            return total;
+        }
+
+        private static final class Stripe {
+            Map<Key, Long> deltas = new HashMap<>();
+        }
+    }
+
+    /**
+     * Reaction counts and the viewer's own reactions for one page, by target
+     */
+    public static final class Summaries {
+
+        static final Summaries EMPTY = new Summaries(Map.of(), Map.of());
+
+        private final Map<Target, Map<String, Long>> counts;
+        private final Map<Target, List<String>> mine;
+
+        private Summaries(Map<Target, Map<String, Long>> counts, Map<Target, List<String>> mine) {
+            this.counts = counts;
+            this.mine = mine;
+        }
+
+        public Map<String, Long> countsOf(Reaction.TargetType targetType, Long targetId) {
+            return counts.getOrDefault(new Target(targetType, targetId), Map.of());
+        }
+
+        public List<String> mineOf(Reaction.TargetType targetType, Long targetId) {
+            return mine.getOrDefault(new Target(targetType, targetId), List.of());
+        }
+    }
+}
@@ -6,15 +6,21 @@ import com.schoolforum.dao.UserDAO;
 import com.schoolforum.dto.AuthorDTO;
 import com.schoolforum.dto.CreateReplyRequest;
 import com.schoolforum.dto.ReplyDTO;
+import com.schoolforum.events.DomainEventType;
+import com.schoolforum.events.OutboxService;
+import com.schoolforum.metrics.ForumMetrics;
+import com.schoolforum.model.Reaction;
 import com.schoolforum.model.Reply;
 import com.schoolforum.model.Thread;
 import com.schoolforum.model.User;
+import com.schoolforum.render.MarkdownRenderer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -32,13 +38,31 @@ public class ReplyService {
     @Autowired
     private UserDAO userDAO;
 
+    @Autowired
+    private ForumMetrics forumMetrics;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private MarkdownRenderer markdownRenderer;
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    @Autowired
+    private ReactionService reactionService;
+
     /**
-     * Get all replies for a thread
+     * Get all replies for a thread, with reaction counts and the viewer's reactions (viewerId null for guests)
      */
-    public List<ReplyDTO> getRepliesByThread(Long threadId) {
+    @Transactional(readOnly = true)
+    public List<ReplyDTO> getRepliesByThread(Long threadId, Long viewerId) {
         List<Reply> replies = replyDAO.findByThreadId(threadId);
+        List<Long> replyIds = replies.stream().map(Reply::getId).collect(Collectors.toList());
+        ReactionService.Summaries reactions = reactionService.summarize(List.of(), replyIds, viewerId);
         return replies.stream()
-            .map(this::convertToDTO)
+            .map(reply -> convertToDTO(reply, reactions))
             .collect(Collectors.toList());
     }
 
@@ -55,18 +79,27 @@ public class ReplyService {
         
         Reply reply = new Reply();
         reply.setContent(request.getContent());
+        reply.setContentHtml(markdownRenderer.render(request.getContent()));
+        reply.setRenderVersion(MarkdownRenderer.VERSION);
         reply.setThread(thread);
         reply.setAuthor(author);
         reply.setCreatedAt(LocalDateTime.now());
         reply.setUpdatedAt(LocalDateTime.now());
         
         Reply saved = replyDAO.save(reply);
+        userStatsService.replyCreated(author.getId(), thread.getAuthor().getId());
+        forumMetrics.replyCreated();
         
         // Update thread's last reply time
         thread.setLastReplyAt(LocalDateTime.now());
         threadDAO.save(thread);
         
-        return convertToDTO(saved);
+        outboxService.record(DomainEventType.REPLY_CREATED, threadId, Map.of(
+            "replyId", saved.getId(),
+            "threadId", threadId,
+            "authorId", author.getId()
+        ));
+        return convertToDTO(saved, ReactionService.Summaries.EMPTY);
     }
     /**
      * Delete reply
@@ -83,18 +116,23 @@ public class ReplyService {
             throw new RuntimeException("Unauthorized to delete this reply");
         }
         
+        userStatsService.replyDeleted(reply.getAuthor().getId(), reply.getThread().getAuthor().getId());
+        reactionService.beforeRepliesDeleted(List.of(replyId));
         replyDAO.delete(reply);
     }
 
     // ===== DTO Conversion =====
     
-    private ReplyDTO convertToDTO(Reply reply) {
+    private ReplyDTO convertToDTO(Reply reply, ReactionService.Summaries reactions) {
         ReplyDTO dto = new ReplyDTO();
         dto.setId(reply.getId());
         dto.setContent(reply.getContent());
+        dto.setContentHtml(markdownRenderer.htmlOf(reply.getContent(), reply.getContentHtml(), reply.getRenderVersion()));
         dto.setAuthor(convertToAuthorDTO(reply.getAuthor()));
         dto.setCreatedAt(reply.getCreatedAt());
         dto.setUpdatedAt(reply.getUpdatedAt());
+        dto.setReactions(reactions.countsOf(Reaction.TargetType.REPLY, reply.getId()));
+        dto.setMyReactions(reactions.mineOf(Reaction.TargetType.REPLY, reply.getId()));
         return dto;
     }
     
@@ -104,6 +142,9 @@ public class ReplyService {
         dto.setUsername(user.getUsername());
         dto.setAvatar(user.getAvatar());
         dto.setRole(user.getRole().name());
+        dto.setThreadCount(user.getThreadCount());
+        dto.setReplyCount(user.getReplyCount());
+        dto.setReputation(user.getReputation());
         return dto;
     }
 }
@@ -0,0 +1,44 @@
+package com.schoolforum.service;
+
+import com.schoolforum.lock.ClusterLock;
+import com.schoolforum.lock.ClusterLockService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * SERVICE LAYER - Thread auto-delete
+ * Deletes unpinned threads older than the auto-delete setting (0 = disabled). Runs on one node
+ * at a time; each chunk re-checks the lock so a node that lost it stops deleting.
+ */
+@Slf4j
+@Service
+public class ThreadRetentionService {
+
+    @Autowired
+    private ForumSettingsService forumSettingsService;
+
+    @Autowired
+    private ContentPurgeService contentPurgeService;
+
+    @Autowired
+    private ClusterLockService clusterLockService;
+
+    @Scheduled(cron = "${forum.thread.auto-delete-cron:0 30 3 * * *}")
+    @ClusterLock(name = "thread-auto-delete", lockAtMostFor = "PT10M", lockAtLeastFor = "PT1M")
+    public void deleteExpiredThreads() {
+        int days = forumSettingsService.getAutoDeleteDays();
+        if (days <= 0) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(days);
+        ContentPurgeService.PurgeResult result =
+            contentPurgeService.purgeThreadsCreatedBefore(cutoff, clusterLockService::verifyCurrent);
+        if (result.threads() > 0) {
+            log.info("Auto-deleted {} threads created before {} ({} replies)", result.threads(), cutoff, result.replies());
+        }
+    }
+}
@@ -2,8 +2,12 @@ package com.schoolforum.service;
 
 import com.schoolforum.dao.*;
 import com.schoolforum.dto.*;
+import com.schoolforum.events.DomainEventType;
+import com.schoolforum.events.OutboxService;
 import com.schoolforum.exception.ResourceNotFoundException;
+import com.schoolforum.metrics.ForumMetrics;
 import com.schoolforum.model.*;
+import com.schoolforum.render.MarkdownRenderer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -13,7 +17,14 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -37,44 +48,78 @@ public class ThreadService {
     @Autowired
     private ReplyDAO replyDAO;
 
+    @Autowired
+    private ForumMetrics forumMetrics;
+
+    @Autowired
+    private ContentPurgeService contentPurgeService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private AttachmentService attachmentService;
+
+    @Autowired
+    private MarkdownRenderer markdownRenderer;
+
+    @Autowired
+    private ThreadBodyDAO threadBodyDAO;
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    @Autowired
+    private ReactionService reactionService;
+
     /**
      * Get all threads with pagination
      */
+    @Transactional(readOnly = true)
     public Page<ThreadListDTO> getAllThreads(int page, int size, String sortBy) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, sortBy));
         Page<com.schoolforum.model.Thread> threads = threadDAO.findAll(pageable);
         
-        return threads.map(this::convertToListDTO);
+        Map<Long, Long> replyCounts = countReplies(threads.getContent());
+        ReactionService.Summaries reactions = summarizeReactions(threads.getContent());
+        return threads.map(thread -> convertToListDTO(thread, replyCounts, reactions));
     }
 
     /**
      * Get threads by category
      */
+    @Transactional(readOnly = true)
     public List<ThreadListDTO> getThreadsByCategory(Long categoryId) {
         Pageable pageable = PageRequest.of(0, 100);
         Page<com.schoolforum.model.Thread> threads = threadDAO.findByCategoryId(categoryId, pageable);
+        Map<Long, Long> replyCounts = countReplies(threads.getContent());
+        ReactionService.Summaries reactions = summarizeReactions(threads.getContent());
         return threads.stream()
-            .map(this::convertToListDTO)
+            .map(thread -> convertToListDTO(thread, replyCounts, reactions))
             .collect(Collectors.toList());
     }
 
     /**
      * Get threads by category with pagination
      */
+    @Transactional(readOnly = true)
     public Page<ThreadListDTO> getThreadsByCategoryPaged(Long categoryId, int page, int size, String sortBy) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, sortBy));
         Page<com.schoolforum.model.Thread> threads = threadDAO.findByCategoryId(categoryId, pageable);
-        return threads.map(this::convertToListDTO);
+        Map<Long, Long> replyCounts = countReplies(threads.getContent());
+        ReactionService.Summaries reactions = summarizeReactions(threads.getContent());
+        return threads.map(thread -> convertToListDTO(thread, replyCounts, reactions));
     }
 
     /**
-     * Get thread by ID with full details
+     * Get thread by ID with full details; viewerId (null for guests) gets their own reactions marked
      */
-    public ThreadDTO getThreadById(Long id) {
-        com.schoolforum.model.Thread thread = threadDAO.findById(id)
+    @Transactional(readOnly = true)
+    public ThreadDTO getThreadById(Long id, Long viewerId) {
+        com.schoolforum.model.Thread thread = threadDAO.findWithDetailsById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Thread", "id", id));
         
-        return convertToDetailDTO(thread);
+        return convertToDetailDTO(thread, viewerId);
     }
 
     /**
@@ -90,7 +135,6 @@ public class ThreadService {
         
         com.schoolforum.model.Thread thread = new com.schoolforum.model.Thread();
         thread.setTitle(request.getTitle());
-        thread.setContent(request.getContent());
         thread.setAuthor(author);
         thread.setCategory(category);
         thread.setPinned(false);
@@ -99,19 +143,23 @@ public class ThreadService {
         
         // Handle tags
         if (request.getTags() != null && !request.getTags().isEmpty()) {
-            List<Tag> tags = request.getTags().stream()
-                .map(tagName -> tagDAO.findByName(tagName)
-                    .orElseGet(() -> {
-                        Tag newTag = new Tag();
-                        newTag.setName(tagName);
-                        return tagDAO.save(newTag);
-                    }))
-                .collect(Collectors.toList());
-            thread.setTags(tags);
+            thread.setTags(resolveTags(request.getTags()));
         }
         
         com.schoolforum.model.Thread saved = threadDAO.save(thread);
-        return convertToDetailDTO(saved);
+        ThreadBody body = new ThreadBody();
+        body.setThread(saved);
+        writeBody(body, request.getContent());
+        threadBodyDAO.save(body);
+        userStatsService.threadCreated(author.getId());
+        forumMetrics.threadCreated();
+        outboxService.record(DomainEventType.THREAD_CREATED, saved.getId(), Map.of(
+            "threadId", saved.getId(),
+            "authorId", author.getId(),
+            "categoryId", category.getId(),
+            "title", saved.getTitle()
+        ));
+        return convertToDetailDTO(saved, userId);
     }
 
     /**
@@ -129,7 +177,9 @@ public class ThreadService {
         }
         
         thread.setTitle(request.getTitle());
-        thread.setContent(request.getContent());
+        ThreadBody body = threadBodyDAO.findById(threadId)
+            .orElseThrow(() -> new RuntimeException("Thread not found"));
+        writeBody(body, request.getContent());
         thread.setUpdatedAt(LocalDateTime.now());
         
         if (request.getCategoryId() != null) {
@@ -139,7 +189,7 @@ public class ThreadService {
         }
         
         com.schoolforum.model.Thread updated = threadDAO.save(thread);
-        return convertToDetailDTO(updated);
+        return convertToDetailDTO(updated, userId);
     }
 
     /**
@@ -148,6 +198,7 @@ public class ThreadService {
      * - Users can delete their own threads
      * - Moderators can delete User threads (not Admin/Mod threads)
      * - Admins can delete User and Mod threads (not other Admin threads)
+     * Replies and tag links go with set-based deletes, not the entity cascade
      */
     @Transactional
     public void deleteThread(Long threadId, Long userId, String userRole) {
@@ -159,14 +210,14 @@ public class ThreadService {
         
         // User can delete own thread
         if (author.getId().equals(userId)) {
-            threadDAO.delete(thread);
+            contentPurgeService.purgeThreads(List.of(threadId));
             return;
         }
         
         // Moderator permissions
         if (userRole.equals("MODERATOR")) {
             if (authorRole.equals("USER")) {
-                threadDAO.delete(thread);
+                contentPurgeService.purgeThreads(List.of(threadId));
                 return;
             }
             throw new RuntimeException("Moderators cannot delete Admin/Moderator threads");
@@ -177,7 +228,7 @@ public class ThreadService {
             if (authorRole.equals("ADMIN")) {
                 throw new RuntimeException("Cannot delete another Admin's thread");
             }
-            threadDAO.delete(thread);
+            contentPurgeService.purgeThreads(List.of(threadId));
             return;
         }
         
@@ -196,15 +247,111 @@ public class ThreadService {
         threadDAO.save(thread);
     }
 
+    /**
+     * Look up existing tags in one query and insert the missing ones as one JDBC batch.
+     * Tag names are unique case-insensitively (the column collation), so "Java" resolves to "java".
+     */
+    private List<Tag> resolveTags(List<String> tagNames) {
+        Map<String, String> namesByKey = new LinkedHashMap<>();
+        tagNames.stream()
+            .map(String::trim)
+            .filter(name -> !name.isEmpty())
+            .forEach(name -> namesByKey.putIfAbsent(tagKey(name), name));
+        if (namesByKey.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        Map<String, Tag> tagsByKey = new HashMap<>();
+        tagDAO.findByNameIn(new ArrayList<>(namesByKey.values()))
+            .forEach(tag -> tagsByKey.put(tagKey(tag.getName()), tag));
+        
+        List<String> missing = namesByKey.entrySet().stream()
+            .filter(entry -> !tagsByKey.containsKey(entry.getKey()))
+            .map(Map.Entry::getValue)
+            .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            Set<String> takenSlugs = new HashSet<>(tagDAO.findSlugsIn(
+                missing.stream().map(this::toSlug).collect(Collectors.toSet())));
+            List<Tag> newTags = missing.stream()
+                .map(name -> {
+                    Tag newTag = new Tag();
+                    newTag.setName(name);
+                    newTag.setSlug(uniqueSlug(name, takenSlugs));
+                    return newTag;
+                })
+                .collect(Collectors.toList());
+            tagDAO.saveAll(newTags).forEach(tag -> tagsByKey.put(tagKey(tag.getName()), tag));
+        }
+        
+        return namesByKey.keySet().stream()
+            .map(tagsByKey::get)
+            .collect(Collectors.toList());
+    }
+    
+    private String tagKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Slug of a new tag; takenSlugs holds the slugs already used, including earlier tags of this batch
+     */
+    private String uniqueSlug(String name, Set<String> takenSlugs) {
+        String base = toSlug(name);
+        String slug = base;
+        int n = 1;
+        // Base slugs were looked up together; suffixed ones are rare enough to check one by one
+        while (takenSlugs.contains(slug) || (n > 1 && tagDAO.existsBySlug(slug))) {
+            slug = base + "-" + ++n;
+        }
+        takenSlugs.add(slug);
+        return slug;
+    }
+    
+    private String toSlug(String name) {
+        // Spell out symbols that tell tags apart ("C++" / "C#" / "C")
+        String slug = name.toLowerCase(Locale.ROOT)
+            .replace("+", "-plus-")
+            .replace("#", "-sharp-")
+            .replaceAll("[^a-z0-9]+", "-")
+            .replaceAll("(^-|-$)", "");
+        return slug.isEmpty() ? Integer.toHexString(name.hashCode()) : slug;
+    }
+
+    /**
+     * Reply counts for a page of threads in one grouped query (threads without replies are absent)
+     */
+    private Map<Long, Long> countReplies(List<com.schoolforum.model.Thread> threads) {
+        if (threads.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> threadIds = threads.stream()
+            .map(com.schoolforum.model.Thread::getId)
+            .collect(Collectors.toList());
+        return replyDAO.countByThreadIds(threadIds).stream()
+            .collect(Collectors.toMap(ReplyDAO.ThreadReplyCount::getThreadId, ReplyDAO.ThreadReplyCount::getReplyCount));
+    }
+
+    /**
+     * Reaction counts for a page of threads in one query
+     */
+    private ReactionService.Summaries summarizeReactions(List<com.schoolforum.model.Thread> threads) {
+        List<Long> threadIds = threads.stream()
+            .map(com.schoolforum.model.Thread::getId)
+            .collect(Collectors.toList());
+        return reactionService.summarize(threadIds, List.of(), null);
+    }
+
     // ===== DTO Conversion Methods =====
     
-    private ThreadListDTO convertToListDTO(com.schoolforum.model.Thread thread) {
+    private ThreadListDTO convertToListDTO(com.schoolforum.model.Thread thread, Map<Long, Long> replyCounts,
+                                           ReactionService.Summaries reactions) {
         ThreadListDTO dto = new ThreadListDTO();
         dto.setId(thread.getId());
         dto.setTitle(thread.getTitle());
         dto.setAuthor(convertToAuthorDTO(thread.getAuthor()));
         dto.setCategoryName(thread.getCategory().getName());
-        dto.setReplyCount(replyDAO.countByThreadId(thread.getId()));
+        dto.setReplyCount(replyCounts.getOrDefault(thread.getId(), 0L));
+        dto.setReactions(reactions.countsOf(Reaction.TargetType.THREAD, thread.getId()));
         dto.setPinned(thread.isPinned());
         dto.setCreatedAt(thread.getCreatedAt());
         dto.setLastReplyAt(thread.getLastReplyAt());
@@ -218,11 +365,21 @@ public class ThreadService {
         return dto;
     }
     
-    private ThreadDTO convertToDetailDTO(com.schoolforum.model.Thread thread) {
+    private void writeBody(ThreadBody body, String content) {
+        body.setContent(content);
+        body.setContentHtml(markdownRenderer.render(content));
+        body.setRenderVersion(MarkdownRenderer.VERSION);
+    }
+    
+    private ThreadDTO convertToDetailDTO(com.schoolforum.model.Thread thread, Long viewerId) {
         ThreadDTO dto = new ThreadDTO();
         dto.setId(thread.getId());
         dto.setTitle(thread.getTitle());
-        dto.setContent(thread.getContent());
+        // Body by primary key; the threads row itself stays narrow
+        threadBodyDAO.findById(thread.getId()).ifPresent(body -> {
+            dto.setContent(body.getContent());
+            dto.setContentHtml(markdownRenderer.htmlOf(body.getContent(), body.getContentHtml(), body.getRenderVersion()));
+        });
         dto.setAuthor(convertToAuthorDTO(thread.getAuthor()));
         dto.setCategoryId(thread.getCategory().getId());
         dto.setCategoryName(thread.getCategory().getName());
@@ -241,23 +398,31 @@ public class ThreadService {
                 .collect(Collectors.toList()));
         }
         
-        // Add replies
+        // Add replies; reactions of the thread and all its replies in one summary
         List<Reply> replies = replyDAO.findByThreadIdOrderByCreatedAtAsc(thread.getId());
+        List<Long> replyIds = replies.stream().map(Reply::getId).collect(Collectors.toList());
+        ReactionService.Summaries reactions = reactionService.summarize(List.of(thread.getId()), replyIds, viewerId);
+        dto.setReactions(reactions.countsOf(Reaction.TargetType.THREAD, thread.getId()));
+        dto.setMyReactions(reactions.mineOf(Reaction.TargetType.THREAD, thread.getId()));
         dto.setReplies(replies.stream()
-            .map(this::convertToReplyDTO)
+            .map(reply -> convertToReplyDTO(reply, reactions))
             .collect(Collectors.toList()));
         dto.setReplyCount(replies.size());
+        dto.setAttachments(attachmentService.getAttachments(thread.getId()));
         
         return dto;
     }
     
-    private ReplyDTO convertToReplyDTO(Reply reply) {
+    private ReplyDTO convertToReplyDTO(Reply reply, ReactionService.Summaries reactions) {
         ReplyDTO dto = new ReplyDTO();
         dto.setId(reply.getId());
         dto.setContent(reply.getContent());
+        dto.setContentHtml(markdownRenderer.htmlOf(reply.getContent(), reply.getContentHtml(), reply.getRenderVersion()));
         dto.setAuthor(convertToAuthorDTO(reply.getAuthor()));
         dto.setCreatedAt(reply.getCreatedAt());
         dto.setUpdatedAt(reply.getUpdatedAt());
+        dto.setReactions(reactions.countsOf(Reaction.TargetType.REPLY, reply.getId()));
+        dto.setMyReactions(reactions.mineOf(Reaction.TargetType.REPLY, reply.getId()));
         return dto;
     }
     
@@ -267,6 +432,9 @@ public class ThreadService {
         dto.setUsername(user.getUsername());
         dto.setAvatar(user.getAvatar());
         dto.setRole(user.getRole().name());
+        dto.setThreadCount(user.getThreadCount());
+        dto.setReplyCount(user.getReplyCount());
+        dto.setReputation(user.getReputation());
         return dto;
     }
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+package com.schoolforum.service;
+
+import com.schoolforum.dao.ActivityRow;
+import com.schoolforum.dao.ReplyDAO;
+import com.schoolforum.dao.ThreadDAO;
+import com.schoolforum.dto.ActivityItemDTO;
+import com.schoolforum.dto.ActivityPageDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * SERVICE LAYER - User activity timeline
+ * Threads and replies of a user, newest first, as one keyset-paginated list.
+ * Each page reads at most limit + 1 rows from each table (both walk an (author_id, created_at)
+ * index from the cursor) and merges the two sorted runs; nothing is counted or offset.
+ * Order: createdAt desc, then threads before replies, then id desc. The cursor is the last
+ * item returned, so pages stay stable while new posts arrive.
+ */
+@Service
+public class UserActivityService {
+
+    public static final int MAX_LIMIT = 100;
+
+    private static final String THREAD = "THREAD";
+    private static final String REPLY = "REPLY";
+
+    // Upper bound for the first page (fits a DATETIME column)
+    private static final LocalDateTime FIRST_PAGE = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    @Autowired
+    private ThreadDAO threadDAO;
+
+    @Autowired
+    private ReplyDAO replyDAO;
+
+    /**
+     * includeAnonymous: the viewer is the user or staff; everyone else does not see anonymous posts
+     */
+    @Transactional(readOnly = true)
+    public ActivityPageDTO getActivity(Long userId, String cursor, int limit, boolean includeAnonymous) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        Cursor after = cursor == null || cursor.isBlank() ? null : Cursor.decode(cursor);
+
+        LocalDateTime before = after == null ? FIRST_PAGE : after.createdAt();
+        PageRequest fetch = PageRequest.of(0, size + 1);
+
+        // Rows at the cursor's timestamp: threads rank before replies, ids descend within a type
+        long threadsBeforeId = Long.MAX_VALUE;
+        long repliesBeforeId = Long.MAX_VALUE;
+        if (after != null && after.type().equals(THREAD)) {
+            threadsBeforeId = after.id();
+        } else if (after != null) {
+            threadsBeforeId = 0;
+            repliesBeforeId = after.id();
+        }
+
+        List<ActivityRow> threads = threadDAO.findActivityBefore(userId, includeAnonymous, before, threadsBeforeId, fetch);
+        List<ActivityRow> replies = replyDAO.findActivityBefore(userId, includeAnonymous, before, repliesBeforeId, fetch);
+
+        // Two-way merge of the sorted runs
+        List<ActivityItemDTO> items = new ArrayList<>(size);
+        int t = 0;
+        int r = 0;
+        while (items.size() < size && (t < threads.size() || r < replies.size())) {
+            boolean takeThread = r >= replies.size()
+                || (t < threads.size() && !threads.get(t).getCreatedAt().isBefore(replies.get(r).getCreatedAt()));
+            items.add(takeThread ? toDTO(THREAD, threads.get(t++)) : toDTO(REPLY, replies.get(r++)));
+        }
+
+        boolean more = t < threads.size() || r < replies.size();
+        String nextCursor = null;
+        if (more) {
+            ActivityItemDTO last = items.get(items.size() - 1);
+            nextCursor = new Cursor(last.getCreatedAt(), last.getType(), last.getId()).encode();
+        }
+        return new ActivityPageDTO(items, nextCursor);
+    }
+
+    // ===== Helpers =====
+
+    private static ActivityItemDTO toDTO(String type, ActivityRow row) {
+        return new ActivityItemDTO(type, row.getId(), row.getThreadId(), row.getThreadTitle(), row.getCreatedAt());
+    }
+
+    /**
+     * Opaque to clients: base64url of "createdAt|type|id"
+     */
+    private record Cursor(LocalDateTime createdAt, String type, long id) {
+
+        String encode() {
+            String raw = createdAt + "|" + type + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                String[] parts = raw.split("\\|");
+                if (parts.length != 3 || !(parts[1].equals(THREAD) || parts[1].equals(REPLY))) {
+                    throw new IllegalArgumentException("Invalid cursor");
+                }
+                return new Cursor(LocalDateTime.parse(parts[0]), parts[1], Long.parseLong(parts[2]));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.schoolforum.service;
+
+import com.schoolforum.dto.DeletionJobDTO;
+import com.schoolforum.dto.JobDTO;
+import com.schoolforum.jobs.JobContext;
+import com.schoolforum.jobs.JobHandler;
+import com.schoolforum.jobs.JobQueueService;
+import com.schoolforum.model.Job;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SERVICE LAYER - Asynchronous user deletion
+ * Runs ContentPurgeService.purgeUser as a job on the "user-deletion" queue, so any node can
+ * pick it up and an interrupted purge is resumed by the retry (the purge is idempotent).
+ */
+@Service
+public class UserDeletionService implements JobHandler {
+
+    public static final String QUEUE = "user-deletion";
+
+    @Autowired
+    private ContentPurgeService contentPurgeService;
+
+    @Autowired
+    private JobQueueService jobQueueService;
+
+    /**
+     * Queue deletion of a user; returns the already queued or running job when there is one
+     */
+    @Transactional
+    public DeletionJobDTO submit(Long userId) {
+        Job job = jobQueueService.enqueue(QUEUE, Map.of("userId", userId), "user:" + userId);
+        return toDTO(jobQueueService.toDTO(job));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<DeletionJobDTO> getJob(String jobId) {
+        Long id;
+        try {
+            id = Long.valueOf(jobId);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+        return jobQueueService.getJob(id)
+            .filter(job -> QUEUE.equals(job.getQueue()))
+            .map(this::toDTO);
+    }
+
+    @Override
+    public String queue() {
+        return QUEUE;
+    }
+
+    /**
+     * Counters carry over from earlier attempts of the same job
+     */
+    @Override
+    public void execute(JobContext context) {
+        AtomicInteger threadsDeleted = new AtomicInteger(toInt(context.getProgress().get("threadsDeleted")));
+        AtomicInteger repliesDeleted = new AtomicInteger(toInt(context.getProgress().get("repliesDeleted")));
+        contentPurgeService.purgeUser(context.getLong("userId"), (threads, replies) -> context.saveProgress(Map.of(
+            "threadsDeleted", threadsDeleted.addAndGet(threads),
+            "repliesDeleted", repliesDeleted.addAndGet(replies)
+        )));
+    }
+
+    private DeletionJobDTO toDTO(JobDTO job) {
+        return new DeletionJobDTO(job.getId().toString(), toLong(job.getPayload().get("userId")), job.getStatus(),
+            toInt(job.getProgress().get("threadsDeleted")), toInt(job.getProgress().get("repliesDeleted")),
+            job.getCreatedAt(), job.getStartedAt(), job.getFinishedAt(), job.getLastError());
+    }
+
+    private static int toInt(Object value) {
+        return value instanceof Number number ? number.intValue() : 0;
+    }
+
+    private static Long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : null;
+    }
+}
@@ -0,0 +1,148 @@
+package com.schoolforum.service;
+
+import com.schoolforum.dao.UserDAO;
+import com.schoolforum.dto.BulkModerationRequest;
+import com.schoolforum.dto.BulkModerationResult;
+import com.schoolforum.model.User;
+import com.schoolforum.security.LoginAttemptService;
+import com.schoolforum.security.TokenRevocationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * SERVICE LAYER - Bulk moderation
+ * Ban / unban / role change for many users with one lookup and one UPDATE ... WHERE id IN.
+ * Admin accounts are never changed (also enforced in the UPDATE itself); bans and role
+ * changes revoke the users' existing tokens in the same statement.
+ */
+@Service
+public class UserModerationService {
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private LoginAttemptService loginAttemptService;
+
+    @Value("${forum.moderation.max-bulk-users:1000}")
+    private int maxBulkUsers;
+
+    @Transactional
+    public BulkModerationResult ban(BulkModerationRequest request, Long actorId) {
+        LocalDateTime now = LocalDateTime.now();
+        return apply("BAN", request, actorId,
+            target -> false, // re-banning still revokes tokens
+            ids -> userDAO.bulkBan(ids, now),
+            updated -> tokenRevocationService.revoke(ids(updated), now));
+    }
+
+    @Transactional
+    public BulkModerationResult unban(BulkModerationRequest request, Long actorId) {
+        LocalDateTime now = LocalDateTime.now();
+        return apply("UNBAN", request, actorId,
+            target -> target.getStatus() == User.UserStatus.ACTIVE,
+            ids -> userDAO.bulkUnban(ids, now),
+            updated -> updated.forEach(target -> loginAttemptService.clear(target.getEmail())));
+    }
+
+    @Transactional
+    public BulkModerationResult changeRole(BulkModerationRequest request, Long actorId) {
+        if (request.getRole() == null) {
+            throw new IllegalArgumentException("role is required");
+        }
+        User.Role role = User.Role.valueOf(request.getRole());
+        LocalDateTime now = LocalDateTime.now();
+        return apply("ROLE_" + role.name(), request, actorId,
+            target -> target.getRole() == role,
+            ids -> userDAO.bulkChangeRole(ids, role, now),
+            updated -> tokenRevocationService.revoke(ids(updated), now));
+    }
+
+    // ===== Helpers =====
+
+    private BulkModerationResult apply(
+            String action,
+            BulkModerationRequest request,
+            Long actorId,
+            Predicate<UserDAO.ModerationTarget> unchanged,
+            Function<List<Long>, Integer> update,
+            Consumer<List<UserDAO.ModerationTarget>> afterUpdate) {
+
+        List<Long> requestedIds = resolveTargets(request);
+        Map<Long, UserDAO.ModerationTarget> targets = userDAO.findModerationTargets(requestedIds).stream()
+            .collect(Collectors.toMap(UserDAO.ModerationTarget::getId, Function.identity()));
+
+        List<BulkModerationResult.Item> results = new ArrayList<>();
+        List<UserDAO.ModerationTarget> toUpdate = new ArrayList<>();
+        for (Long id : requestedIds) {
+            UserDAO.ModerationTarget target = targets.get(id);
+            String result;
+            if (target == null) {
+                result = "NOT_FOUND";
+            } else if (target.getRole() == User.Role.ADMIN) {
+                result = "SKIPPED_ADMIN";
+            } else if (id.equals(actorId)) {
+                result = "SKIPPED_SELF";
+            } else if (unchanged.test(target)) {
+                result = "UNCHANGED";
+            } else {
+                result = "UPDATED";
+                toUpdate.add(target);
+            }
+            results.add(new BulkModerationResult.Item(id, result));
+        }
+
+        int updated = 0;
+        if (!toUpdate.isEmpty()) {
+            List<Long> ids = ids(toUpdate);
+            updated = update.apply(ids);
+            ids.forEach(entityCacheService::evictUser);
+            afterUpdate.accept(toUpdate);
+        }
+        return new BulkModerationResult(action, requestedIds.size(), updated, results);
+    }
+
+    private List<Long> resolveTargets(BulkModerationRequest request) {
+        List<Long> ids;
+        if (request.getUserIds() != null && !request.getUserIds().isEmpty()) {
+            ids = new ArrayList<>(new LinkedHashSet<>(request.getUserIds()));
+        } else if (request.getFilter() != null && request.getFilter().getRegisteredWithinMinutes() != null) {
+            BulkModerationRequest.UserFilter filter = request.getFilter();
+            LocalDateTime since = LocalDateTime.now().minusMinutes(filter.getRegisteredWithinMinutes());
+            PageRequest limit = PageRequest.of(0, maxBulkUsers + 1);
+            ids = filter.isWithoutPosts()
+                ? userDAO.findIdsRegisteredSinceWithoutPosts(since, limit)
+                : userDAO.findIdsRegisteredSince(since, limit);
+        } else {
+            throw new IllegalArgumentException("Provide userIds or filter.registeredWithinMinutes");
+        }
+
+        if (ids.size() > maxBulkUsers) {
+            throw new IllegalArgumentException("At most " + maxBulkUsers + " users per request");
+        }
+        return ids;
+    }
+
+    private static List<Long> ids(List<UserDAO.ModerationTarget> targets) {
+        return targets.stream().map(UserDAO.ModerationTarget::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,209 @@
+package com.schoolforum.service;
+
+import com.schoolforum.config.UserStatsConfig;
+import com.schoolforum.dao.ReplyDAO;
+import com.schoolforum.dao.ThreadDAO;
+import com.schoolforum.dao.UserCount;
+import com.schoolforum.lock.ClusterLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * SERVICE LAYER - Per-user statistics (user_stats)
+ * Thread count, reply count and reputation (replies a user's threads received from others)
+ * are kept as counters, changed by an INSERT ... ON DUPLICATE KEY UPDATE in the same
+ * transaction as the post itself; User maps them through a secondary table, so profiles and
+ * author cards get them without extra queries.
+ * A nightly reconciliation recounts every user and repairs drift (e.g. from manual SQL).
+ */
+@Slf4j
+@Service
+public class UserStatsService {
+
+    // Rows are touched in user id order so concurrent writers do not deadlock
+    private static final String UPSERT_DELTA_SQL =
+        "INSERT INTO user_stats (user_id, thread_count, reply_count, reputation) VALUES (?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE thread_count = thread_count + VALUES(thread_count), " +
+        "reply_count = reply_count + VALUES(reply_count), reputation = reputation + VALUES(reputation)";
+
+    private static final String UPSERT_ABSOLUTE_SQL =
+        "INSERT INTO user_stats (user_id, thread_count, reply_count, reputation) VALUES (?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE thread_count = VALUES(thread_count), " +
+        "reply_count = VALUES(reply_count), reputation = VALUES(reputation)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ThreadDAO threadDAO;
+
+    @Autowired
+    private ReplyDAO replyDAO;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private UserStatsConfig config;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // ===== Write paths (caller's transaction) =====
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void threadCreated(Long authorId) {
+        apply(new Deltas().add(authorId, 1, 0, 0));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void replyCreated(Long replierId, Long threadAuthorId) {
+        apply(replyDeltas(replierId, threadAuthorId, 1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void replyDeleted(Long replierId, Long threadAuthorId) {
+        apply(replyDeltas(replierId, threadAuthorId, -1));
+    }
+
+    /**
+     * Before a bulk delete of threads (and with them their replies): grouped decrements
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void beforeThreadsDeleted(Collection<Long> threadIds) {
+        Deltas deltas = new Deltas();
+        threadDAO.countByAuthorForIds(threadIds).forEach(c -> deltas.add(c.getUserId(), -c.getCount(), 0, 0));
+        replyDAO.countByAuthorInThreads(threadIds).forEach(c -> deltas.add(c.getUserId(), 0, -c.getCount(), 0));
+        replyDAO.countReputationInThreads(threadIds).forEach(c -> deltas.add(c.getUserId(), 0, 0, -c.getCount()));
+        apply(deltas);
+    }
+
+    /**
+     * Before a bulk delete of replies by id
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void beforeRepliesDeleted(Collection<Long> replyIds) {
+        Deltas deltas = new Deltas();
+        replyDAO.countByAuthorForIds(replyIds).forEach(c -> deltas.add(c.getUserId(), 0, -c.getCount(), 0));
+        replyDAO.countReputationForIds(replyIds).forEach(c -> deltas.add(c.getUserId(), 0, 0, -c.getCount()));
+        apply(deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void userDeleted(Long userId) {
+        jdbcTemplate.update("DELETE FROM user_stats WHERE user_id = ?", userId);
+    }
+
+    // ===== Reconciliation =====
+
+    /**
+     * Recount all users in batches. Each batch locks its user_stats rows first, so a post
+     * committing meanwhile either is counted or applies its delta after the batch commits.
+     */
+    @Scheduled(cron = "${forum.user-stats.reconcile-cron:0 0 4 * * *}")
+    @ClusterLock(name = "user-stats-reconcile", lockAtMostFor = "PT30M", lockAtLeastFor = "PT1M")
+    public void reconcile() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        long afterId = 0;
+        int repaired = 0;
+        List<Long> userIds;
+        do {
+            long after = afterId;
+            userIds = jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE id > ? ORDER BY id LIMIT ?", Long.class, after, config.getReconcileBatchSize());
+            if (userIds.isEmpty()) {
+                break;
+            }
+            List<Long> batch = userIds;
+            repaired += Objects.requireNonNull(tx.execute(status -> reconcileBatch(batch)));
+            afterId = userIds.get(userIds.size() - 1);
+        } while (userIds.size() == config.getReconcileBatchSize());
+
+        if (repaired > 0) {
+            log.warn("User stats reconciliation repaired {} users", repaired);
+        }
+    }
+
+    // ===== Helpers =====
+
+    private int reconcileBatch(List<Long> userIds) {
+        String in = String.join(",", Collections.nCopies(userIds.size(), "?"));
+        Map<Long, long[]> stored = new TreeMap<>();
+        jdbcTemplate.query(
+            "SELECT user_id, thread_count, reply_count, reputation FROM user_stats WHERE user_id IN (" + in + ") FOR UPDATE",
+            rs -> {
+                stored.put(rs.getLong(1), new long[] {rs.getLong(2), rs.getLong(3), rs.getLong(4)});
+            },
+            userIds.toArray());
+
+        Map<Long, long[]> actual = new TreeMap<>();
+        userIds.forEach(id -> actual.put(id, new long[3]));
+        threadDAO.countByAuthors(userIds).forEach(c -> actual.get(c.getUserId())[0] = c.getCount());
+        replyDAO.countByAuthors(userIds).forEach(c -> actual.get(c.getUserId())[1] = c.getCount());
+        replyDAO.countReputationOf(userIds).forEach(c -> actual.get(c.getUserId())[2] = c.getCount());
+
+        List<Object[]> fixes = new ArrayList<>();
+        actual.forEach((userId, counts) -> {
+            long[] current = stored.get(userId);
+            boolean empty = counts[0] == 0 && counts[1] == 0 && counts[2] == 0;
+            if (current == null ? !empty : !Arrays.equals(current, counts)) {
+                fixes.add(new Object[] {userId, counts[0], counts[1], counts[2]});
+            }
+        });
+        if (!fixes.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_ABSOLUTE_SQL, fixes);
+            fixes.forEach(fix -> entityCacheService.evictUser((Long) fix[0]));
+        }
+        return fixes.size();
+    }
+
+    private static Deltas replyDeltas(Long replierId, Long threadAuthorId, int sign) {
+        Deltas deltas = new Deltas().add(replierId, 0, sign, 0);
+        if (!replierId.equals(threadAuthorId)) {
+            deltas.add(threadAuthorId, 0, 0, sign);
+        }
+        return deltas;
+    }
+
+    private void apply(Deltas deltas) {
+        if (deltas.byUser.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>();
+        deltas.byUser.forEach((userId, d) -> rows.add(new Object[] {userId, d[0], d[1], d[2]}));
+        jdbcTemplate.batchUpdate(UPSERT_DELTA_SQL, rows);
+        // User entries in the second-level cache carry the counters
+        deltas.byUser.keySet().forEach(entityCacheService::evictUser);
+    }
+
+    /**
+     * Per-user (threads, replies, reputation) changes, sorted by user id
+     */
+    private static class Deltas {
+        final Map<Long, long[]> byUser = new TreeMap<>();
+
+        Deltas add(Long userId, long threads, long replies, long reputation) {
+            long[] d = byUser.computeIfAbsent(userId, id -> new long[3]);
+            d[0] += threads;
+            d[1] += replies;
+            d[2] += reputation;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.schoolforum.storage;
+
+import org.springframework.http.MediaType;
+
+import java.util.Optional;
+
+/**
+ * File types accepted as thread attachments, recognised by their magic bytes
+ */
+public enum AttachmentType {
+    PDF(MediaType.APPLICATION_PDF),
+    PNG(MediaType.IMAGE_PNG),
+    JPEG(MediaType.IMAGE_JPEG),
+    GIF(MediaType.IMAGE_GIF);
+
+    public static final int HEADER_BYTES = ImageType.HEADER_BYTES;
+
+    private final MediaType mediaType;
+
+    AttachmentType(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static Optional<AttachmentType> detect(byte[] header, int length) {
+        if (length >= 5 && header[0] == '%' && header[1] == 'P' && header[2] == 'D' && header[3] == 'F' && header[4] == '-') {
+            return Optional.of(PDF);
+        }
+        return ImageType.detect(header, length).map(image -> AttachmentType.valueOf(image.name()));
+    }
+}
@@ -0,0 +1,156 @@
+package com.schoolforum.storage;
+
+import com.schoolforum.config.StorageConfig;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed file store on local disk
+ * Files live at <root>/<namespace>/<h0h1>/<h2h3>/<sha256>. Uploads are streamed to a temp file
+ * while hashing (never held in memory) and then moved into place atomically, so identical
+ * content is stored once and a reader never sees a half-written file.
+ */
+@Component
+public class BlobStore {
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern NAME = Pattern.compile("[a-z0-9-]+");
+
+    @Autowired
+    private StorageConfig config;
+
+    private Path root;
+    private Path tmp;
+
+    @PostConstruct
+    void init() throws IOException {
+        root = Paths.get(config.getRoot()).toAbsolutePath().normalize();
+        tmp = Files.createDirectories(root.resolve("tmp"));
+    }
+
+    /**
+     * Stream content into the store. Throws IllegalArgumentException (nothing stored) past maxBytes.
+     */
+    public StoredBlob store(String namespace, InputStream content, long maxBytes) throws IOException {
+        Path temp = Files.createTempFile(tmp, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (InputStream in = new DigestInputStream(content, digest);
+                 OutputStream out = Files.newOutputStream(temp)) {
+                size = copy(in, out, maxBytes);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = path(namespace, hash);
+            if (Files.exists(target)) {
+                return new StoredBlob(hash, size, false);
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Same content stored concurrently
+                return new StoredBlob(hash, size, false);
+            }
+            return new StoredBlob(hash, size, true);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Location of a blob (it may not exist); rejects anything that is not a SHA-256 hex digest
+     */
+    public Path path(String namespace, String hash) {
+        if (!NAME.matcher(namespace).matches() || hash == null || !HASH.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Invalid blob reference");
+        }
+        return root.resolve(namespace).resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    /**
+     * Location of a file derived from a blob (e.g. a thumbnail), next to it
+     */
+    public Path derivedPath(String namespace, String hash, String variant) {
+        if (!NAME.matcher(variant).matches()) {
+            throw new IllegalArgumentException("Invalid variant");
+        }
+        Path blob = path(namespace, hash);
+        return blob.resolveSibling(hash + "_" + variant);
+    }
+
+    /**
+     * Write a derived file through a temp file and an atomic move
+     */
+    public void writeDerived(Path target, FileWriter writer) throws IOException {
+        Path temp = Files.createTempFile(tmp, "derived-", ".part");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                writer.write(out);
+            }
+            Files.createDirectories(target.getParent());
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Delete a blob and everything derived from it
+     */
+    public void delete(String namespace, String hash) throws IOException {
+        Path blob = path(namespace, hash);
+        if (!Files.isDirectory(blob.getParent())) {
+            return;
+        }
+        try (var siblings = Files.newDirectoryStream(blob.getParent(), hash + "*")) {
+            for (Path file : siblings) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface FileWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    // ===== Helpers =====
+
+    private static long copy(InputStream in, OutputStream out, long maxBytes) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            total += read;
+            if (total > maxBytes) {
+                throw new IllegalArgumentException("File is larger than " + maxBytes + " bytes");
+            }
+            out.write(buffer, 0, read);
+        }
+        return total;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.schoolforum.storage;
+
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Image formats recognised by their magic bytes (the client's Content-Type is not trusted)
+ */
+public enum ImageType {
+    PNG(MediaType.IMAGE_PNG),
+    JPEG(MediaType.IMAGE_JPEG),
+    GIF(MediaType.IMAGE_GIF);
+
+    public static final int HEADER_BYTES = 8;
+
+    private final MediaType mediaType;
+
+    ImageType(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static Optional<ImageType> detect(byte[] header, int length) {
+        if (length >= 8 && (header[0] & 0xFF) == 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G') {
+            return Optional.of(PNG);
+        }
+        if (length >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF) {
+            return Optional.of(JPEG);
+        }
+        if (length >= 6 && header[0] == 'G' && header[1] == 'I' && header[2] == 'F' && header[3] == '8') {
+            return Optional.of(GIF);
+        }
+        return Optional.empty();
+    }
+
+    public static Optional<ImageType> detect(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] header = in.readNBytes(HEADER_BYTES);
+            return detect(header, header.length);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.schoolforum.storage;
+
+/**
+ * Result of BlobStore.store; created is false when identical content was already stored
+ */
+public record StoredBlob(String hash, long size, boolean created) {
+}
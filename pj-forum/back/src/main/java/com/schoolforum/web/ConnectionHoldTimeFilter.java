@@ -0,0 +1,57 @@
+package com.schoolforum.web;
+
+import com.schoolforum.datasource.ConnectionHoldTimeDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connection Hold Time Filter
+ * Records forum.request.connection.hold: total time a request kept JDBC connections checked out,
+ * tagged by endpoint. Requests that never touched the database are not recorded.
+ * (hikaricp.connections.usage has the per-checkout view across the whole pool.)
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 11)
+public class ConnectionHoldTimeFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        ConnectionHoldTimeDataSource.HoldTime holdTime = new ConnectionHoldTimeDataSource.HoldTime();
+        ConnectionHoldTimeDataSource.begin(holdTime);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ConnectionHoldTimeDataSource.end();
+            if (holdTime.getConnections() > 0) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                Timer.builder("forum.request.connection.hold")
+                    .description("Time a request held JDBC connections")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                    .register(meterRegistry)
+                    .record(holdTime.getNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.schoolforum.web;
+
+import com.schoolforum.config.SqlBudgetConfig;
+import com.schoolforum.exception.SqlStatementBudgetExceededException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * SQL Statement Budget Filter
+ * Counts the statements each request sends to the database (see SqlStatementCounter) and
+ * compares them with the endpoint's budget from forum.sql-budget.*:
+ * - over budget: WARN log, or SqlStatementBudgetExceededException when fail-on-exceed is set
+ * - expose-header: the count is returned in the X-SQL-Statement-Count response header
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENT_COUNT_HEADER = "X-SQL-Statement-Count";
+
+    @Autowired
+    private SqlBudgetConfig config;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !config.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        Budget budget = new Budget(request);
+        HttpServletResponse target = config.isExposeHeader()
+            ? new StatementCountResponse(response, budget)
+            : response;
+
+        SqlStatementCounter.begin(budget);
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            SqlStatementCounter.end();
+        }
+
+        if (config.isExposeHeader() && !response.isCommitted()) {
+            response.setHeader(STATEMENT_COUNT_HEADER, String.valueOf(budget.count));
+        }
+        if (budget.count > budget.limit()) {
+            log.warn("SQL statement budget exceeded: {} issued {} statements (budget {})",
+                budget.endpoint(), budget.count, budget.limit());
+        }
+    }
+
+    /**
+     * Statement tally plus the budget of the endpoint the request was mapped to
+     */
+    private class Budget implements SqlStatementCounter.RequestStatements {
+        private final HttpServletRequest request;
+        private int count;
+        private Integer resolvedLimit;
+
+        Budget(HttpServletRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public void onStatement() {
+            count++;
+            if (config.isFailOnExceed() && count > limit()) {
+                throw new SqlStatementBudgetExceededException(endpoint(), count, limit());
+            }
+        }
+
+        String endpoint() {
+            return request.getMethod() + " " + pattern();
+        }
+
+        int limit() {
+            if (resolvedLimit != null) {
+                return resolvedLimit;
+            }
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            int limit = config.getDefaultMaxStatements();
+            if (pattern != null) {
+                for (SqlBudgetConfig.EndpointBudget endpoint : config.getEndpoints()) {
+                    boolean methodMatches = endpoint.getMethod() == null
+                        || endpoint.getMethod().equalsIgnoreCase(request.getMethod());
+                    if (methodMatches && pattern.equals(endpoint.getPattern())) {
+                        limit = endpoint.getMaxStatements();
+                        break;
+                    }
+                }
+                // The handler is known from here on, so the budget can no longer change
+                resolvedLimit = limit;
+            }
+            return limit;
+        }
+
+        private String pattern() {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            return pattern != null ? pattern.toString() : request.getRequestURI();
+        }
+    }
+
+    /**
+     * Stamps the statement count header right before the body starts streaming,
+     * while headers can still be written
+     */
+    private static class StatementCountResponse extends HttpServletResponseWrapper {
+        private final Budget budget;
+        private boolean stamped;
+
+        StatementCountResponse(HttpServletResponse response, Budget budget) {
+            super(response);
+            this.budget = budget;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            stamp();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            stamp();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            stamp();
+            super.flushBuffer();
+        }
+
+        private void stamp() {
+            if (!stamped && !isCommitted()) {
+                setHeader(STATEMENT_COUNT_HEADER, String.valueOf(budget.count));
+                stamped = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.schoolforum.web;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate StatementInspector that counts the SQL statements issued by the current request
+ * Only threads inside SqlStatementBudgetFilter are counted; background work is ignored.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<RequestStatements> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        RequestStatements statements = CURRENT.get();
+        if (statements != null) {
+            statements.onStatement();
+        }
+        return sql;
+    }
+
+    static void begin(RequestStatements statements) {
+        CURRENT.set(statements);
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Per-request statement tally
+     */
+    interface RequestStatements {
+        void onStatement();
+    }
+}
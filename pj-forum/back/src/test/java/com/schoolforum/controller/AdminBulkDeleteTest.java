@@ -0,0 +1,84 @@
+package com.schoolforum.controller;
+
+import com.schoolforum.dao.ThreadDAO;
+import com.schoolforum.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "h2"})
+@Transactional
+@Sql("/sql/admin-bulk-delete.sql")
+class AdminBulkDeleteTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ThreadDAO threadDAO;
+
+    private String token;
+
+    @BeforeEach
+    void signIn() {
+        token = jwtUtil.generateToken("admin950", 950L, "ADMIN");
+    }
+
+    @Test
+    void malformedIdsAreABadRequest() throws Exception {
+        bulkDelete("{\"threadIds\": [\"abc\"]}").andExpect(status().isBadRequest());
+        bulkDelete("{\"threadIds\": [950, null]}").andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void anotherAdminsThreadRejectsTheWholeRequest() throws Exception {
+        bulkDelete("{\"threadIds\": [950, 951, 952]}").andExpect(status().isBadRequest());
+
+        assertEquals(3, threadDAO.findAllById(List.of(950L, 951L, 952L)).size());
+    }
+
+    @Test
+    void ownAndUserThreadsAreDeleted() throws Exception {
+        bulkDelete("{\"threadIds\": [950, 952]}")
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.threadsDeleted").value(2));
+    }
+
+    @Test
+    void categoryDeleteKeepsOtherAdminsThreads() throws Exception {
+        bulkDelete("{\"categoryId\": 950}")
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.threadsDeleted").value(2));
+
+        assertEquals(List.of(951L), threadDAO.findIdsByCategoryId(950L, Pageable.unpaged()));
+    }
+
+    private ResultActions bulkDelete(String body) throws Exception {
+        return mockMvc.perform(post("/api/admin/threads/bulk-delete")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(body));
+    }
+}
@@ -0,0 +1,82 @@
+package com.schoolforum.controller;
+
+import com.schoolforum.config.SqlBudgetConfig;
+import com.schoolforum.util.JwtUtil;
+import com.schoolforum.web.SqlStatementBudgetFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets of the thread read endpoints (forum.sql-budget.endpoints in application.properties).
+ * The test profile sets fail-on-exceed, so any request over its budget fails with a 500.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:thread-read-budget;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "forum.sql-budget.fail-on-exceed=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "h2"})
+@Sql(scripts = "/sql/thread-read-budget.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+class ThreadReadStatementBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlBudgetConfig sqlBudgetConfig;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void threadListStaysWithinBudget() throws Exception {
+        expectWithinBudget(get("/api/threads"), "/api/threads");
+        expectWithinBudget(get("/api/threads").param("page", "1"), "/api/threads");
+        expectWithinBudget(get("/api/threads").param("categoryId", "2").param("sort", "views"), "/api/threads");
+    }
+
+    @Test
+    void threadDetailStaysWithinBudget() throws Exception {
+        MvcResult result = expectWithinBudget(get("/api/threads/1"), "/api/threads/{id}");
+        assertTrue(result.getResponse().getContentAsString().contains("Content of thread 1"));
+    }
+
+    @Test
+    void threadDetailForSignedInViewerStaysWithinBudget() throws Exception {
+        String token = jwtUtil.generateToken("user2", 2L, "USER");
+        expectWithinBudget(get("/api/threads/1").header(HttpHeaders.AUTHORIZATION, "Bearer " + token),
+            "/api/threads/{id}");
+    }
+
+    private MvcResult expectWithinBudget(MockHttpServletRequestBuilder request, String pattern) throws Exception {
+        MvcResult result = mockMvc.perform(request)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").exists())
+            .andReturn();
+        int count = Integer.parseInt(result.getResponse().getHeader(SqlStatementBudgetFilter.STATEMENT_COUNT_HEADER));
+        int budget = budgetOf(pattern);
+        assertTrue(count <= budget, "GET " + pattern + " issued " + count + " statements (budget " + budget + ")");
+        return result;
+    }
+
+    private int budgetOf(String pattern) {
+        return sqlBudgetConfig.getEndpoints().stream()
+            .filter(endpoint -> "GET".equalsIgnoreCase(endpoint.getMethod()) && pattern.equals(endpoint.getPattern()))
+            .findFirst()
+            .orElseThrow()
+            .getMaxStatements();
+    }
+}
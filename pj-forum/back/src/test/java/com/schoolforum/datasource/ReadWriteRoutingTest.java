@@ -0,0 +1,106 @@
+package com.schoolforum.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Routing between two separate H2 databases: "routing" (primary) and "routing-replica".
+ * The replica only sees the primary's rows as of the last LocalReplicaSnapshot refresh.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:routing;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "forum.datasource.routing.enabled=true",
+    "forum.datasource.routing.replicas[0].url=jdbc:h2:mem:routing-replica;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    // Refreshed by the tests only
+    "forum.datasource.routing.local-snapshot-interval-ms=3600000"
+})
+@ActiveProfiles({"test", "h2"})
+class ReadWriteRoutingTest {
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private LocalReplicaSnapshot snapshot;
+
+    @Autowired
+    private ReplicaPool replicaPool;
+
+    @BeforeEach
+    void replicaInRotation() {
+        // Do not wait for the scheduled health check to bring the replica up
+        replicaPool.checkHealth();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        SecurityContextHolder.clearContext();
+        inTransaction(false, () -> jdbc.update("DELETE FROM categories WHERE slug LIKE 'routing-%'"));
+        snapshot.refresh();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        assertEquals("routing-replica", inTransaction(true, this::databaseName));
+        assertEquals("routing", inTransaction(false, this::databaseName));
+    }
+
+    @Test
+    void replicaLagsBehindThePrimaryUntilTheNextSnapshot() {
+        inTransaction(false, () -> insertCategory("routing-lag"));
+
+        assertEquals(0, inTransaction(true, () -> countCategories("routing-lag")));
+        assertEquals(1, inTransaction(false, () -> countCategories("routing-lag")));
+
+        snapshot.refresh();
+
+        assertEquals(1, inTransaction(true, () -> countCategories("routing-lag")));
+    }
+
+    @Test
+    void userReadsTheirOwnWriteFromThePrimary() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+            "writer", null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+
+        inTransaction(false, () -> insertCategory("routing-own-write"));
+
+        assertEquals("routing", inTransaction(true, this::databaseName));
+        assertEquals(1, inTransaction(true, () -> countCategories("routing-own-write")));
+    }
+
+    private String databaseName() {
+        return jdbc.queryForObject("SELECT DATABASE()", String.class);
+    }
+
+    private int insertCategory(String slug) {
+        return jdbc.update("INSERT INTO categories (name, slug, display_order) VALUES (?, ?, 0)", slug, slug);
+    }
+
+    private Integer countCategories(String slug) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM categories WHERE slug = ?", Integer.class, slug);
+    }
+
+    private <T> T inTransaction(boolean readOnly, Supplier<T> work) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> work.get());
+    }
+}
@@ -0,0 +1,76 @@
+package com.schoolforum.events;
+
+import com.schoolforum.dao.OutboxEventDAO;
+import com.schoolforum.model.OutboxEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:outbox;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "forum.outbox.relay-enabled=false",
+    "forum.outbox.batch-size=5"
+})
+@ActiveProfiles({"test", "h2"})
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private OutboxEventDAO outboxEventDAO;
+
+    @AfterEach
+    void cleanUp() {
+        outboxEventDAO.deleteAll();
+    }
+
+    @Test
+    void threadInBackoffDoesNotHoldUpOtherThreads() {
+        LocalDateTime now = LocalDateTime.now();
+        // A full batch worth of events behind one that waits for its retry
+        OutboxEvent waiting = save(1L, now.plusHours(1));
+        for (int i = 0; i < 5; i++) {
+            save(1L, now);
+        }
+        OutboxEvent other = save(2L, now);
+
+        relay.relayBatch();
+
+        assertEquals(OutboxEvent.Status.DELIVERED, status(other));
+        assertEquals(OutboxEvent.Status.PENDING, status(waiting));
+        assertEquals(6, outboxEventDAO.countByStatus(OutboxEvent.Status.PENDING));
+    }
+
+    @Test
+    void eventsOfOneThreadAreDeliveredInOrderOnceDue() {
+        LocalDateTime now = LocalDateTime.now();
+        OutboxEvent first = save(1L, now.minusSeconds(1));
+        OutboxEvent second = save(1L, now);
+
+        relay.relayBatch();
+
+        assertEquals(OutboxEvent.Status.DELIVERED, status(first));
+        assertEquals(OutboxEvent.Status.DELIVERED, status(second));
+    }
+
+    private OutboxEvent save(Long threadId, LocalDateTime nextAttemptAt) {
+        OutboxEvent event = new OutboxEvent();
+        event.setEventType(DomainEventType.REPLY_CREATED.name());
+        event.setThreadId(threadId);
+        event.setPayload("{}");
+        event.setCreatedAt(LocalDateTime.now());
+        event.setNextAttemptAt(nextAttemptAt);
+        return outboxEventDAO.save(event);
+    }
+
+    private OutboxEvent.Status status(OutboxEvent event) {
+        return outboxEventDAO.findById(event.getId()).orElseThrow().getStatus();
+    }
+}
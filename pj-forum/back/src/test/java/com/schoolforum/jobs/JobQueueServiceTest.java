@@ -0,0 +1,73 @@
+package com.schoolforum.jobs;
+
+import com.schoolforum.dao.JobDAO;
+import com.schoolforum.model.Job;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+@SpringBootTest
+@ActiveProfiles({"test", "h2"})
+class JobQueueServiceTest {
+
+    private static final String QUEUE = "dedup-test";
+
+    @Autowired
+    private JobQueueService jobQueueService;
+
+    @Autowired
+    private JobDAO jobDAO;
+
+    @AfterEach
+    void cleanUp() {
+        jobDAO.deleteAll(jobDAO.findAll().stream().filter(job -> QUEUE.equals(job.getQueue())).toList());
+    }
+
+    @Test
+    void concurrentEnqueuesOfOneKeyCreateOneJob() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Long>> enqueues = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                enqueues.add(() -> jobQueueService.enqueue(QUEUE, Map.of(), "key:1").getId());
+            }
+            List<Long> ids = new ArrayList<>();
+            for (Future<Long> id : pool.invokeAll(enqueues)) {
+                ids.add(id.get());
+            }
+
+            assertEquals(1, ids.stream().distinct().count());
+            assertEquals(1, jobsOfQueue().size());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void finishedJobFreesItsKey() {
+        Job first = jobQueueService.enqueue(QUEUE, Map.of(), "key:2");
+        assertEquals(first.getId(), jobQueueService.enqueue(QUEUE, Map.of(), "key:2").getId());
+
+        first.setStatus(Job.Status.COMPLETED);
+        jobDAO.save(first);
+
+        assertNotEquals(first.getId(), jobQueueService.enqueue(QUEUE, Map.of(), "key:2").getId());
+    }
+
+    private List<Job> jobsOfQueue() {
+        return jobDAO.findAll().stream().filter(job -> QUEUE.equals(job.getQueue())).toList();
+    }
+}
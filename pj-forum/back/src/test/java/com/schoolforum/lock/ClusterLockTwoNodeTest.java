@@ -0,0 +1,118 @@
+package com.schoolforum.lock;
+
+import com.schoolforum.ForumApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two application contexts in one JVM acting as two nodes on one shared (H2) database
+ */
+class ClusterLockTwoNodeTest {
+
+    private static final Duration LEASE = Duration.ofSeconds(1);
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode("node-a");
+        nodeB = startNode("node-b");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext startNode(String nodeId) {
+        return new SpringApplicationBuilder(ForumApplication.class)
+            .profiles("test", "h2")
+            .run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:cluster-lock;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                // The JCache manager is per JVM, not per context
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                "--forum.cluster-lock.node-id=" + nodeId,
+                "--forum.cluster-lock.renew-interval-ms=200",
+                // One scheduler thread: renewal must not depend on a free one
+                "--spring.task.scheduling.pool.size=1");
+    }
+
+    @Test
+    void leaseIsRenewedWhileALockedJobOccupiesTheOnlySchedulerThread() throws Exception {
+        ClusterLockService a = nodeA.getBean(ClusterLockService.class);
+        ClusterLockService b = nodeB.getBean(ClusterLockService.class);
+        ThreadPoolTaskScheduler scheduler = nodeA.getBean(ThreadPoolTaskScheduler.class);
+        AtomicBoolean takenOver = new AtomicBoolean();
+
+        Future<Boolean> job = scheduler.submit(() -> {
+            try {
+                return a.executeLocked("two-node-renewal", LEASE, Duration.ZERO, () -> {
+                    // Three leases long
+                    for (int i = 0; i < 6; i++) {
+                        Thread.sleep(500);
+                        Optional<LockHandle> stolen = b.tryAcquire("two-node-renewal", LEASE);
+                        if (stolen.isPresent()) {
+                            takenOver.set(true);
+                            b.release(stolen.get(), Duration.ZERO);
+                        }
+                    }
+                    a.verifyCurrent();
+                });
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertTrue(job.get(10, TimeUnit.SECONDS));
+        assertFalse(takenOver.get(), "node-b acquired the lock while node-a was still running");
+
+        Optional<LockHandle> afterRelease = b.tryAcquire("two-node-renewal", LEASE);
+        assertTrue(afterRelease.isPresent());
+        b.release(afterRelease.get(), Duration.ZERO);
+    }
+
+    @Test
+    void holderIsFencedOffOnceAnotherNodeTakesOver() throws Throwable {
+        ClusterLockService a = nodeA.getBean(ClusterLockService.class);
+        ClusterLockService b = nodeB.getBean(ClusterLockService.class);
+        JdbcTemplate jdbc = nodeA.getBean(JdbcTemplate.class);
+
+        boolean ran = a.executeLocked("two-node-fencing", LEASE, Duration.ZERO, () -> {
+            a.verifyCurrent();
+            assertTrue(b.tryAcquire("two-node-fencing", LEASE).isEmpty());
+
+            // Simulate a lease that ran out (e.g. a long GC pause on node-a)
+            jdbc.update("UPDATE cluster_locks SET locked_until = ? WHERE name = ?",
+                LocalDateTime.now().minusSeconds(1), "two-node-fencing");
+            Optional<LockHandle> takeover = b.tryAcquire("two-node-fencing", LEASE);
+            assertTrue(takeover.isPresent());
+
+            assertThrows(LockLostException.class, a::verifyCurrent);
+            b.release(takeover.get(), Duration.ZERO);
+        });
+
+        assertTrue(ran);
+    }
+}
@@ -0,0 +1,75 @@
+package com.schoolforum.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedTextConverterTest {
+
+    private final CompressedTextConverter converter = new CompressedTextConverter();
+
+    @Test
+    void shortTextIsStoredPlain() {
+        String text = "Xin chào 👋 — short post";
+
+        byte[] column = converter.convertToDatabaseColumn(text);
+
+        assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), column);
+        assertFalse(CompressedTextConverter.isCompressed(column));
+        assertEquals(text, converter.convertToEntityAttribute(column));
+    }
+
+    @Test
+    void longTextIsStoredCompressed() {
+        String text = "Làm sao để cấu hình JWT trong Spring Boot? 🔐\n".repeat(40);
+
+        byte[] column = converter.convertToDatabaseColumn(text);
+
+        assertTrue(CompressedTextConverter.isCompressed(column));
+        assertEquals(CompressedTextConverter.FORMAT_DEFLATE, column[1]);
+        assertTrue(column.length < text.getBytes(StandardCharsets.UTF_8).length);
+        assertEquals(text, converter.convertToEntityAttribute(column));
+    }
+
+    @Test
+    void legacyTextRowsReadBackUnchanged() {
+        // Bytes of a row converted from the old TEXT column, short and long (not yet backfilled)
+        String shortText = "Bài viết cũ từ trước khi nén 📚";
+        String longText = "Nội dung dài được lưu trước khi bật nén. ".repeat(30);
+
+        assertEquals(shortText, converter.convertToEntityAttribute(shortText.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(longText, converter.convertToEntityAttribute(longText.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void compressesFromTheThresholdOn() {
+        String below = "a".repeat(CompressedTextConverter.MIN_COMPRESS_BYTES - 1);
+        String at = "a".repeat(CompressedTextConverter.MIN_COMPRESS_BYTES);
+
+        assertFalse(CompressedTextConverter.isCompressed(converter.convertToDatabaseColumn(below)));
+        assertTrue(CompressedTextConverter.isCompressed(converter.convertToDatabaseColumn(at)));
+        assertEquals(at, converter.convertToEntityAttribute(converter.convertToDatabaseColumn(at)));
+    }
+
+    @Test
+    void nullAndEmptyRoundTrip() {
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+        assertEquals("", converter.convertToEntityAttribute(converter.convertToDatabaseColumn("")));
+    }
+
+    @Test
+    void unknownFormatOrTruncatedStreamIsRejected() {
+        byte[] column = converter.convertToDatabaseColumn("compress me ".repeat(100));
+
+        byte[] unknownFormat = column.clone();
+        unknownFormat[1] = 9;
+        assertThrows(IllegalStateException.class, () -> converter.convertToEntityAttribute(unknownFormat));
+
+        byte[] truncated = Arrays.copyOf(column, column.length / 2);
+        assertThrows(IllegalStateException.class, () -> converter.convertToEntityAttribute(truncated));
+    }
+}
@@ -0,0 +1,90 @@
+package com.schoolforum.security;
+
+import com.schoolforum.config.LoginThrottleConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginAttemptServiceTest {
+
+    private LoginThrottleConfig config;
+    private LoginAttemptService service;
+
+    @BeforeEach
+    void setUp() {
+        config = new LoginThrottleConfig();
+        config.setFreeAttemptsPerEmail(5);
+        config.setFreeAttemptsPerIp(20);
+        service = new LoginAttemptService();
+        ReflectionTestUtils.setField(service, "config", config);
+    }
+
+    @Test
+    void parallelGuessesCannotSkipTheBackoff() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Callable<Long>> guesses = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                String clientIp = "10.0.0." + (i % 8);
+                guesses.add(() -> service.tryBeginAttempt("victim@x.edu", clientIp));
+            }
+            int admitted = 0;
+            for (Future<Long> result : pool.invokeAll(guesses)) {
+                if (result.get() == 0) {
+                    admitted++;
+                }
+            }
+            // The free attempts, plus the one that starts the backoff
+            assertEquals(config.getFreeAttemptsPerEmail() + 1, admitted);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void successClearsTheEmailAndTakesBackTheIpAttempt() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, service.tryBeginAttempt("user@x.edu", "10.0.0.1"));
+        }
+        service.recordSuccess("user@x.edu", "10.0.0.1");
+
+        assertNull(service.getLockedUntil("user@x.edu"));
+        // 2 failures left on the IP: 18 more free attempts, the next one starts the backoff
+        for (int i = 0; i < 19; i++) {
+            assertEquals(0, service.tryBeginAttempt("other" + i + "@x.edu", "10.0.0.1"));
+        }
+        assertTrue(service.tryBeginAttempt("another@x.edu", "10.0.0.1") > 0);
+    }
+
+    @Test
+    void rejectionByIpDoesNotCountAgainstTheEmail() {
+        config.setFreeAttemptsPerIp(0);
+        assertEquals(0, service.tryBeginAttempt("first@x.edu", "10.0.0.2"));
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(service.tryBeginAttempt("user@x.edu", "10.0.0.2") > 0);
+        }
+        assertEquals(0, service.tryBeginAttempt("user@x.edu", "10.0.0.3"));
+    }
+
+    @Test
+    void newKeysAreNotTrackedPastTheCap() {
+        config.setMaxTrackedKeys(4);
+        for (int i = 0; i < 10; i++) {
+            service.tryBeginAttempt("spray" + i + "@x.edu", null);
+        }
+
+        Map<?, ?> failures = (Map<?, ?>) ReflectionTestUtils.getField(service, "failures");
+        assertEquals(4, failures.size());
+    }
+}
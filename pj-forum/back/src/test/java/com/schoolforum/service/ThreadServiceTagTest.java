@@ -0,0 +1,66 @@
+package com.schoolforum.service;
+
+import com.schoolforum.dao.TagDAO;
+import com.schoolforum.dto.CreateThreadRequest;
+import com.schoolforum.dto.TagDTO;
+import com.schoolforum.dto.ThreadDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles({"test", "h2"})
+@Transactional
+@Sql("/sql/tag-resolution.sql")
+class ThreadServiceTagTest {
+
+    @Autowired
+    private ThreadService threadService;
+
+    @Autowired
+    private TagDAO tagDAO;
+
+    @Test
+    void existingTagIsMatchedCaseInsensitively() {
+        ThreadDTO thread = create(List.of("Java", "JAVA", "java"));
+
+        assertEquals(List.of(900L), thread.getTags().stream().map(TagDTO::getId).toList());
+        assertEquals(2, tagDAO.count());
+    }
+
+    @Test
+    void symbolOnlyDifferencesGetDistinctSlugs() {
+        ThreadDTO thread = create(List.of("C++", "C#", "c"));
+
+        assertEquals(List.of("c-plus-plus", "c-sharp", "c"), slugsOf(thread));
+    }
+
+    @Test
+    void clashingSlugGetsASuffix() {
+        ThreadDTO thread = create(List.of("Java!", "java?"));
+
+        assertEquals(List.of("java-2", "java-3"), slugsOf(thread));
+    }
+
+    private List<String> slugsOf(ThreadDTO thread) {
+        return thread.getTags().stream()
+            .map(tag -> tagDAO.findById(tag.getId()).orElseThrow().getSlug())
+            .toList();
+    }
+
+    private ThreadDTO create(List<String> tags) {
+        CreateThreadRequest request = new CreateThreadRequest();
+        request.setTitle("Tagged thread");
+        request.setContent("Body");
+        request.setCategoryId(900L);
+        request.setTags(tags);
+        return threadService.createThread(request, 900L);
+    }
+}
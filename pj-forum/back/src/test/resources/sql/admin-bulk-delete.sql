@@ -0,0 +1,11 @@
+INSERT INTO users (id, username, email, password, role, status, created_at, updated_at) VALUES
+(950, 'admin950', 'admin950@x.edu', '$2a$10$0.oEE6TkF7B2R3kR.qES0epxjYOOng4lS15JqR6NAy17yu.fvSPse', 'ADMIN', 'ACTIVE', NOW(), NOW()),
+(951, 'admin951', 'admin951@x.edu', '$2a$10$0.oEE6TkF7B2R3kR.qES0epxjYOOng4lS15JqR6NAy17yu.fvSPse', 'ADMIN', 'ACTIVE', NOW(), NOW()),
+(952, 'user952', 'user952@x.edu', '$2a$10$0.oEE6TkF7B2R3kR.qES0epxjYOOng4lS15JqR6NAy17yu.fvSPse', 'USER', 'ACTIVE', NOW(), NOW());
+INSERT INTO categories (id, name, slug, display_order) VALUES (950, 'Bulk delete', 'bulk-delete', 950);
+INSERT INTO threads (id, title, views, is_anonymous, is_pinned, created_at, updated_at, author_id, category_id) VALUES
+(950, 'By the calling admin', 0, FALSE, FALSE, NOW(), NOW(), 950, 950),
+(951, 'By another admin', 0, FALSE, FALSE, NOW(), NOW(), 951, 950),
+(952, 'By a user', 0, FALSE, FALSE, NOW(), NOW(), 952, 950);
+INSERT INTO thread_bodies (thread_id, content, updated_at) VALUES
+(950, 'Body', NOW()), (951, 'Body', NOW()), (952, 'Body', NOW());
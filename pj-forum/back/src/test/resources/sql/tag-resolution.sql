@@ -0,0 +1,4 @@
+INSERT INTO users (id, username, email, password, role, status, created_at, updated_at) VALUES
+(900, 'tagger', 'tagger@x.edu', '$2a$10$0.oEE6TkF7B2R3kR.qES0epxjYOOng4lS15JqR6NAy17yu.fvSPse', 'USER', 'ACTIVE', NOW(), NOW());
+INSERT INTO categories (id, name, slug, display_order) VALUES (900, 'Tag tests', 'tag-tests', 900);
+INSERT INTO tags (id, name, slug) VALUES (900, 'java', 'java'), (901, 'c', 'c');
@@ -0,0 +1,136 @@
+-- Thread read budget fixture: 25 threads over two categories (more than one list page),
+-- tags, replies, and reactions on thread 1 and its replies
+INSERT INTO users (id, username, email, password, role, status, created_at, updated_at) VALUES
+(1, 'user1', 'user1@x.edu', '$2a$10$0.oEE6TkF7B2R3kR.qES0epxjYOOng4lS15JqR6NAy17yu.fvSPse', 'ADMIN', 'ACTIVE', NOW(), NOW()),
+(2, 'user2', 'user2@x.edu', '$2a$10$0.oEE6TkF7B2R3kR.qES0epxjYOOng4lS15JqR6NAy17yu.fvSPse', 'USER', 'ACTIVE', NOW(), NOW()),
+(3, 'user3', 'user3@x.edu', '$2a$10$0.oEE6TkF7B2R3kR.qES0epxjYOOng4lS15JqR6NAy17yu.fvSPse', 'USER', 'ACTIVE', NOW(), NOW()),
+(4, 'user4', 'user4@x.edu', '$2a$10$0.oEE6TkF7B2R3kR.qES0epxjYOOng4lS15JqR6NAy17yu.fvSPse', 'USER', 'ACTIVE', NOW(), NOW()),
+(5, 'user5', 'user5@x.edu', '$2a$10$0.oEE6TkF7B2R3kR.qES0epxjYOOng4lS15JqR6NAy17yu.fvSPse', 'USER', 'ACTIVE', NOW(), NOW()),
+(6, 'user6', 'user6@x.edu', '$2a$10$0.oEE6TkF7B2R3kR.qES0epxjYOOng4lS15JqR6NAy17yu.fvSPse', 'USER', 'ACTIVE', NOW(), NOW());
+INSERT INTO categories (id, name, slug, display_order) VALUES (1, 'General', 'general', 1), (2, 'Homework', 'homework', 2);
+INSERT INTO tags (id, name, slug) VALUES (1, 'java', 'java'), (2, 'math', 'math');
+INSERT INTO threads (id, title, views, is_anonymous, is_pinned, created_at, updated_at, author_id, category_id) VALUES
+(1, 'Thread 1', 0, FALSE, FALSE, TIMESTAMPADD(MINUTE, 1, TIMESTAMP '2026-01-01 00:00:00'), NOW(), 2, 2),
+(2, 'Thread 2', 0, FALSE, FALSE, TIMESTAMPADD(MINUTE, 2, TIMESTAMP '2026-01-01 00:00:00'), NOW(), 3, 1),
+(3, 'Thread 3', 0, FALSE, TRUE, TIMESTAMPADD(MINUTE, 3, TIMESTAMP '2026-01-01 00:00:00'), NOW(), 4, 2),
+(4, 'Thread 4', 0, FALSE, FALSE, TIMESTAMPADD(MINUTE, 4, TIMESTAMP '2026-01-01 00:00:00'), NOW(), 5, 1),
+(5, 'Thread 5', 0, FALSE, FALSE, TIMESTAMPADD(MINUTE, 5, TIMESTAMP '2026-01-01 00:00:00'), NOW(), 6, 2),
+(6, 'Thread 6', 0, FALSE, FALSE, TIMESTAMPADD(MINUTE, 6, TIMESTAMP '2026-01-01 00:00:00'), NOW(), 1, 1),
+(7, 'Thread 7', 0, FALSE, FALSE, TIMESTAMPADD(MINUTE, 7, TIMESTAMP '2026-01-01 00:00:00'), NOW(), 2, 2),
+(8, 'Thread 8', 0, FALSE, FALSE, TIMESTAMPADD(MINUTE, 8, TIMESTAMP '2026-01-01 00:00:00'), NOW(), 3, 1),
+(9, 'Thread 9', 0, FALSE, FALSE, TIMESTAMPADD(MINUTE, 9, TIMESTAMP '2026-01-01 00:00:00'), NOW(), 4, 2),
+(10, 'Thread 10', 0, FALSE, FALSE, TIMESTAMPADD(MINUTE, 10, TIMESTAMP '2026-01-01 00:00:00'), NOW(), 5, 1),
+(11, 'Thread 11', 0, FALSE, FALSE, TIMESTAMPADD(MINUTE, 11, TIMESTAMP '2026-01-01 00:00:00'), NOW(), 6, 2),
+(12, 'Thread 12', 0, FALSE, FALSE, TIMESTAMPADD(MINUTE, 12, TIMESTAMP '2026-01-01 00:00:00'), NOW(), 1, 1),
+(13, 'Thread 13', 0, FALSE, FALSE, TIMESTAMPADD(MINUTE, 13, TIMESTAMP '2026-01-01 00:00:00'), NOW(), 2, 2),
+(14, 'Thread 14', 0, FALSE, FALSE, TIMESTAMPADD(MINUTE, 14, TIMESTAMP '2026-01-01 00:00:00'), NOW(), 3, 1),
+(15, 'Thread 15', 0, FALSE, FALSE, TIMESTAMPADD(MINUTE, 15, TIMESTAMP '2026-01-01 00:00:00'), NOW(), 4, 2),
+(16, 'Thread 16', 0, FALSE, FALSE, TIMESTAMPADD(MINUTE, 16, TIMESTAMP '2026-01-01 00:00:00'), NOW(), 5, 1),
+(17, 'Thread 17', 0, FALSE, FALSE, TIMESTAMPADD(MINUTE, 17, TIMESTAMP '2026-01-01 00:00:00'), NOW(), 6, 2),
+(18, 'Thread 18', 0, FALSE, FALSE, TIMESTAMPADD(MINUTE, 18, TIMESTAMP '2026-01-01 00:00:00'), NOW(), 1, 1),
+(19, 'Thread 19', 0, FALSE, FALSE, TIMESTAMPADD(MINUTE, 19, TIMESTAMP '2026-01-01 00:00:00'), NOW(), 2, 2),
+(20, 'Thread 20', 0, FALSE, FALSE, TIMESTAMPADD(MINUTE, 20, TIMESTAMP '2026-01-01 00:00:00'), NOW(), 3, 1),
+(21, 'Thread 21', 0, FALSE, FALSE, TIMESTAMPADD(MINUTE, 21, TIMESTAMP '2026-01-01 00:00:00'), NOW(), 4, 2),
+(22, 'Thread 22', 0, FALSE, FALSE, TIMESTAMPADD(MINUTE, 22, TIMESTAMP '2026-01-01 00:00:00'), NOW(), 5, 1),
+(23, 'Thread 23', 0, FALSE, FALSE, TIMESTAMPADD(MINUTE, 23, TIMESTAMP '2026-01-01 00:00:00'), NOW(), 6, 2),
+(24, 'Thread 24', 0, FALSE, FALSE, TIMESTAMPADD(MINUTE, 24, TIMESTAMP '2026-01-01 00:00:00'), NOW(), 1, 1),
+(25, 'Thread 25', 0, FALSE, FALSE, TIMESTAMPADD(MINUTE, 25, TIMESTAMP '2026-01-01 00:00:00'), NOW(), 2, 2);
+INSERT INTO thread_bodies (thread_id, content, updated_at) VALUES
+(1, 'Content of thread 1 **bold**', NOW()),
+(2, 'Content of thread 2 **bold**', NOW()),
+(3, 'Content of thread 3 **bold**', NOW()),
+(4, 'Content of thread 4 **bold**', NOW()),
+(5, 'Content of thread 5 **bold**', NOW()),
+(6, 'Content of thread 6 **bold**', NOW()),
+(7, 'Content of thread 7 **bold**', NOW()),
+(8, 'Content of thread 8 **bold**', NOW()),
+(9, 'Content of thread 9 **bold**', NOW()),
+(10, 'Content of thread 10 **bold**', NOW()),
+(11, 'Content of thread 11 **bold**', NOW()),
+(12, 'Content of thread 12 **bold**', NOW()),
+(13, 'Content of thread 13 **bold**', NOW()),
+(14, 'Content of thread 14 **bold**', NOW()),
+(15, 'Content of thread 15 **bold**', NOW()),
+(16, 'Content of thread 16 **bold**', NOW()),
+(17, 'Content of thread 17 **bold**', NOW()),
+(18, 'Content of thread 18 **bold**', NOW()),
+(19, 'Content of thread 19 **bold**', NOW()),
+(20, 'Content of thread 20 **bold**', NOW()),
+(21, 'Content of thread 21 **bold**', NOW()),
+(22, 'Content of thread 22 **bold**', NOW()),
+(23, 'Content of thread 23 **bold**', NOW()),
+(24, 'Content of thread 24 **bold**', NOW()),
+(25, 'Content of thread 25 **bold**', NOW());
+INSERT INTO thread_tags (thread_id, tag_id) VALUES
+(1, 2), (2, 1), (3, 2), (4, 1), (5, 2), (6, 1), (7, 2), (8, 1), (9, 2), (10, 1), (11, 2), (12, 1), (13, 2), (14, 1), (15, 2), (16, 1), (17, 2), (18, 1), (19, 2), (20, 1), (21, 2), (22, 1), (23, 2), (24, 1), (25, 2), (1, 1);
+INSERT INTO replies (id, content, is_anonymous, created_at, updated_at, thread_id, author_id) VALUES
+(1, 'Reply 0 to thread 1', FALSE, TIMESTAMPADD(MINUTE, 1, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 1, 2),
+(2, 'Reply 1 to thread 1', FALSE, TIMESTAMPADD(MINUTE, 2, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 1, 3),
+(3, 'Reply 2 to thread 1', FALSE, TIMESTAMPADD(MINUTE, 3, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 1, 4),
+(4, 'Reply 3 to thread 1', FALSE, TIMESTAMPADD(MINUTE, 4, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 1, 5),
+(5, 'Reply 4 to thread 1', FALSE, TIMESTAMPADD(MINUTE, 5, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 1, 6),
+(6, 'Reply 5 to thread 1', FALSE, TIMESTAMPADD(MINUTE, 6, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 1, 1),
+(7, 'Reply 6 to thread 1', FALSE, TIMESTAMPADD(MINUTE, 7, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 1, 2),
+(8, 'Reply 7 to thread 1', FALSE, TIMESTAMPADD(MINUTE, 8, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 1, 3),
+(9, 'Reply 8 to thread 1', FALSE, TIMESTAMPADD(MINUTE, 9, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 1, 4),
+(10, 'Reply 9 to thread 1', FALSE, TIMESTAMPADD(MINUTE, 10, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 1, 5),
+(11, 'Reply 10 to thread 1', FALSE, TIMESTAMPADD(MINUTE, 11, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 1, 6),
+(12, 'Reply 11 to thread 1', FALSE, TIMESTAMPADD(MINUTE, 12, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 1, 1),
+(13, 'Reply 0 to thread 2', FALSE, TIMESTAMPADD(MINUTE, 13, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 2, 2),
+(14, 'Reply 1 to thread 2', FALSE, TIMESTAMPADD(MINUTE, 14, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 2, 3),
+(15, 'Reply 0 to thread 3', FALSE, TIMESTAMPADD(MINUTE, 15, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 3, 4),
+(16, 'Reply 1 to thread 3', FALSE, TIMESTAMPADD(MINUTE, 16, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 3, 5),
+(17, 'Reply 0 to thread 4', FALSE, TIMESTAMPADD(MINUTE, 17, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 4, 6),
+(18, 'Reply 1 to thread 4', FALSE, TIMESTAMPADD(MINUTE, 18, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 4, 1),
+(19, 'Reply 0 to thread 5', FALSE, TIMESTAMPADD(MINUTE, 19, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 5, 2),
+(20, 'Reply 1 to thread 5', FALSE, TIMESTAMPADD(MINUTE, 20, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 5, 3),
+(21, 'Reply 0 to thread 6', FALSE, TIMESTAMPADD(MINUTE, 21, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 6, 4),
+(22, 'Reply 1 to thread 6', FALSE, TIMESTAMPADD(MINUTE, 22, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 6, 5),
+(23, 'Reply 0 to thread 7', FALSE, TIMESTAMPADD(MINUTE, 23, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 7, 6),
+(24, 'Reply 1 to thread 7', FALSE, TIMESTAMPADD(MINUTE, 24, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 7, 1),
+(25, 'Reply 0 to thread 8', FALSE, TIMESTAMPADD(MINUTE, 25, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 8, 2),
+(26, 'Reply 1 to thread 8', FALSE, TIMESTAMPADD(MINUTE, 26, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 8, 3),
+(27, 'Reply 0 to thread 9', FALSE, TIMESTAMPADD(MINUTE, 27, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 9, 4),
+(28, 'Reply 1 to thread 9', FALSE, TIMESTAMPADD(MINUTE, 28, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 9, 5),
+(29, 'Reply 0 to thread 10', FALSE, TIMESTAMPADD(MINUTE, 29, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 10, 6),
+(30, 'Reply 1 to thread 10', FALSE, TIMESTAMPADD(MINUTE, 30, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 10, 1),
+(31, 'Reply 0 to thread 11', FALSE, TIMESTAMPADD(MINUTE, 31, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 11, 2),
+(32, 'Reply 1 to thread 11', FALSE, TIMESTAMPADD(MINUTE, 32, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 11, 3),
+(33, 'Reply 0 to thread 12', FALSE, TIMESTAMPADD(MINUTE, 33, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 12, 4),
+(34, 'Reply 1 to thread 12', FALSE, TIMESTAMPADD(MINUTE, 34, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 12, 5),
+(35, 'Reply 0 to thread 13', FALSE, TIMESTAMPADD(MINUTE, 35, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 13, 6),
+(36, 'Reply 1 to thread 13', FALSE, TIMESTAMPADD(MINUTE, 36, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 13, 1),
+(37, 'Reply 0 to thread 14', FALSE, TIMESTAMPADD(MINUTE, 37, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 14, 2),
+(38, 'Reply 1 to thread 14', FALSE, TIMESTAMPADD(MINUTE, 38, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 14, 3),
+(39, 'Reply 0 to thread 15', FALSE, TIMESTAMPADD(MINUTE, 39, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 15, 4),
+(40, 'Reply 1 to thread 15', FALSE, TIMESTAMPADD(MINUTE, 40, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 15, 5),
+(41, 'Reply 0 to thread 16', FALSE, TIMESTAMPADD(MINUTE, 41, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 16, 6),
+(42, 'Reply 1 to thread 16', FALSE, TIMESTAMPADD(MINUTE, 42, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 16, 1),
+(43, 'Reply 0 to thread 17', FALSE, TIMESTAMPADD(MINUTE, 43, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 17, 2),
+(44, 'Reply 1 to thread 17', FALSE, TIMESTAMPADD(MINUTE, 44, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 17, 3),
+(45, 'Reply 0 to thread 18', FALSE, TIMESTAMPADD(MINUTE, 45, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 18, 4),
+(46, 'Reply 1 to thread 18', FALSE, TIMESTAMPADD(MINUTE, 46, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 18, 5),
+(47, 'Reply 0 to thread 19', FALSE, TIMESTAMPADD(MINUTE, 47, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 19, 6),
+(48, 'Reply 1 to thread 19', FALSE, TIMESTAMPADD(MINUTE, 48, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 19, 1),
+(49, 'Reply 0 to thread 20', FALSE, TIMESTAMPADD(MINUTE, 49, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 20, 2),
+(50, 'Reply 1 to thread 20', FALSE, TIMESTAMPADD(MINUTE, 50, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 20, 3),
+(51, 'Reply 0 to thread 21', FALSE, TIMESTAMPADD(MINUTE, 51, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 21, 4),
+(52, 'Reply 1 to thread 21', FALSE, TIMESTAMPADD(MINUTE, 52, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 21, 5),
+(53, 'Reply 0 to thread 22', FALSE, TIMESTAMPADD(MINUTE, 53, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 22, 6),
+(54, 'Reply 1 to thread 22', FALSE, TIMESTAMPADD(MINUTE, 54, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 22, 1),
+(55, 'Reply 0 to thread 23', FALSE, TIMESTAMPADD(MINUTE, 55, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 23, 2),
+(56, 'Reply 1 to thread 23', FALSE, TIMESTAMPADD(MINUTE, 56, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 23, 3),
+(57, 'Reply 0 to thread 24', FALSE, TIMESTAMPADD(MINUTE, 57, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 24, 4),
+(58, 'Reply 1 to thread 24', FALSE, TIMESTAMPADD(MINUTE, 58, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 24, 5),
+(59, 'Reply 0 to thread 25', FALSE, TIMESTAMPADD(MINUTE, 59, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 25, 6),
+(60, 'Reply 1 to thread 25', FALSE, TIMESTAMPADD(MINUTE, 60, TIMESTAMP '2026-01-02 00:00:00'), NOW(), 25, 1);
+INSERT INTO reactions (user_id, target_type, target_id, type, created_at) VALUES
+(2, 'THREAD', 1, 'LIKE', NOW()),
+(3, 'THREAD', 1, 'LIKE', NOW()),
+(4, 'THREAD', 1, 'LOVE', NOW()),
+(2, 'REPLY', 1, 'INSIGHTFUL', NOW()),
+(3, 'REPLY', 2, 'LAUGH', NOW());
+INSERT INTO reaction_counts (target_type, target_id, type, total) VALUES
+('THREAD', 1, 'LIKE', 2), ('THREAD', 1, 'LOVE', 1), ('REPLY', 1, 'INSIGHTFUL', 1), ('REPLY', 2, 'LAUGH', 1);
+ALTER SEQUENCE replies_seq RESTART WITH 161;
+ALTER SEQUENCE tags_seq RESTART WITH 100;